@@ -0,0 +1,255 @@
+package com.capgemini.chess.algorithms.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.capgemini.chess.algorithms.data.PackedMove;
+import com.capgemini.chess.algorithms.implementation.BoardManager;
+import com.capgemini.chess.algorithms.pgn.PgnReader;
+
+/**
+ * Games played from the initial position, read from a memory-mapped archive
+ * file written by {@link GameArchiveWriter}. All numbers are big-endian. The
+ * file starts with a {@value #HEADER_BYTES}-byte header: magic number (4
+ * bytes), format version (1 byte), move encoding (1 byte), 2 unused bytes,
+ * number of games (8 bytes), number of moves (8 bytes) and offset of the
+ * index (8 bytes). Games follow the header, each stored as a result byte and
+ * its moves, and the index at the end holds the offset of every game and the
+ * offset of the index itself, so the number of moves of a game follows from
+ * the offset of the next one.
+ * <p>
+ * Moves are stored either as {@link PackedMove}s in 2 bytes
+ * ({@link #PACKED_MOVES}) or as the position of the move among the moves of
+ * its position in 1 byte ({@link #MOVE_INDEXES}, see
+ * {@link BoardManager#getMoveIndex}). The second encoding halves the size of
+ * the archive but replaying it calculates the targets of the moving side in
+ * every position, and it is valid only as long as the order of generated
+ * moves does not change. Moves are checked to be legal when they are written
+ * and not again when they are replayed.
+ * <p>
+ * Any game is found with one index lookup, without reading the games before
+ * it. The file is mapped in overlapping segments of 1 GB, so archives larger
+ * than 2 GB are supported, and replaying a game does not allocate heap
+ * memory. Reads do not change the state of the archive, so it can be shared
+ * by threads.
+ *
+ */
+public class GameArchive implements AutoCloseable {
+
+	public static final int MAGIC = 0x43474131;
+	public static final int VERSION = 1;
+	public static final int HEADER_BYTES = 32;
+
+	/**
+	 * Encoding of moves as packed moves in 2 bytes
+	 */
+	public static final int PACKED_MOVES = 0;
+
+	/**
+	 * Encoding of moves as indexes into the generated legal moves in 1 byte
+	 */
+	public static final int MOVE_INDEXES = 1;
+
+	public static final int RESULT_UNKNOWN = 0;
+	public static final int WHITE_WINS = 1;
+	public static final int BLACK_WINS = 2;
+	public static final int DRAW = 3;
+
+	/**
+	 * Maximal number of half-moves of an archived game, more than the about
+	 * 17,700 plies of the longest game allowed by the 75-move rule
+	 */
+	public static final int MAX_PLIES = 1 << 15;
+
+	static final int VERSION_OFFSET = 4;
+	static final int ENCODING_OFFSET = 5;
+	static final int GAME_COUNT_OFFSET = 8;
+	static final int MOVE_COUNT_OFFSET = 16;
+	static final int INDEX_OFFSET_OFFSET = 24;
+
+	private static final String[] PGN_RESULTS = { PgnReader.UNKNOWN_RESULT, PgnReader.WHITE_WINS,
+			PgnReader.BLACK_WINS, PgnReader.DRAW };
+	private static final int SEGMENT_SHIFT = 30;
+	private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+	// longer than any game record, so every record lies in the segment of its
+	// first byte
+	private static final long SEGMENT_OVERLAP = 1 << 17;
+
+	private final FileChannel channel;
+	private final ByteBuffer[] segments;
+	private final int encoding;
+	private final long gameCount;
+	private final long moveCount;
+	private final long indexOffset;
+
+	/**
+	 * Opens and maps the archive file
+	 *
+	 * @param path
+	 *            archive file
+	 * @throws IOException
+	 *             if the file cannot be read or is not an archive of this
+	 *             version
+	 */
+	public GameArchive(Path path) throws IOException {
+		this.channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			long size = this.channel.size();
+			if (size < HEADER_BYTES) {
+				throw new IOException("Invalid game archive size: " + size);
+			}
+			this.segments = new ByteBuffer[(int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+			for (int i = 0; i < this.segments.length; i++) {
+				long position = (long) i << SEGMENT_SHIFT;
+				this.segments[i] = this.channel.map(FileChannel.MapMode.READ_ONLY, position,
+						Math.min(size - position, (1L << SEGMENT_SHIFT) + SEGMENT_OVERLAP));
+			}
+			ByteBuffer header = this.segments[0];
+			if (header.getInt(0) != MAGIC || header.get(VERSION_OFFSET) != VERSION) {
+				throw new IOException("Not a game archive of version " + VERSION + ": " + path);
+			}
+			this.encoding = header.get(ENCODING_OFFSET);
+			this.gameCount = header.getLong(GAME_COUNT_OFFSET);
+			this.moveCount = header.getLong(MOVE_COUNT_OFFSET);
+			this.indexOffset = header.getLong(INDEX_OFFSET_OFFSET);
+			if ((this.encoding != PACKED_MOVES && this.encoding != MOVE_INDEXES) || this.gameCount < 0
+					|| this.indexOffset < HEADER_BYTES || this.indexOffset + (this.gameCount + 1) * 8 != size) {
+				throw new IOException("Corrupted game archive header: " + path);
+			}
+		} catch (IOException | RuntimeException e) {
+			this.channel.close();
+			throw e;
+		}
+	}
+
+	public int getEncoding() {
+		return this.encoding;
+	}
+
+	public long getGameCount() {
+		return this.gameCount;
+	}
+
+	public long getMoveCount() {
+		return this.moveCount;
+	}
+
+	/**
+	 * Gets result of a game
+	 *
+	 * @param game
+	 *            game index
+	 * @return {@link #RESULT_UNKNOWN}, {@link #WHITE_WINS},
+	 *         {@link #BLACK_WINS} or {@link #DRAW}
+	 */
+	public int getResult(long game) {
+		checkGame(game);
+		return getByte(getGameOffset(game));
+	}
+
+	/**
+	 * Gets number of half-moves of a game
+	 *
+	 * @param game
+	 *            game index
+	 * @return number of half-moves
+	 */
+	public int getPlyCount(long game) {
+		checkGame(game);
+		return (int) ((getGameOffset(game + 1) - getGameOffset(game) - 1) / getMoveBytes(this.encoding));
+	}
+
+	/**
+	 * Makes the moves of a game, the caller takes them back with
+	 * {@link BoardManager#unmakeMove()}
+	 *
+	 * @param game
+	 *            game index
+	 * @param boardManager
+	 *            board manager in the initial position
+	 * @return number of made moves
+	 * @throws IllegalStateException
+	 *             if a move index is not valid in its position, only moves
+	 *             before it are made
+	 */
+	public int replay(long game, BoardManager boardManager) {
+		checkGame(game);
+		long offset = getGameOffset(game);
+		int plies = (int) ((getGameOffset(game + 1) - offset - 1) / getMoveBytes(this.encoding));
+		ByteBuffer segment = this.segments[(int) (offset >>> SEGMENT_SHIFT)];
+		int position = (int) (offset & SEGMENT_MASK) + 1;
+		if (this.encoding == PACKED_MOVES) {
+			for (int i = 0; i < plies; i++, position += 2) {
+				boardManager.makeMove(segment.getShort(position) & 0xFFFF);
+			}
+			return plies;
+		}
+		for (int i = 0; i < plies; i++, position++) {
+			int move = boardManager.getMoveAtIndex(boardManager.getBoard().getSideToMove(),
+					segment.get(position) & 0xFF);
+			if (move < 0) {
+				throw new IllegalStateException("Invalid move " + i + " of game " + game);
+			}
+			boardManager.makeMove(move);
+		}
+		return plies;
+	}
+
+	/**
+	 * Converts a result of this archive to PGN
+	 *
+	 * @param result
+	 *            result of {@link #getResult(long)}
+	 * @return game result as in {@link PgnReader}
+	 */
+	public static String toPgnResult(int result) {
+		return PGN_RESULTS[result];
+	}
+
+	/**
+	 * Converts a PGN result to a result of this archive
+	 *
+	 * @param pgnResult
+	 *            game result as in {@link PgnReader}
+	 * @return archived result, {@link #RESULT_UNKNOWN} for unknown text
+	 */
+	public static int fromPgnResult(String pgnResult) {
+		for (int result = WHITE_WINS; result < PGN_RESULTS.length; result++) {
+			if (PGN_RESULTS[result].equals(pgnResult)) {
+				return result;
+			}
+		}
+		return RESULT_UNKNOWN;
+	}
+
+	/**
+	 * Closes the file. Mapped memory is released when the archive is garbage
+	 * collected.
+	 */
+	@Override
+	public void close() throws IOException {
+		this.channel.close();
+	}
+
+	static int getMoveBytes(int encoding) {
+		return encoding == PACKED_MOVES ? 2 : 1;
+	}
+
+	private void checkGame(long game) {
+		if (game < 0 || game >= this.gameCount) {
+			throw new IndexOutOfBoundsException("Game " + game + " of " + this.gameCount);
+		}
+	}
+
+	private long getGameOffset(long game) {
+		long position = this.indexOffset + game * 8;
+		return this.segments[(int) (position >>> SEGMENT_SHIFT)].getLong((int) (position & SEGMENT_MASK));
+	}
+
+	private int getByte(long position) {
+		return this.segments[(int) (position >>> SEGMENT_SHIFT)].get((int) (position & SEGMENT_MASK)) & 0xFF;
+	}
+}
@@ -0,0 +1,275 @@
+package com.capgemini.chess.algorithms.archive;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import com.capgemini.chess.algorithms.data.Bitboards;
+import com.capgemini.chess.algorithms.data.MoveHistory;
+import com.capgemini.chess.algorithms.data.PackedMove;
+import com.capgemini.chess.algorithms.data.enums.Color;
+import com.capgemini.chess.algorithms.data.generated.Board;
+import com.capgemini.chess.algorithms.implementation.BoardManager;
+import com.capgemini.chess.algorithms.pgn.PgnImporter;
+
+/**
+ * Writes a {@link GameArchive}. Games are appended to the file as they are
+ * added and their offsets to a temporary index file next to it, which is
+ * copied to the end of the archive by {@link #close()}, so the number of
+ * games is not limited by the heap. Every move is checked to be legal before
+ * the game is written.
+ *
+ */
+public class GameArchiveWriter implements AutoCloseable {
+
+	private static final int BUFFER_BYTES = 1 << 16;
+
+	private final Path path;
+	private final Path indexPath;
+	private final int encoding;
+	private final DataOutputStream out;
+	private final DataOutputStream index;
+	private final BoardManager boardManager = new BoardManager();
+	private final int[] legalMoves = new int[BoardManager.MAX_MOVES];
+	private final int[] gameMoves = new int[GameArchive.MAX_PLIES];
+	private final byte[] record = new byte[1 + 2 * GameArchive.MAX_PLIES];
+	private long offset = GameArchive.HEADER_BYTES;
+	private long gameCount;
+	private long moveCount;
+	private long skippedGameCount;
+
+	/**
+	 * Creates the archive file, an existing file is replaced
+	 *
+	 * @param path
+	 *            archive file
+	 * @param encoding
+	 *            {@link GameArchive#PACKED_MOVES} or
+	 *            {@link GameArchive#MOVE_INDEXES}
+	 * @throws IOException
+	 *             if the file cannot be created
+	 */
+	public GameArchiveWriter(Path path, int encoding) throws IOException {
+		if (encoding != GameArchive.PACKED_MOVES && encoding != GameArchive.MOVE_INDEXES) {
+			throw new IllegalArgumentException("Unknown move encoding: " + encoding);
+		}
+		this.path = path;
+		this.encoding = encoding;
+		this.indexPath = Files.createTempFile(path.toAbsolutePath().getParent(), "archive", ".idx");
+		this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), BUFFER_BYTES));
+		this.index = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(this.indexPath),
+				BUFFER_BYTES));
+		this.out.write(new byte[GameArchive.HEADER_BYTES]);
+	}
+
+	/**
+	 * Adds a game played from the initial position
+	 *
+	 * @param moves
+	 *            packed moves of the game
+	 * @param count
+	 *            number of moves
+	 * @param result
+	 *            result as in {@link GameArchive#getResult(long)}
+	 * @throws IOException
+	 *             if writing fails
+	 * @throws IllegalArgumentException
+	 *             if a move is illegal or the game is longer than
+	 *             {@link GameArchive#MAX_PLIES}, the game is not added
+	 */
+	public void addGame(int[] moves, int count, int result) throws IOException {
+		if (count > GameArchive.MAX_PLIES) {
+			throw new IllegalArgumentException("Game longer than " + GameArchive.MAX_PLIES + " plies: " + count);
+		}
+		if (result < GameArchive.RESULT_UNKNOWN || result > GameArchive.DRAW) {
+			throw new IllegalArgumentException("Unknown result: " + result);
+		}
+		int length = 0;
+		this.record[length++] = (byte) result;
+		int madeMoves = 0;
+		try {
+			for (; madeMoves < count; madeMoves++) {
+				int move = moves[madeMoves];
+				Color color = this.boardManager.getBoard().getSideToMove();
+				if (!isLegal(color, move)) {
+					throw new IllegalArgumentException("Illegal move " + madeMoves + " of game " + this.gameCount);
+				}
+				if (this.encoding == GameArchive.PACKED_MOVES) {
+					this.record[length++] = (byte) (move >>> 8);
+					this.record[length++] = (byte) move;
+				} else {
+					int moveIndex = this.boardManager.getMoveIndex(color, move);
+					if (moveIndex > 0xFF) {
+						throw new IllegalArgumentException("Move " + madeMoves + " of game " + this.gameCount
+								+ " does not fit in one byte");
+					}
+					this.record[length++] = (byte) moveIndex;
+				}
+				this.boardManager.makeMove(move);
+			}
+		} finally {
+			for (int i = 0; i < madeMoves; i++) {
+				this.boardManager.unmakeMove();
+			}
+		}
+		this.index.writeLong(this.offset);
+		this.out.write(this.record, 0, length);
+		this.offset += length;
+		this.gameCount++;
+		this.moveCount += count;
+	}
+
+	/**
+	 * Adds the moves made on a board from the initial position
+	 *
+	 * @param board
+	 *            board after the game
+	 * @param result
+	 *            result as in {@link GameArchive#getResult(long)}
+	 * @throws IOException
+	 *             if writing fails
+	 * @throws IllegalArgumentException
+	 *             if the game is not legal or too long, see
+	 *             {@link #addGame(int[], int, int)}
+	 */
+	public void addGame(Board board, int result) throws IOException {
+		MoveHistory moveHistory = board.getMoveHistory();
+		int count = moveHistory.size();
+		if (count > GameArchive.MAX_PLIES) {
+			throw new IllegalArgumentException("Game longer than " + GameArchive.MAX_PLIES + " plies: " + count);
+		}
+		for (int i = 0; i < count; i++) {
+			this.gameMoves[i] = moveHistory.getPackedMove(i);
+		}
+		addGame(this.gameMoves, count, result);
+	}
+
+	/**
+	 * Adds all games of a PGN stream which {@link PgnImporter} replays, games
+	 * which are too long or whose moves do not fit the encoding are skipped
+	 *
+	 * @param channel
+	 *            PGN text, not closed
+	 * @return importer with statistics of the read games
+	 * @throws IOException
+	 *             if reading or writing fails
+	 */
+	public PgnImporter addGames(ReadableByteChannel channel) throws IOException {
+		PgnImporter importer = new PgnImporter((tags, result, boardManager) -> {
+			try {
+				addGame(boardManager.getBoard(), GameArchive.fromPgnResult(result));
+			} catch (IllegalArgumentException e) {
+				this.skippedGameCount++;
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		try {
+			importer.importGames(channel);
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		return importer;
+	}
+
+	public long getGameCount() {
+		return this.gameCount;
+	}
+
+	public long getMoveCount() {
+		return this.moveCount;
+	}
+
+	/**
+	 * Gets number of replayed PGN games which could not be archived
+	 *
+	 * @return number of games skipped by {@link #addGames(ReadableByteChannel)}
+	 */
+	public long getSkippedGameCount() {
+		return this.skippedGameCount;
+	}
+
+	/**
+	 * Writes the index and the header and deletes the temporary index file
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			this.index.writeLong(this.offset);
+			this.index.close();
+			Files.copy(this.indexPath, this.out);
+			this.out.close();
+			ByteBuffer header = ByteBuffer.allocate(GameArchive.HEADER_BYTES);
+			header.putInt(0, GameArchive.MAGIC);
+			header.put(GameArchive.VERSION_OFFSET, (byte) GameArchive.VERSION);
+			header.put(GameArchive.ENCODING_OFFSET, (byte) this.encoding);
+			header.putLong(GameArchive.GAME_COUNT_OFFSET, this.gameCount);
+			header.putLong(GameArchive.MOVE_COUNT_OFFSET, this.moveCount);
+			header.putLong(GameArchive.INDEX_OFFSET_OFFSET, this.offset);
+			try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.WRITE)) {
+				channel.write(header, 0);
+			}
+		} finally {
+			this.index.close();
+			this.out.close();
+			Files.deleteIfExists(this.indexPath);
+		}
+	}
+
+	/**
+	 * Converts PGN files to an archive and prints the sizes
+	 *
+	 * @param args
+	 *            optional <code>-index</code> for the
+	 *            {@link GameArchive#MOVE_INDEXES} encoding, archive file and
+	 *            PGN files
+	 * @throws IOException
+	 *             if reading or writing fails
+	 */
+	public static void main(String[] args) throws IOException {
+		boolean moveIndexes = args.length > 0 && args[0].equals("-index");
+		int first = moveIndexes ? 1 : 0;
+		if (args.length < first + 2) {
+			System.err.println("Usage: GameArchiveWriter [-index] <archive> <pgn file>...");
+			System.exit(1);
+		}
+		long start = System.nanoTime();
+		long pgnBytes = 0;
+		long skippedGameCount = 0;
+		Path output = Paths.get(args[first]);
+		try (GameArchiveWriter writer = new GameArchiveWriter(output,
+				moveIndexes ? GameArchive.MOVE_INDEXES : GameArchive.PACKED_MOVES)) {
+			for (int i = first + 1; i < args.length; i++) {
+				try (FileChannel channel = FileChannel.open(Paths.get(args[i]), StandardOpenOption.READ)) {
+					pgnBytes += channel.size();
+					PgnImporter importer = writer.addGames(channel);
+					skippedGameCount += importer.getSkippedGameCount() + importer.getInvalidGameCount();
+				}
+			}
+			System.out.printf("%,d games, %,d skipped, %,d moves in %.1f s%n", writer.getGameCount(),
+					skippedGameCount + writer.getSkippedGameCount(), writer.getMoveCount(), (System.nanoTime() - start) / 1e9);
+		}
+		long archiveBytes = Files.size(output);
+		System.out.printf("PGN %,d bytes, archive %,d bytes (%.1f%%)%n", pgnBytes, archiveBytes,
+				pgnBytes == 0 ? 0.0 : 100.0 * archiveBytes / pgnBytes);
+	}
+
+	private boolean isLegal(Color color, int move) {
+		int count = this.boardManager.generateLegalMoves(color, Bitboards.bit(PackedMove.getFrom(move)),
+				Bitboards.bit(PackedMove.getTo(move)), this.legalMoves);
+		for (int i = 0; i < count; i++) {
+			if (this.legalMoves[i] == move) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,162 @@
+package com.capgemini.chess.algorithms.book;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.capgemini.chess.algorithms.data.Move;
+import com.capgemini.chess.algorithms.data.PackedMove;
+import com.capgemini.chess.algorithms.data.generated.Board;
+
+/**
+ * Opening book read from a memory-mapped file. The file is a sequence of
+ * 16-byte big-endian entries in the layout of Polyglot books: position key
+ * (8 bytes), move (2 bytes), weight (2 bytes) and a learning field (4 bytes,
+ * unused), sorted by key as an unsigned number. Keys are
+ * {@link Board#getZobristKey()} values and moves are {@link PackedMove}s, so
+ * books are written by {@link OpeningBookBuilder} rather than taken from
+ * other programs.
+ * <p>
+ * The file is mapped in segments of 1 GB, so books larger than 2 GB are
+ * supported, and entries are binary-searched in the mapping without heap
+ * allocation. The operating system keeps only the touched pages in memory.
+ *
+ */
+public class OpeningBook implements AutoCloseable {
+
+	public static final int ENTRY_BYTES = 16;
+
+	/**
+	 * Value returned by {@link #probe(long)} when the position is not in the
+	 * book ('from' and 'to' fields of a legal move are never equal)
+	 */
+	public static final int NO_MOVE = 0;
+
+	private static final int MOVE_OFFSET = 8;
+	private static final int WEIGHT_OFFSET = 10;
+	private static final int SEGMENT_SHIFT = 30;
+	private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+	private final FileChannel channel;
+	private final ByteBuffer[] segments;
+	private final long entryCount;
+
+	/**
+	 * Opens and maps the book file
+	 *
+	 * @param path
+	 *            book file
+	 * @throws IOException
+	 *             if the file cannot be read or its size is not a multiple of
+	 *             {@link #ENTRY_BYTES}
+	 */
+	public OpeningBook(Path path) throws IOException {
+		this.channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			long size = this.channel.size();
+			if (size % ENTRY_BYTES != 0) {
+				throw new IOException("Invalid opening book size: " + size);
+			}
+			this.entryCount = size / ENTRY_BYTES;
+			this.segments = new ByteBuffer[(int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+			for (int i = 0; i < this.segments.length; i++) {
+				long position = (long) i << SEGMENT_SHIFT;
+				this.segments[i] = this.channel.map(FileChannel.MapMode.READ_ONLY, position,
+						Math.min(size - position, 1L << SEGMENT_SHIFT));
+			}
+		} catch (IOException | RuntimeException e) {
+			this.channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Finds the book move of the position with the highest weight
+	 *
+	 * @param key
+	 *            Zobrist key of the position
+	 * @return packed move or {@link #NO_MOVE} if the position is not in the
+	 *         book
+	 */
+	public int probe(long key) {
+		int bestMove = NO_MOVE;
+		int bestWeight = -1;
+		for (long index = findFirst(key); index >= 0 && index < this.entryCount
+				&& getKey(index) == key; index++) {
+			int weight = getWeight(index);
+			if (weight > bestWeight) {
+				bestWeight = weight;
+				bestMove = getMove(index);
+			}
+		}
+		return bestMove;
+	}
+
+	/**
+	 * Finds the book move of the side to move, see {@link #probe(long)}
+	 *
+	 * @param board
+	 *            current board
+	 * @return move which can be performed by
+	 *         {@link com.capgemini.chess.algorithms.implementation.BoardManager#performMove}
+	 *         or null if the position is not in the book
+	 */
+	public Move getMove(Board board) {
+		int move = probe(board.getZobristKey());
+		if (move == NO_MOVE) {
+			return null;
+		}
+		return PackedMove.toMove(move, board.getPieceAt(PackedMove.getFrom(move)));
+	}
+
+	/**
+	 * Finds the first entry of the position
+	 *
+	 * @param key
+	 *            Zobrist key of the position
+	 * @return entry index or -1 if the position is not in the book
+	 */
+	public long findFirst(long key) {
+		long low = 0;
+		long high = this.entryCount;
+		while (low < high) {
+			long middle = (low + high) >>> 1;
+			if (Long.compareUnsigned(getKey(middle), key) < 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low < this.entryCount && getKey(low) == key ? low : -1;
+	}
+
+	public long getEntryCount() {
+		return this.entryCount;
+	}
+
+	public long getKey(long index) {
+		long position = index * ENTRY_BYTES;
+		return this.segments[(int) (position >>> SEGMENT_SHIFT)].getLong((int) (position & SEGMENT_MASK));
+	}
+
+	public int getMove(long index) {
+		long position = index * ENTRY_BYTES + MOVE_OFFSET;
+		return this.segments[(int) (position >>> SEGMENT_SHIFT)].getShort((int) (position & SEGMENT_MASK)) & 0xFFFF;
+	}
+
+	public int getWeight(long index) {
+		long position = index * ENTRY_BYTES + WEIGHT_OFFSET;
+		return this.segments[(int) (position >>> SEGMENT_SHIFT)].getShort((int) (position & SEGMENT_MASK)) & 0xFFFF;
+	}
+
+	/**
+	 * Closes the file. Mapped memory is released when the book is garbage
+	 * collected.
+	 */
+	@Override
+	public void close() throws IOException {
+		this.channel.close();
+	}
+}
@@ -0,0 +1,442 @@
+package com.capgemini.chess.algorithms.book;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import com.capgemini.chess.algorithms.implementation.BoardManager;
+import com.capgemini.chess.algorithms.implementation.SanParser;
+import com.capgemini.chess.algorithms.implementation.exceptions.InvalidMoveException;
+import com.capgemini.chess.algorithms.pgn.PgnReader;
+
+/**
+ * Compiles an {@link OpeningBook} from games in PGN. Moves of the first plies
+ * of every game are recorded with the key of the position before the move
+ * and a weight of 2 for the side which won the game, 1 for a draw and 0 for a
+ * loss; weights of the same move in the same position are summed up. If the
+ * summed weight of a move exceeds the 2 bytes of a book entry, weights of all
+ * moves of the position are scaled down proportionally, so the most
+ * successful move keeps the highest weight.
+ * <p>
+ * Entries are collected in primitive arrays, sorted and written to temporary
+ * run files whenever the arrays are full, and the runs are merged into the
+ * book at the end, so the size of the book is not limited by the heap. Games
+ * with an unknown result or starting from a custom position (FEN tag) are
+ * skipped, games with an illegal move are recorded up to that move and counted
+ * as skipped.
+ *
+ */
+public class OpeningBookBuilder {
+
+	public static final int DEFAULT_MAX_PLY = 30;
+
+	private static final int DEFAULT_RUN_ENTRIES = 1 << 22;
+	private static final int MAX_WEIGHT = 0xFFFF;
+	private static final int MOVE_SHIFT = 16;
+	private static final int WEIGHT_MASK = 0xFFFF;
+	private static final int INSERTION_SORT_THRESHOLD = 16;
+
+	private final Path workDirectory;
+	private final int maxPly;
+	private final long[] keys;
+	// move in the upper 16 bits, weight in the lower ones
+	private final int[] entries;
+	private final List<Path> runs = new ArrayList<>();
+	private final BoardManager boardManager = new BoardManager();
+	private final SanParser sanParser = new SanParser(this.boardManager);
+	// moves and merged weights of the position being written by build
+	private int[] groupMoves = new int[BoardManager.MAX_MOVES];
+	private long[] groupWeights = new long[BoardManager.MAX_MOVES];
+	private int size;
+	private long gameCount;
+	private long skippedGameCount;
+	private long entryCount;
+
+	/**
+	 * Creates builder
+	 *
+	 * @param workDirectory
+	 *            directory for temporary run files
+	 * @param maxPly
+	 *            number of first plies of every game recorded in the book
+	 */
+	public OpeningBookBuilder(Path workDirectory, int maxPly) {
+		this(workDirectory, maxPly, DEFAULT_RUN_ENTRIES);
+	}
+
+	OpeningBookBuilder(Path workDirectory, int maxPly, int runEntries) {
+		this.workDirectory = workDirectory;
+		this.maxPly = maxPly;
+		this.keys = new long[runEntries];
+		this.entries = new int[runEntries];
+	}
+
+	/**
+	 * Adds all games of the PGN text
+	 *
+	 * @param reader
+	 *            PGN text
+	 * @throws IOException
+	 *             if reading or writing of a run file fails
+	 */
+	public void addGames(Reader reader) throws IOException {
+		PgnReader pgnReader = new PgnReader(reader);
+		Map<String, String> tags = new HashMap<>();
+		List<String> moves = new ArrayList<>();
+		String result;
+		while ((result = pgnReader.readGame(tags, moves)) != null) {
+			if (tags.containsKey("FEN")) {
+				this.skippedGameCount++;
+				continue;
+			}
+			addGame(moves, result);
+		}
+	}
+
+	/**
+	 * Adds moves of a game played from the initial position
+	 *
+	 * @param moves
+	 *            moves in standard algebraic notation
+	 * @param result
+	 *            game result as in {@link PgnReader}
+	 * @return true if the game was added completely, false if it was skipped
+	 *         or added up to an illegal move
+	 * @throws IOException
+	 *             if writing of a run file fails
+	 */
+	public boolean addGame(List<String> moves, String result) throws IOException {
+		int whiteWeight;
+		if (PgnReader.WHITE_WINS.equals(result)) {
+			whiteWeight = 2;
+		} else if (PgnReader.DRAW.equals(result)) {
+			whiteWeight = 1;
+		} else if (PgnReader.BLACK_WINS.equals(result)) {
+			whiteWeight = 0;
+		} else {
+			this.skippedGameCount++;
+			return false;
+		}
+		int plies = Math.min(moves.size(), this.maxPly);
+		int madeMoves = 0;
+		try {
+			for (; madeMoves < plies; madeMoves++) {
+				int move = this.sanParser.parse(moves.get(madeMoves));
+				addEntry(this.boardManager.getBoard().getZobristKey(), move,
+						madeMoves % 2 == 0 ? whiteWeight : 2 - whiteWeight);
+				this.boardManager.makeMove(move);
+			}
+			this.gameCount++;
+			return true;
+		} catch (InvalidMoveException e) {
+			this.skippedGameCount++;
+			return false;
+		} finally {
+			for (int i = 0; i < madeMoves; i++) {
+				this.boardManager.unmakeMove();
+			}
+		}
+	}
+
+	/**
+	 * Writes the book and deletes temporary run files
+	 *
+	 * @param output
+	 *            book file
+	 * @throws IOException
+	 *             if writing fails
+	 */
+	public void build(Path output) throws IOException {
+		writeRun();
+		List<RunReader> readers = new ArrayList<>(this.runs.size());
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(output),
+				1 << 16))) {
+			PriorityQueue<RunReader> queue = new PriorityQueue<>(Math.max(1, this.runs.size()));
+			for (Path run : this.runs) {
+				RunReader reader = new RunReader(run);
+				readers.add(reader);
+				if (reader.next()) {
+					queue.add(reader);
+				}
+			}
+			int groupSize = 0;
+			long groupKey = 0;
+			while (!queue.isEmpty()) {
+				RunReader reader = queue.poll();
+				long key = reader.key;
+				int move = reader.move;
+				long weight = 0;
+				while (true) {
+					weight += reader.weight;
+					if (reader.next()) {
+						queue.add(reader);
+					}
+					reader = queue.peek();
+					if (reader == null || reader.key != key || reader.move != move) {
+						break;
+					}
+					queue.poll();
+				}
+				if (groupSize > 0 && key != groupKey) {
+					writeGroup(out, groupKey, groupSize);
+					groupSize = 0;
+				}
+				if (groupSize == this.groupMoves.length) {
+					this.groupMoves = Arrays.copyOf(this.groupMoves, groupSize * 2);
+					this.groupWeights = Arrays.copyOf(this.groupWeights, groupSize * 2);
+				}
+				groupKey = key;
+				this.groupMoves[groupSize] = move;
+				this.groupWeights[groupSize] = weight;
+				groupSize++;
+			}
+			if (groupSize > 0) {
+				writeGroup(out, groupKey, groupSize);
+			}
+		} finally {
+			for (RunReader reader : readers) {
+				reader.close();
+			}
+			for (Path run : this.runs) {
+				Files.deleteIfExists(run);
+			}
+			this.runs.clear();
+		}
+	}
+
+	/**
+	 * Gets number of games recorded completely
+	 *
+	 * @return number of games
+	 */
+	public long getGameCount() {
+		return this.gameCount;
+	}
+
+	/**
+	 * Gets number of skipped games and games recorded up to an illegal move
+	 *
+	 * @return number of games
+	 */
+	public long getSkippedGameCount() {
+		return this.skippedGameCount;
+	}
+
+	/**
+	 * Gets number of recorded moves, before merging of the same moves
+	 *
+	 * @return number of moves
+	 */
+	public long getEntryCount() {
+		return this.entryCount;
+	}
+
+	/**
+	 * Compiles a book from PGN files, arguments are the book file followed
+	 * by PGN files, optionally preceded by <code>-ply N</code>
+	 *
+	 * @param args
+	 *            command line arguments
+	 * @throws IOException
+	 *             if reading or writing fails
+	 */
+	public static void main(String[] args) throws IOException {
+		int maxPly = DEFAULT_MAX_PLY;
+		int first = 0;
+		if (args.length > 1 && args[0].equals("-ply")) {
+			maxPly = Integer.parseInt(args[1]);
+			first = 2;
+		}
+		if (args.length - first < 2) {
+			System.err.println("Usage: OpeningBookBuilder [-ply N] <book file> <pgn file>...");
+			System.exit(1);
+		}
+		Path output = Paths.get(args[first]).toAbsolutePath();
+		long start = System.nanoTime();
+		OpeningBookBuilder builder = new OpeningBookBuilder(output.getParent(), maxPly);
+		for (int i = first + 1; i < args.length; i++) {
+			try (Reader reader = Files.newBufferedReader(Paths.get(args[i]), StandardCharsets.ISO_8859_1)) {
+				builder.addGames(reader);
+			}
+		}
+		builder.build(output);
+		System.out.printf("%,d games, %,d skipped, %,d moves, %,d book entries in %.1f s%n",
+				builder.getGameCount(), builder.getSkippedGameCount(), builder.getEntryCount(),
+				Files.size(output) / OpeningBook.ENTRY_BYTES, (System.nanoTime() - start) / 1e9);
+	}
+
+	private void addEntry(long key, int move, int weight) throws IOException {
+		if (this.size == this.keys.length) {
+			writeRun();
+		}
+		this.keys[this.size] = key;
+		this.entries[this.size] = (move << MOVE_SHIFT) | weight;
+		this.size++;
+		this.entryCount++;
+	}
+
+	/**
+	 * Writes book entries of the moves of one position, weights are scaled
+	 * down to the maximal weight of an entry if any of them exceeds it
+	 */
+	private void writeGroup(DataOutputStream out, long key, int groupSize) throws IOException {
+		long maxWeight = 0;
+		for (int i = 0; i < groupSize; i++) {
+			maxWeight = Math.max(maxWeight, this.groupWeights[i]);
+		}
+		for (int i = 0; i < groupSize; i++) {
+			long weight = this.groupWeights[i];
+			if (maxWeight > MAX_WEIGHT) {
+				// rounded, but a move with any wins or draws keeps a nonzero weight
+				weight = Math.max(weight == 0 ? 0 : 1, (weight * MAX_WEIGHT + maxWeight / 2) / maxWeight);
+			}
+			out.writeLong(key);
+			out.writeShort(this.groupMoves[i]);
+			out.writeShort((int) weight);
+			out.writeInt(0);
+		}
+	}
+
+	/**
+	 * Sorts collected entries and writes them to a run file, weights of the
+	 * same moves are summed up
+	 */
+	private void writeRun() throws IOException {
+		if (this.size == 0) {
+			return;
+		}
+		sort(0, this.size - 1);
+		Path run = Files.createTempFile(this.workDirectory, "book-run-", ".bin");
+		this.runs.add(run);
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run),
+				1 << 16))) {
+			int i = 0;
+			while (i < this.size) {
+				long key = this.keys[i];
+				int move = this.entries[i] >>> MOVE_SHIFT;
+				int weight = 0;
+				for (; i < this.size && this.keys[i] == key && this.entries[i] >>> MOVE_SHIFT == move; i++) {
+					weight += this.entries[i] & WEIGHT_MASK;
+				}
+				out.writeLong(key);
+				out.writeShort(move);
+				out.writeInt(weight);
+			}
+		}
+		this.size = 0;
+	}
+
+	/**
+	 * Quicksort of the parallel arrays by unsigned key and move
+	 */
+	private void sort(int low, int high) {
+		while (high - low > INSERTION_SORT_THRESHOLD) {
+			int middle = (low + high) >>> 1;
+			if (compare(middle, low) < 0) {
+				swap(middle, low);
+			}
+			if (compare(high, low) < 0) {
+				swap(high, low);
+			}
+			if (compare(high, middle) < 0) {
+				swap(high, middle);
+			}
+			long pivotKey = this.keys[middle];
+			int pivotMove = this.entries[middle] >>> MOVE_SHIFT;
+			int i = low;
+			int j = high;
+			while (i <= j) {
+				while (compare(i, pivotKey, pivotMove) < 0) {
+					i++;
+				}
+				while (compare(j, pivotKey, pivotMove) > 0) {
+					j--;
+				}
+				if (i <= j) {
+					swap(i++, j--);
+				}
+			}
+			// recursion into the smaller part keeps the stack shallow
+			if (j - low < high - i) {
+				sort(low, j);
+				low = i;
+			} else {
+				sort(i, high);
+				high = j;
+			}
+		}
+		for (int i = low + 1; i <= high; i++) {
+			for (int j = i; j > low && compare(j, j - 1) < 0; j--) {
+				swap(j, j - 1);
+			}
+		}
+	}
+
+	private int compare(int first, int second) {
+		return compare(first, this.keys[second], this.entries[second] >>> MOVE_SHIFT);
+	}
+
+	private int compare(int index, long key, int move) {
+		int result = Long.compareUnsigned(this.keys[index], key);
+		return result != 0 ? result : Integer.compare(this.entries[index] >>> MOVE_SHIFT, move);
+	}
+
+	private void swap(int first, int second) {
+		long key = this.keys[first];
+		this.keys[first] = this.keys[second];
+		this.keys[second] = key;
+		int entry = this.entries[first];
+		this.entries[first] = this.entries[second];
+		this.entries[second] = entry;
+	}
+
+	/**
+	 * Sequential reader of a run file
+	 */
+	private static class RunReader implements Comparable<RunReader> {
+
+		private final DataInputStream in;
+		private long key;
+		private int move;
+		private int weight;
+
+		RunReader(Path run) throws IOException {
+			this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), 1 << 16));
+		}
+
+		boolean next() throws IOException {
+			try {
+				this.key = this.in.readLong();
+			} catch (EOFException e) {
+				return false;
+			}
+			this.move = this.in.readUnsignedShort();
+			this.weight = this.in.readInt();
+			return true;
+		}
+
+		void close() throws IOException {
+			this.in.close();
+		}
+
+		@Override
+		public int compareTo(RunReader other) {
+			int result = Long.compareUnsigned(this.key, other.key);
+			return result != 0 ? result : Integer.compare(this.move, other.move);
+		}
+	}
+}
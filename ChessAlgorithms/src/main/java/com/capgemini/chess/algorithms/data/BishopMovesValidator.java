@@ -16,92 +16,20 @@ public class BishopMovesValidator implements MoveValidation {
 
 	@Override
 	public boolean isMovePosible(Coordinate from, Coordinate to) throws InvalidMoveException {
-		 
-		int xFrom = from.getX();
-		int yFrom = from.getY();
-		int xTo = to.getX();
-		int yTo = to.getY();
-		if (xTo > xFrom && yTo > yFrom) {
-			int currentX = xFrom + 1;
-			int currentY = yFrom + 1;
-			for (int i = xFrom + 1; i < xTo; i++) {
-				currentX = i;
-				Coordinate currentCoordinate = new Coordinate(currentX, currentY);
-				Piece piece = this.board.getPieceAt(currentCoordinate);
-				if (piece != null && !piece.getColor().equals(nextMoveColor) && xTo== xFrom+1 && yTo == yFrom+1) {
-					return true;
-				}
-				if (piece != null) {
-					throw new InvalidMoveException();
-				}
-				currentY++;
-			}
-
+		int fromSquare = Bitboards.square(from);
+		int toSquare = Bitboards.square(to);
+		long occupied = this.board.getOccupiedBitboard();
+		if (Bitboards.canBishopReach(fromSquare, toSquare, occupied)
+				&& (this.board.getColorBitboard(nextMoveColor) & Bitboards.bit(toSquare)) == 0) {
 			return true;
-
 		}
+		throw new InvalidMoveException();
+	}
 
-		else if (xTo > xFrom && yTo < yFrom) {
-			int currentX = xFrom + 1;
-			int currentY = yFrom - 1;
-			for (int i = xFrom + 1; i < xTo; i++) {
-				currentX = i;
-
-				Coordinate currentCoordinate = new Coordinate(currentX, currentY);
-				Piece piece = this.board.getPieceAt(currentCoordinate);
-				if (piece != null && !piece.getColor().equals(nextMoveColor) && xTo== xFrom+1 && yTo == yFrom-1) {
-					return true;
-				}
-				if (piece != null) {
-					throw new InvalidMoveException();
-				}
-				currentY--;
-
-			}
-			return true;
-
-		} else if (xTo < xFrom && yTo < yFrom) {
-			int currentX = xFrom - 1;
-			int currentY = yFrom - 1;
-			for (int i = xFrom - 1; i > xTo; i--) {
-				currentX = i;
-
-				Coordinate currentCoordinate = new Coordinate(currentX, currentY);
-				Piece piece = this.board.getPieceAt(currentCoordinate);
-				if (piece != null && !piece.getColor().equals(nextMoveColor) && xTo== xFrom-1 && yTo == yFrom-1) {
-					return true;
-				}
-				if (piece != null) {
-					throw new InvalidMoveException();
-
-				}
-				currentY--;
-			}
-
-			return true;
-		} else if (xTo < xFrom && yTo > yFrom) {
-			int currentX = xFrom - 1;
-			int currentY = yFrom + 1;
-			for (int i = xFrom - 1; i > xTo; i--) {
-				currentX = i;
-
-				Coordinate currentCoordinate = new Coordinate(currentX, currentY);
-				Piece piece = this.board.getPieceAt(currentCoordinate);
-				if (piece != null && !piece.getColor().equals(nextMoveColor) && xTo== xFrom-1 && yTo == yFrom+1) {
-					return true;
-				}
-				if (piece != null) {
-					throw new InvalidMoveException();
-
-				}
-				currentY++;
-
-			}
-
-			return true;
-		} else {
-			throw new InvalidMoveException();
-		}
+	@Override
+	public long calculateTargets(int from) {
+		long targets = Bitboards.bishopTargets(from, this.board.getOccupiedBitboard());
+		return targets & ~this.board.getColorBitboard(nextMoveColor);
 	}
 
 	@Override
@@ -118,13 +46,15 @@ public class BishopMovesValidator implements MoveValidation {
 				return new Move(from, to, MoveType.CAPTURE, board.getPieceAt(from));
 
 			}
+
 		}
+
 	}
 
-	
 	@Override
 	public void setNextMoveColor(Color nextMoveColor) {
 		this.nextMoveColor = nextMoveColor;
 
 	}
+
 }
@@ -0,0 +1,272 @@
+package com.capgemini.chess.algorithms.data;
+
+import com.capgemini.chess.algorithms.data.enums.Color;
+import com.capgemini.chess.algorithms.data.generated.Board;
+
+/**
+ * Helper operations on bitboards. A bitboard is a <code>long</code> in which
+ * bit <code>y * 8 + x</code> represents the field with coordinates (x, y), so
+ * a1 is bit 0, h1 is bit 7 and h8 is bit 63. Knight, king and pawn attacks,
+ * rays in all eight directions and fields between any two squares on a line
+ * are precomputed for every square when the class is loaded, so no lookup
+ * walks the board field by field.
+ *
+ */
+public final class Bitboards {
+
+	public static final long EMPTY = 0L;
+
+	private static final int[][] KNIGHT_DELTAS = { { 1, 2 }, { 2, 1 }, { 2, -1 }, { 1, -2 }, { -1, -2 }, { -2, -1 },
+			{ -2, 1 }, { -1, 2 } };
+	private static final int[][] KING_DELTAS = { { 1, 0 }, { 1, 1 }, { 0, 1 }, { -1, 1 }, { -1, 0 }, { -1, -1 },
+			{ 0, -1 }, { 1, -1 } };
+
+	// rays going to higher square indexes come first
+	private static final int NORTH = 0;
+	private static final int NORTH_EAST = 1;
+	private static final int EAST = 2;
+	private static final int NORTH_WEST = 3;
+	private static final int SOUTH = 4;
+	private static final int SOUTH_WEST = 5;
+	private static final int WEST = 6;
+	private static final int SOUTH_EAST = 7;
+	private static final int[][] DIRECTIONS = { { 0, 1 }, { 1, 1 }, { 1, 0 }, { -1, 1 }, { 0, -1 }, { -1, -1 },
+			{ -1, 0 }, { 1, -1 } };
+
+	private static final int SQUARES = Board.SIZE * Board.SIZE;
+	private static final long[] KNIGHT_TARGETS = new long[SQUARES];
+	private static final long[] KING_TARGETS = new long[SQUARES];
+	private static final long[][] PAWN_ATTACKS = new long[Color.values().length][SQUARES];
+	private static final long[][] RAYS = new long[DIRECTIONS.length][SQUARES];
+	private static final long[][] BETWEEN = new long[SQUARES][SQUARES];
+	private static final long[] ROOK_MASKS = new long[SQUARES];
+	private static final long[] BISHOP_MASKS = new long[SQUARES];
+
+	static {
+		for (int square = 0; square < SQUARES; square++) {
+			KNIGHT_TARGETS[square] = leaperTargets(square, KNIGHT_DELTAS);
+			KING_TARGETS[square] = leaperTargets(square, KING_DELTAS);
+			for (Color color : Color.values()) {
+				PAWN_ATTACKS[color.ordinal()][square] = calculatePawnAttacks(square, color);
+			}
+			for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+				initRay(square, direction);
+			}
+			ROOK_MASKS[square] = RAYS[NORTH][square] | RAYS[EAST][square] | RAYS[SOUTH][square]
+					| RAYS[WEST][square];
+			BISHOP_MASKS[square] = RAYS[NORTH_EAST][square] | RAYS[NORTH_WEST][square]
+					| RAYS[SOUTH_WEST][square] | RAYS[SOUTH_EAST][square];
+		}
+	}
+
+	private Bitboards() {
+	}
+
+	/**
+	 * Converts coordinates to the square index used by bitboards
+	 *
+	 * @param x
+	 *            column of the field
+	 * @param y
+	 *            row of the field
+	 * @return square index
+	 */
+	public static int square(int x, int y) {
+		return y * Board.SIZE + x;
+	}
+
+	public static int square(Coordinate coordinate) {
+		return square(coordinate.getX(), coordinate.getY());
+	}
+
+	public static int getX(int square) {
+		return square & (Board.SIZE - 1);
+	}
+
+	public static int getY(int square) {
+		return square >>> 3;
+	}
+
+	public static Coordinate toCoordinate(int square) {
+		return new Coordinate(getX(square), getY(square));
+	}
+
+	public static long bit(int square) {
+		return 1L << square;
+	}
+
+	public static boolean isOnBoard(int x, int y) {
+		return x >= 0 && x < Board.SIZE && y >= 0 && y < Board.SIZE;
+	}
+
+	/**
+	 * Calculates fields reachable by a knight standing on given square
+	 *
+	 * @param square
+	 *            knight position
+	 * @return bitboard of reachable fields
+	 */
+	public static long knightTargets(int square) {
+		return KNIGHT_TARGETS[square];
+	}
+
+	/**
+	 * Calculates fields reachable by a king standing on given square (without
+	 * castling)
+	 *
+	 * @param square
+	 *            king position
+	 * @return bitboard of reachable fields
+	 */
+	public static long kingTargets(int square) {
+		return KING_TARGETS[square];
+	}
+
+	/**
+	 * Calculates fields attacked by a pawn of given color
+	 *
+	 * @param square
+	 *            pawn position
+	 * @param color
+	 *            pawn color
+	 * @return bitboard of attacked fields
+	 */
+	public static long pawnAttacks(int square, Color color) {
+		return PAWN_ATTACKS[color.ordinal()][square];
+	}
+
+	private static long calculatePawnAttacks(int square, Color color) {
+		int x = getX(square);
+		int y = getY(square) + (color == Color.WHITE ? 1 : -1);
+		long attacks = EMPTY;
+		if (isOnBoard(x - 1, y)) {
+			attacks |= bit(square(x - 1, y));
+		}
+		if (isOnBoard(x + 1, y)) {
+			attacks |= bit(square(x + 1, y));
+		}
+		return attacks;
+	}
+
+	/**
+	 * Calculates fields reachable by a rook. Every ray ends on the first
+	 * occupied field (the field itself is included).
+	 *
+	 * @param square
+	 *            rook position
+	 * @param occupied
+	 *            bitboard of all occupied fields
+	 * @return bitboard of reachable fields
+	 */
+	public static long rookTargets(int square, long occupied) {
+		return positiveRayTargets(square, occupied, NORTH) | positiveRayTargets(square, occupied, EAST)
+				| negativeRayTargets(square, occupied, SOUTH) | negativeRayTargets(square, occupied, WEST);
+	}
+
+	/**
+	 * Calculates fields reachable by a bishop. Every ray ends on the first
+	 * occupied field (the field itself is included).
+	 *
+	 * @param square
+	 *            bishop position
+	 * @param occupied
+	 *            bitboard of all occupied fields
+	 * @return bitboard of reachable fields
+	 */
+	public static long bishopTargets(int square, long occupied) {
+		return positiveRayTargets(square, occupied, NORTH_EAST) | positiveRayTargets(square, occupied, NORTH_WEST)
+				| negativeRayTargets(square, occupied, SOUTH_WEST) | negativeRayTargets(square, occupied, SOUTH_EAST);
+	}
+
+	/**
+	 * Checks whether a rook can go from one field to another, i.e. both
+	 * fields are on the same row or column and all fields between are empty.
+	 * Occupation of the 'to' field is not checked.
+	 *
+	 * @param from
+	 *            square index of 'from' field
+	 * @param to
+	 *            square index of 'to' field
+	 * @param occupied
+	 *            bitboard of all occupied fields
+	 * @return true if the field can be reached
+	 */
+	public static boolean canRookReach(int from, int to, long occupied) {
+		return (ROOK_MASKS[from] & bit(to)) != 0 && (BETWEEN[from][to] & occupied) == 0;
+	}
+
+	/**
+	 * Checks whether a bishop can go from one field to another, i.e. both
+	 * fields are on the same diagonal and all fields between are empty.
+	 * Occupation of the 'to' field is not checked.
+	 *
+	 * @param from
+	 *            square index of 'from' field
+	 * @param to
+	 *            square index of 'to' field
+	 * @param occupied
+	 *            bitboard of all occupied fields
+	 * @return true if the field can be reached
+	 */
+	public static boolean canBishopReach(int from, int to, long occupied) {
+		return (BISHOP_MASKS[from] & bit(to)) != 0 && (BETWEEN[from][to] & occupied) == 0;
+	}
+
+	/**
+	 * Gets fields between two squares lying on the same row, column or
+	 * diagonal (both squares excluded)
+	 *
+	 * @param from
+	 *            first square index
+	 * @param to
+	 *            second square index
+	 * @return bitboard of fields between, empty if the squares are not on a
+	 *         line
+	 */
+	public static long between(int from, int to) {
+		return BETWEEN[from][to];
+	}
+
+	private static long leaperTargets(int square, int[][] deltas) {
+		int x = getX(square);
+		int y = getY(square);
+		long targets = EMPTY;
+		for (int[] delta : deltas) {
+			if (isOnBoard(x + delta[0], y + delta[1])) {
+				targets |= bit(square(x + delta[0], y + delta[1]));
+			}
+		}
+		return targets;
+	}
+
+	private static void initRay(int square, int direction) {
+		long ray = EMPTY;
+		int x = getX(square) + DIRECTIONS[direction][0];
+		int y = getY(square) + DIRECTIONS[direction][1];
+		while (isOnBoard(x, y)) {
+			BETWEEN[square][square(x, y)] = ray;
+			ray |= bit(square(x, y));
+			x += DIRECTIONS[direction][0];
+			y += DIRECTIONS[direction][1];
+		}
+		RAYS[direction][square] = ray;
+	}
+
+	private static long positiveRayTargets(int square, long occupied, int direction) {
+		long ray = RAYS[direction][square];
+		long blockers = ray & occupied;
+		if (blockers == 0) {
+			return ray;
+		}
+		return ray ^ RAYS[direction][Long.numberOfTrailingZeros(blockers)];
+	}
+
+	private static long negativeRayTargets(int square, long occupied, int direction) {
+		long ray = RAYS[direction][square];
+		long blockers = ray & occupied;
+		if (blockers == 0) {
+			return ray;
+		}
+		return ray ^ RAYS[direction][63 - Long.numberOfLeadingZeros(blockers)];
+	}
+}
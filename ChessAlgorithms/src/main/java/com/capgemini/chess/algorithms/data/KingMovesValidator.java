@@ -16,25 +16,55 @@ public class KingMovesValidator implements MoveValidation {
 
 	@Override
 	public boolean isMovePosible(Coordinate from, Coordinate to) throws InvalidMoveException {
-		int xFrom = from.getX();
-		int yFrom = from.getY();
-		int xTo = to.getX();
-		int yTo = to.getY();
-		if (Math.abs(xTo - xFrom) == 1 && yFrom == yTo) {
+		long targets = calculateTargets(Bitboards.square(from));
+		if ((targets & Bitboards.bit(Bitboards.square(to))) != 0) {
 			return true;
-		} else if (Math.abs(yTo - yFrom) == 1 && xFrom == xTo) {
-			return true;
-		} else if (Math.abs(xTo - xFrom) == 1 && Math.abs(yTo - yFrom) == 1) {
-			return true;
-		} else {
-			throw new InvalidMoveException();
 		}
+		throw new InvalidMoveException();
+	}
+
+	@Override
+	public long calculateTargets(int from) {
+		long targets = Bitboards.kingTargets(from);
+		return (targets | calculateCastlingTargets(from)) & ~this.board.getColorBitboard(nextMoveColor);
+	}
+
+	/**
+	 * Calculates castling targets of the king. Only castling rights, rook
+	 * presence and empty fields between are checked here, attacked fields are
+	 * verified by the board manager.
+	 */
+	private long calculateCastlingTargets(int from) {
+		boolean white = nextMoveColor == Color.WHITE;
+		int homeSquare = white ? Bitboards.square(4, 0) : Bitboards.square(4, Board.SIZE - 1);
+		if (from != homeSquare) {
+			return Bitboards.EMPTY;
+		}
+		Piece rook = white ? Piece.WHITE_ROOK : Piece.BLACK_ROOK;
+		int kingSide = white ? Board.WHITE_KING_SIDE_CASTLING : Board.BLACK_KING_SIDE_CASTLING;
+		int queenSide = white ? Board.WHITE_QUEEN_SIDE_CASTLING : Board.BLACK_QUEEN_SIDE_CASTLING;
+		long occupied = this.board.getOccupiedBitboard();
+
+		long targets = Bitboards.EMPTY;
+		long kingSideBetween = Bitboards.between(from, from + 3);
+		if ((this.board.getCastlingRights() & kingSide) != 0 && this.board.getPieceAt(from + 3) == rook
+				&& (occupied & kingSideBetween) == 0) {
+			targets |= Bitboards.bit(from + 2);
+		}
+		long queenSideBetween = Bitboards.between(from, from - 4);
+		if ((this.board.getCastlingRights() & queenSide) != 0 && this.board.getPieceAt(from - 4) == rook
+				&& (occupied & queenSideBetween) == 0) {
+			targets |= Bitboards.bit(from - 2);
+		}
+		return targets;
 	}
 
 	@Override
 	public Move returnLegalMove(Coordinate from, Coordinate to) throws InvalidMoveException {
 		Piece pieceAtTo = this.board.getPieceAt(to);
-		if (pieceAtTo == null) {
+		if (pieceAtTo == null && Math.abs(to.getX() - from.getX()) == 2) {
+			return new Move(from, to, MoveType.CASTLING, board.getPieceAt(from));
+		} else if (pieceAtTo == null) {
 			return new Move(from, to, MoveType.ATTACK, board.getPieceAt(from));
 		} else {
 			Color colorOfPieceAtTo = pieceAtTo.getColor();
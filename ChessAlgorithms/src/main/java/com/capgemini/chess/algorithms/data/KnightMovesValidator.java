@@ -16,17 +16,17 @@ public class KnightMovesValidator implements MoveValidation {
 
 	@Override
 	public boolean isMovePosible(Coordinate from, Coordinate to) throws InvalidMoveException {
-		int xFrom = from.getX();
-		int yFrom = from.getY();
-		int xTo = to.getX();
-		int yTo = to.getY();
-		if (Math.abs(xTo - xFrom) == 1 && Math.abs(yTo - yFrom) == 2) {
+		long targets = calculateTargets(Bitboards.square(from));
+		if ((targets & Bitboards.bit(Bitboards.square(to))) != 0) {
 			return true;
-		} else if (Math.abs(xTo - xFrom) == 2 && Math.abs(yTo - yFrom) == 1) {
-			return true;
-		} else {
-			throw new InvalidMoveException();
 		}
+		throw new InvalidMoveException();
+	}
+
+	@Override
+	public long calculateTargets(int from) {
+		long targets = Bitboards.knightTargets(from);
+		return targets & ~this.board.getColorBitboard(nextMoveColor);
 	}
 
 	@Override
@@ -45,7 +45,7 @@ public class KnightMovesValidator implements MoveValidation {
 			}
 
 		}
-	
+
 	}
 
 	@Override
@@ -53,4 +53,5 @@ public class KnightMovesValidator implements MoveValidation {
 		this.nextMoveColor = nextMoveColor;
 
 	}
+
 }
@@ -2,6 +2,7 @@ package com.capgemini.chess.algorithms.data;
 
 import com.capgemini.chess.algorithms.data.enums.MoveType;
 import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.data.enums.PieceType;
 
 /**
  * Chess move definition.
@@ -15,6 +16,7 @@ public class Move {
 	private Coordinate to;
 	private MoveType type;
 	private Piece movedPiece;
+	private PieceType promotion;
 
 	public Move () {}
 	
@@ -58,4 +60,18 @@ public class Move {
 	public void setMovedPiece(Piece movedPiece) {
 		this.movedPiece = movedPiece;
 	}
+
+	/**
+	 * Type of the piece a pawn is promoted to. Null means default promotion to
+	 * queen.
+	 * 
+	 * @return promotion piece type
+	 */
+	public PieceType getPromotion() {
+		return promotion;
+	}
+
+	public void setPromotion(PieceType promotion) {
+		this.promotion = promotion;
+	}
 }
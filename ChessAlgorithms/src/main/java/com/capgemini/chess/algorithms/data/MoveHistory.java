@@ -0,0 +1,131 @@
+package com.capgemini.chess.algorithms.data;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+import com.capgemini.chess.algorithms.data.enums.MoveType;
+import com.capgemini.chess.algorithms.data.enums.Piece;
+
+/**
+ * Move history kept in a growable <code>int</code> array. Every entry holds
+ * the {@link PackedMove} in bits 0-15 and the moved piece (ordinal + 1, 0 for
+ * none) in bits 16-19, so no objects are kept per move. The history can be
+ * used as a list of {@link Move} objects, which are created on access.
+ *
+ */
+public class MoveHistory extends AbstractList<Move> implements RandomAccess {
+
+	private static final int INITIAL_CAPACITY = 64;
+	private static final int MOVE_MASK = 0xFFFF;
+	private static final int MOVED_PIECE_SHIFT = 16;
+
+	private static final Piece[] PIECES = Piece.values();
+
+	private int[] entries;
+	private int size;
+
+	public MoveHistory() {
+		this.entries = new int[INITIAL_CAPACITY];
+	}
+
+	public MoveHistory(MoveHistory moveHistory) {
+		this.entries = Arrays.copyOf(moveHistory.entries, Math.max(INITIAL_CAPACITY, moveHistory.size));
+		this.size = moveHistory.size;
+	}
+
+	/**
+	 * Appends move to the history
+	 *
+	 * @param move
+	 *            packed move
+	 * @param movedPiece
+	 *            piece which performed the move
+	 */
+	public void add(int move, Piece movedPiece) {
+		if (size == entries.length) {
+			entries = Arrays.copyOf(entries, entries.length * 2);
+		}
+		entries[size++] = toEntry(move, movedPiece);
+	}
+
+	/**
+	 * Removes the last move from the history
+	 */
+	public void removeLast() {
+		size--;
+		modCount++;
+	}
+
+	public int getPackedMove(int index) {
+		checkIndex(index);
+		return entries[index] & MOVE_MASK;
+	}
+
+	public MoveType getType(int index) {
+		return PackedMove.getType(getPackedMove(index));
+	}
+
+	public Piece getMovedPiece(int index) {
+		checkIndex(index);
+		int piece = entries[index] >>> MOVED_PIECE_SHIFT;
+		return piece == 0 ? null : PIECES[piece - 1];
+	}
+
+	@Override
+	public Move get(int index) {
+		return PackedMove.toMove(getPackedMove(index), getMovedPiece(index));
+	}
+
+	@Override
+	public Move set(int index, Move move) {
+		Move previousMove = get(index);
+		entries[index] = toEntry(PackedMove.fromMove(move), move.getMovedPiece());
+		return previousMove;
+	}
+
+	@Override
+	public void add(int index, Move move) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		if (size == entries.length) {
+			entries = Arrays.copyOf(entries, entries.length * 2);
+		}
+		System.arraycopy(entries, index, entries, index + 1, size - index);
+		entries[index] = toEntry(PackedMove.fromMove(move), move.getMovedPiece());
+		size++;
+		modCount++;
+	}
+
+	@Override
+	public Move remove(int index) {
+		Move move = get(index);
+		System.arraycopy(entries, index + 1, entries, index, size - index - 1);
+		size--;
+		modCount++;
+		return move;
+	}
+
+	@Override
+	public void clear() {
+		size = 0;
+		modCount++;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	private static int toEntry(int move, Piece movedPiece) {
+		int piece = movedPiece == null ? 0 : movedPiece.ordinal() + 1;
+		return (move & MOVE_MASK) | (piece << MOVED_PIECE_SHIFT);
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+}
@@ -11,4 +11,14 @@ public interface MoveValidation {
 
 	void setNextMoveColor(Color nextMoveColor);
 
+	/**
+	 * Calculates fields the piece standing on given square can move to. Own
+	 * king safety is not taken into account.
+	 * 
+	 * @param from
+	 *            square index of the piece
+	 * @return bitboard of target fields
+	 */
+	long calculateTargets(int from);
+
 }
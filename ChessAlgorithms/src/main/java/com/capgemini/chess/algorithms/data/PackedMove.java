@@ -0,0 +1,129 @@
+package com.capgemini.chess.algorithms.data;
+
+import com.capgemini.chess.algorithms.data.enums.MoveType;
+import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.data.enums.PieceType;
+import com.capgemini.chess.algorithms.data.generated.Board;
+
+/**
+ * Move packed into a single <code>int</code>, used where moves are generated
+ * in bulk. Bits 0-5 hold the 'from' square, bits 6-11 the 'to' square, bits
+ * 12-13 the {@link MoveType} and bits 14-15 the promotion piece, so every
+ * move fits in 16 bits.
+ *
+ */
+public final class PackedMove {
+
+	private static final int SQUARE_MASK = 0x3F;
+	private static final int TO_SHIFT = 6;
+	private static final int TYPE_SHIFT = 12;
+	private static final int PROMOTION_SHIFT = 14;
+
+	private static final MoveType[] MOVE_TYPES = MoveType.values();
+	private static final PieceType[] PROMOTIONS = { PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP,
+			PieceType.KNIGHT };
+
+	private PackedMove() {
+	}
+
+	/**
+	 * Packs move into an int
+	 *
+	 * @param from
+	 *            square index of 'from' field
+	 * @param to
+	 *            square index of 'to' field
+	 * @param type
+	 *            move type
+	 * @param promotion
+	 *            promotion piece type, null for queen or no promotion
+	 * @return packed move
+	 */
+	public static int pack(int from, int to, MoveType type, PieceType promotion) {
+		return from | (to << TO_SHIFT) | (type.ordinal() << TYPE_SHIFT)
+				| (promotionIndex(promotion) << PROMOTION_SHIFT);
+	}
+
+	public static int getFrom(int move) {
+		return move & SQUARE_MASK;
+	}
+
+	public static int getTo(int move) {
+		return (move >>> TO_SHIFT) & SQUARE_MASK;
+	}
+
+	public static MoveType getType(int move) {
+		return MOVE_TYPES[(move >>> TYPE_SHIFT) & 3];
+	}
+
+	/**
+	 * Gets promotion piece type. Meaningful only for pawn moves to the last
+	 * row, queen is returned otherwise.
+	 *
+	 * @param move
+	 *            packed move
+	 * @return promotion piece type
+	 */
+	public static PieceType getPromotion(int move) {
+		return PROMOTIONS[(move >>> PROMOTION_SHIFT) & 3];
+	}
+
+	/**
+	 * Checks whether given piece moving to given square gets promoted
+	 *
+	 * @param movedPiece
+	 *            moved piece
+	 * @param to
+	 *            square index of 'to' field
+	 * @return true if the move is a promotion
+	 */
+	public static boolean isPromotion(Piece movedPiece, int to) {
+		if (movedPiece == null || movedPiece.getType() != PieceType.PAWN) {
+			return false;
+		}
+		int y = Bitboards.getY(to);
+		return y == 0 || y == Board.SIZE - 1;
+	}
+
+	/**
+	 * Packs move object into an int
+	 *
+	 * @param move
+	 *            move object
+	 * @return packed move
+	 */
+	public static int fromMove(Move move) {
+		return pack(Bitboards.square(move.getFrom()), Bitboards.square(move.getTo()), move.getType(),
+				move.getPromotion());
+	}
+
+	/**
+	 * Unpacks move into a {@link Move} object
+	 *
+	 * @param move
+	 *            packed move
+	 * @param movedPiece
+	 *            piece performing the move
+	 * @return move object
+	 */
+	public static Move toMove(int move, Piece movedPiece) {
+		Move result = new Move(Bitboards.toCoordinate(getFrom(move)), Bitboards.toCoordinate(getTo(move)),
+				getType(move), movedPiece);
+		if (isPromotion(movedPiece, getTo(move))) {
+			result.setPromotion(getPromotion(move));
+		}
+		return result;
+	}
+
+	private static int promotionIndex(PieceType promotion) {
+		if (promotion == null) {
+			return 0;
+		}
+		for (int i = 0; i < PROMOTIONS.length; i++) {
+			if (PROMOTIONS[i] == promotion) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException("Invalid promotion: " + promotion);
+	}
+}
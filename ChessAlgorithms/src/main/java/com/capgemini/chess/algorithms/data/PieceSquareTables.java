@@ -0,0 +1,247 @@
+package com.capgemini.chess.algorithms.data;
+
+import com.capgemini.chess.algorithms.data.enums.Color;
+import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.data.enums.PieceType;
+import com.capgemini.chess.algorithms.data.generated.Board;
+
+/**
+ * Material and piece-square values of pieces for the middlegame and the
+ * endgame. Values include material, are positive for white pieces and
+ * negative for black ones, so the score of a position is the sum of values of
+ * all its pieces. The game phase is the sum of phase weights of pieces on the
+ * board, from {@link #MAX_PHASE} at the start to 0 with kings and pawns only.
+ *
+ */
+public final class PieceSquareTables {
+
+	public static final int MAX_PHASE = 24;
+
+	private static final int SQUARES = Board.SIZE * Board.SIZE;
+
+	// values of pieces indexed by PieceType ordinal: king, queen, bishop,
+	// knight, rook, pawn; the king outweighs all other pieces together
+	private static final int[] PIECE_VALUES = { 20000, 900, 330, 320, 500, 100 };
+
+	// tables are written as seen by white, from the 8th row to the 1st
+	private static final int[] PAWN_TABLE = {
+			0, 0, 0, 0, 0, 0, 0, 0,
+			50, 50, 50, 50, 50, 50, 50, 50,
+			10, 10, 20, 30, 30, 20, 10, 10,
+			5, 5, 10, 25, 25, 10, 5, 5,
+			0, 0, 0, 20, 20, 0, 0, 0,
+			5, -5, -10, 0, 0, -10, -5, 5,
+			5, 10, 10, -20, -20, 10, 10, 5,
+			0, 0, 0, 0, 0, 0, 0, 0 };
+	private static final int[] PAWN_ENDGAME_TABLE = {
+			0, 0, 0, 0, 0, 0, 0, 0,
+			80, 80, 80, 80, 80, 80, 80, 80,
+			50, 50, 50, 50, 50, 50, 50, 50,
+			30, 30, 30, 30, 30, 30, 30, 30,
+			15, 15, 15, 15, 15, 15, 15, 15,
+			5, 5, 5, 5, 5, 5, 5, 5,
+			0, 0, 0, 0, 0, 0, 0, 0,
+			0, 0, 0, 0, 0, 0, 0, 0 };
+	private static final int[] KNIGHT_TABLE = {
+			-50, -40, -30, -30, -30, -30, -40, -50,
+			-40, -20, 0, 0, 0, 0, -20, -40,
+			-30, 0, 10, 15, 15, 10, 0, -30,
+			-30, 5, 15, 20, 20, 15, 5, -30,
+			-30, 0, 15, 20, 20, 15, 0, -30,
+			-30, 5, 10, 15, 15, 10, 5, -30,
+			-40, -20, 0, 5, 5, 0, -20, -40,
+			-50, -40, -30, -30, -30, -30, -40, -50 };
+	private static final int[] BISHOP_TABLE = {
+			-20, -10, -10, -10, -10, -10, -10, -20,
+			-10, 0, 0, 0, 0, 0, 0, -10,
+			-10, 0, 5, 10, 10, 5, 0, -10,
+			-10, 5, 5, 10, 10, 5, 5, -10,
+			-10, 0, 10, 10, 10, 10, 0, -10,
+			-10, 10, 10, 10, 10, 10, 10, -10,
+			-10, 5, 0, 0, 0, 0, 5, -10,
+			-20, -10, -10, -10, -10, -10, -10, -20 };
+	private static final int[] ROOK_TABLE = {
+			0, 0, 0, 0, 0, 0, 0, 0,
+			5, 10, 10, 10, 10, 10, 10, 5,
+			-5, 0, 0, 0, 0, 0, 0, -5,
+			-5, 0, 0, 0, 0, 0, 0, -5,
+			-5, 0, 0, 0, 0, 0, 0, -5,
+			-5, 0, 0, 0, 0, 0, 0, -5,
+			-5, 0, 0, 0, 0, 0, 0, -5,
+			0, 0, 0, 5, 5, 0, 0, 0 };
+	private static final int[] QUEEN_TABLE = {
+			-20, -10, -10, -5, -5, -10, -10, -20,
+			-10, 0, 0, 0, 0, 0, 0, -10,
+			-10, 0, 5, 5, 5, 5, 0, -10,
+			-5, 0, 5, 5, 5, 5, 0, -5,
+			0, 0, 5, 5, 5, 5, 0, -5,
+			-10, 5, 5, 5, 5, 5, 0, -10,
+			-10, 0, 5, 0, 0, 0, 0, -10,
+			-20, -10, -10, -5, -5, -10, -10, -20 };
+	private static final int[] KING_TABLE = {
+			-30, -40, -40, -50, -50, -40, -40, -30,
+			-30, -40, -40, -50, -50, -40, -40, -30,
+			-30, -40, -40, -50, -50, -40, -40, -30,
+			-30, -40, -40, -50, -50, -40, -40, -30,
+			-20, -30, -30, -40, -40, -30, -30, -20,
+			-10, -20, -20, -20, -20, -20, -20, -10,
+			20, 20, 0, 0, 0, 0, 20, 20,
+			20, 30, 10, 0, 0, 10, 30, 20 };
+	private static final int[] KING_ENDGAME_TABLE = {
+			-50, -40, -30, -20, -20, -30, -40, -50,
+			-30, -20, -10, 0, 0, -10, -20, -30,
+			-30, -10, 20, 30, 30, 20, -10, -30,
+			-30, -10, 30, 40, 40, 30, -10, -30,
+			-30, -10, 30, 40, 40, 30, -10, -30,
+			-30, -10, 20, 30, 30, 20, -10, -30,
+			-30, -30, 0, 0, 0, 0, -30, -30,
+			-50, -30, -30, -30, -30, -30, -30, -50 };
+
+	private static final int[][] MIDDLEGAME_VALUES = new int[Piece.values().length][SQUARES];
+	private static final int[][] ENDGAME_VALUES = new int[Piece.values().length][SQUARES];
+	private static final int[] PHASE_WEIGHTS = new int[Piece.values().length];
+
+	static {
+		for (Piece piece : Piece.values()) {
+			int sign = piece.getColor() == Color.WHITE ? 1 : -1;
+			for (int square = 0; square < SQUARES; square++) {
+				int x = Bitboards.getX(square);
+				int y = Bitboards.getY(square);
+				int tableIndex = piece.getColor() == Color.WHITE ? (Board.SIZE - 1 - y) * Board.SIZE + x
+						: y * Board.SIZE + x;
+				MIDDLEGAME_VALUES[piece.ordinal()][square] = sign * (getMiddlegameMaterial(piece.getType())
+						+ getMiddlegameTable(piece.getType())[tableIndex]);
+				ENDGAME_VALUES[piece.ordinal()][square] = sign
+						* (getEndgameMaterial(piece.getType()) + getEndgameTable(piece.getType())[tableIndex]);
+			}
+			PHASE_WEIGHTS[piece.ordinal()] = getPhaseWeight(piece.getType());
+		}
+	}
+
+	private PieceSquareTables() {
+	}
+
+	/**
+	 * Gets middlegame value of the piece on given square
+	 *
+	 * @param piece
+	 *            chess piece
+	 * @param square
+	 *            square index
+	 * @return value in centipawns, negative for black pieces
+	 */
+	public static int getMiddlegameValue(Piece piece, int square) {
+		return MIDDLEGAME_VALUES[piece.ordinal()][square];
+	}
+
+	/**
+	 * Gets endgame value of the piece on given square
+	 *
+	 * @param piece
+	 *            chess piece
+	 * @param square
+	 *            square index
+	 * @return value in centipawns, negative for black pieces
+	 */
+	public static int getEndgameValue(Piece piece, int square) {
+		return ENDGAME_VALUES[piece.ordinal()][square];
+	}
+
+	/**
+	 * Gets material value of the piece type, shared by the middlegame
+	 * evaluation, static exchange evaluation and ordering of captures
+	 *
+	 * @param type
+	 *            type of the piece
+	 * @return value in centipawns, kings are worth more than all other pieces
+	 *         together
+	 */
+	public static int getPieceValue(PieceType type) {
+		return PIECE_VALUES[type.ordinal()];
+	}
+
+	public static int getPhaseWeight(Piece piece) {
+		return PHASE_WEIGHTS[piece.ordinal()];
+	}
+
+	/**
+	 * Blends middlegame and endgame scores according to the game phase
+	 *
+	 * @param middlegameScore
+	 *            middlegame score
+	 * @param endgameScore
+	 *            endgame score
+	 * @param phase
+	 *            game phase, values above {@link #MAX_PHASE} (after
+	 *            promotions) count as {@link #MAX_PHASE}
+	 * @return tapered score
+	 */
+	public static int taper(int middlegameScore, int endgameScore, int phase) {
+		int middlegamePhase = Math.min(phase, MAX_PHASE);
+		return (middlegameScore * middlegamePhase + endgameScore * (MAX_PHASE - middlegamePhase)) / MAX_PHASE;
+	}
+
+	private static int getMiddlegameMaterial(PieceType type) {
+		// both kings are always on the board
+		return type == PieceType.KING ? 0 : getPieceValue(type);
+	}
+
+	private static int getEndgameMaterial(PieceType type) {
+		switch (type) {
+		case PAWN:
+			return 120;
+		case KNIGHT:
+			return 300;
+		case BISHOP:
+			return 320;
+		case ROOK:
+			return 530;
+		case QUEEN:
+			return 950;
+		default:
+			return 0;
+		}
+	}
+
+	private static int[] getMiddlegameTable(PieceType type) {
+		switch (type) {
+		case PAWN:
+			return PAWN_TABLE;
+		case KNIGHT:
+			return KNIGHT_TABLE;
+		case BISHOP:
+			return BISHOP_TABLE;
+		case ROOK:
+			return ROOK_TABLE;
+		case QUEEN:
+			return QUEEN_TABLE;
+		default:
+			return KING_TABLE;
+		}
+	}
+
+	private static int[] getEndgameTable(PieceType type) {
+		switch (type) {
+		case PAWN:
+			return PAWN_ENDGAME_TABLE;
+		case KING:
+			return KING_ENDGAME_TABLE;
+		default:
+			return getMiddlegameTable(type);
+		}
+	}
+
+	private static int getPhaseWeight(PieceType type) {
+		switch (type) {
+		case KNIGHT:
+		case BISHOP:
+			return 1;
+		case ROOK:
+			return 2;
+		case QUEEN:
+			return 4;
+		default:
+			return 0;
+		}
+	}
+}
@@ -9,36 +9,34 @@ public class QueenMovesValidator implements MoveValidation {
 	Color nextMoveColor;
 	RookMovesValidator firstValidator;
 	BishopMovesValidator secondValidator;
-	Move moveToBeReturn;
+
 	public QueenMovesValidator(Board board) {
 		this.board = board;
 		this.firstValidator = new RookMovesValidator(this.board);
 		this.secondValidator = new BishopMovesValidator(this.board);
 	}
-	
+
 	@Override
 	public boolean isMovePosible(Coordinate from, Coordinate to) throws InvalidMoveException {
-		boolean rookMove;
-		try{
-		 rookMove = firstValidator.isMovePosible(from, to);
-		} catch (InvalidMoveException e) {
-			rookMove = false;
-		}
-		
-		
-		if (rookMove) {
-			moveToBeReturn = firstValidator.returnLegalMove(from, to);
+		int fromSquare = Bitboards.square(from);
+		int toSquare = Bitboards.square(to);
+		long occupied = this.board.getOccupiedBitboard();
+		if ((Bitboards.canRookReach(fromSquare, toSquare, occupied)
+				|| Bitboards.canBishopReach(fromSquare, toSquare, occupied))
+				&& (this.board.getColorBitboard(nextMoveColor) & Bitboards.bit(toSquare)) == 0) {
 			return true;
-		} else if (secondValidator.isMovePosible(from, to)) {
-			moveToBeReturn = secondValidator.returnLegalMove(from, to);
-		return true;
-		} throw new InvalidMoveException();
-	} 
+		}
+		throw new InvalidMoveException();
+	}
+
+	@Override
+	public long calculateTargets(int from) {
+		return firstValidator.calculateTargets(from) | secondValidator.calculateTargets(from);
+	}
 
 	@Override
 	public Move returnLegalMove(Coordinate from, Coordinate to) throws InvalidMoveException {
-		// TODO Auto-generated method stub
-		return moveToBeReturn;
+		return firstValidator.returnLegalMove(from, to);
 	}
 
 	@Override
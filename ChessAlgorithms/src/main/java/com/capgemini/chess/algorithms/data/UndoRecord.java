@@ -0,0 +1,79 @@
+package com.capgemini.chess.algorithms.data;
+
+import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.data.generated.Board;
+
+/**
+ * State needed to take a move back, packed into a single <code>long</code>.
+ * Bits 0-15 hold the {@link PackedMove}, bits 16-19 the moved piece, bits
+ * 20-23 the captured piece, bits 24-27 the castling rights before the move and
+ * bits 28-34 the en passant square before the move. Pieces are stored as
+ * ordinal + 1, so 0 means no piece.
+ *
+ */
+public final class UndoRecord {
+
+	private static final int MOVE_MASK = 0xFFFF;
+	private static final int PIECE_MASK = 0xF;
+	private static final int SQUARE_MASK = 0x7F;
+	private static final int MOVED_PIECE_SHIFT = 16;
+	private static final int CAPTURED_PIECE_SHIFT = 20;
+	private static final int CASTLING_SHIFT = 24;
+	private static final int EN_PASSANT_SHIFT = 28;
+
+	private static final Piece[] PIECES = Piece.values();
+
+	private UndoRecord() {
+	}
+
+	/**
+	 * Packs undo record into a long
+	 *
+	 * @param move
+	 *            packed move
+	 * @param movedPiece
+	 *            piece performing the move
+	 * @param capturedPiece
+	 *            captured piece, null if none
+	 * @param castlingRights
+	 *            castling rights before the move
+	 * @param enPassantSquare
+	 *            en passant square before the move
+	 * @return packed undo record
+	 */
+	public static long pack(int move, Piece movedPiece, Piece capturedPiece, int castlingRights,
+			int enPassantSquare) {
+		return (move & MOVE_MASK) | ((long) pieceIndex(movedPiece) << MOVED_PIECE_SHIFT)
+				| ((long) pieceIndex(capturedPiece) << CAPTURED_PIECE_SHIFT)
+				| ((long) castlingRights << CASTLING_SHIFT)
+				| ((long) (enPassantSquare - Board.NO_EN_PASSANT) << EN_PASSANT_SHIFT);
+	}
+
+	public static int getMove(long undoRecord) {
+		return (int) undoRecord & MOVE_MASK;
+	}
+
+	public static Piece getMovedPiece(long undoRecord) {
+		return toPiece((int) (undoRecord >>> MOVED_PIECE_SHIFT) & PIECE_MASK);
+	}
+
+	public static Piece getCapturedPiece(long undoRecord) {
+		return toPiece((int) (undoRecord >>> CAPTURED_PIECE_SHIFT) & PIECE_MASK);
+	}
+
+	public static int getCastlingRights(long undoRecord) {
+		return (int) (undoRecord >>> CASTLING_SHIFT) & Board.ALL_CASTLINGS;
+	}
+
+	public static int getEnPassantSquare(long undoRecord) {
+		return ((int) (undoRecord >>> EN_PASSANT_SHIFT) & SQUARE_MASK) + Board.NO_EN_PASSANT;
+	}
+
+	private static int pieceIndex(Piece piece) {
+		return piece == null ? 0 : piece.ordinal() + 1;
+	}
+
+	private static Piece toPiece(int index) {
+		return index == 0 ? null : PIECES[index - 1];
+	}
+}
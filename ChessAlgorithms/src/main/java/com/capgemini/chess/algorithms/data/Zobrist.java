@@ -0,0 +1,65 @@
+package com.capgemini.chess.algorithms.data;
+
+import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.data.generated.Board;
+
+/**
+ * Random keys for Zobrist hashing of positions. The key of a position is the
+ * XOR of keys of all pieces on their squares, of the castling rights, of the
+ * en passant file (only when the capture is possible) and of the side to
+ * move. Keys are generated from a fixed seed, so they are the same in every
+ * run.
+ *
+ */
+public final class Zobrist {
+
+	private static final int SQUARES = Board.SIZE * Board.SIZE;
+
+	private static final long[] PIECE_KEYS = new long[Piece.values().length * SQUARES];
+	private static final long[] CASTLING_KEYS = new long[Board.ALL_CASTLINGS + 1];
+	private static final long[] EN_PASSANT_KEYS = new long[Board.SIZE];
+	private static final long BLACK_TO_MOVE_KEY;
+
+	private static long seed = 0x2545F4914F6CDD1DL;
+
+	static {
+		for (int i = 0; i < PIECE_KEYS.length; i++) {
+			PIECE_KEYS[i] = nextKey();
+		}
+		for (int i = 0; i < CASTLING_KEYS.length; i++) {
+			CASTLING_KEYS[i] = nextKey();
+		}
+		for (int i = 0; i < EN_PASSANT_KEYS.length; i++) {
+			EN_PASSANT_KEYS[i] = nextKey();
+		}
+		BLACK_TO_MOVE_KEY = nextKey();
+	}
+
+	private Zobrist() {
+	}
+
+	public static long getPieceKey(Piece piece, int square) {
+		return PIECE_KEYS[piece.ordinal() * SQUARES + square];
+	}
+
+	public static long getCastlingKey(int castlingRights) {
+		return CASTLING_KEYS[castlingRights];
+	}
+
+	public static long getEnPassantKey(int enPassantSquare) {
+		return EN_PASSANT_KEYS[Bitboards.getX(enPassantSquare)];
+	}
+
+	public static long getBlackToMoveKey() {
+		return BLACK_TO_MOVE_KEY;
+	}
+
+	// SplitMix64 generator
+	private static long nextKey() {
+		seed += 0x9E3779B97F4A7C15L;
+		long key = seed;
+		key = (key ^ (key >>> 30)) * 0xBF58476D1CE4E5B9L;
+		key = (key ^ (key >>> 27)) * 0x94D049BB133111EBL;
+		return key ^ (key >>> 31);
+	}
+}
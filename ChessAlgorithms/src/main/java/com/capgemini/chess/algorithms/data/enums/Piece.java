@@ -21,6 +21,14 @@ public enum Piece {
     BLACK_ROOK(PieceType.ROOK, Color.BLACK),
     BLACK_PAWN(PieceType.PAWN, Color.BLACK);
 	
+    private static final Piece[][] PIECES_BY_TYPE_AND_COLOR = new Piece[PieceType.values().length][Color.values().length];
+
+	static {
+		for (Piece piece : Piece.values()) {
+			PIECES_BY_TYPE_AND_COLOR[piece.getType().ordinal()][piece.getColor().ordinal()] = piece;
+		}
+	}
+
     private final PieceType type;
     private final Color color;
 
@@ -36,4 +44,8 @@ public enum Piece {
 	public Color getColor() {
 		return color;
 	}
+
+	public static Piece getPieceByTypeAndColor(PieceType type, Color color) {
+		return PIECES_BY_TYPE_AND_COLOR[type.ordinal()][color.ordinal()];
+	}
 }
@@ -1,15 +1,35 @@
 package com.capgemini.chess.algorithms.data.generated;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.LongBuffer;
+import java.util.Arrays;
 
+import com.capgemini.chess.algorithms.data.Bitboards;
 import com.capgemini.chess.algorithms.data.Coordinate;
-import com.capgemini.chess.algorithms.data.Move;
+import com.capgemini.chess.algorithms.data.MoveHistory;
+import com.capgemini.chess.algorithms.data.PieceSquareTables;
+import com.capgemini.chess.algorithms.data.Zobrist;
 import com.capgemini.chess.algorithms.data.enums.BoardState;
+import com.capgemini.chess.algorithms.data.enums.Color;
+import com.capgemini.chess.algorithms.data.enums.MoveType;
 import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.data.enums.PieceType;
 
 /**
  * Board representation. Board objects are generated based on move history.
+ * Next to the piece array the board keeps one bitboard per piece and one
+ * occupancy bitboard per color, both updated by
+ * {@link #setPieceAt(Piece, int)}. The Zobrist key of the position is updated
+ * incrementally as well, next to a key of pawns only. Keys of positions
+ * reached by the recorded moves are kept in a <code>long</code> array, the
+ * moves themselves in a
+ * {@link MoveHistory} of packed <code>int</code> entries. King positions and
+ * square lists of pieces of each color are cached, so they do not require a
+ * board scan. Middlegame and endgame scores from {@link PieceSquareTables}
+ * and the game phase are summed up as pieces are set.
+ * <p>
+ * The side to move follows from the number of recorded moves and the ply of
+ * the position before the first of them, which is not 0 for boards set up
+ * from a FEN record with black to move or a later move number.
  * 
  * @author Michal Bejm
  *
@@ -18,16 +38,59 @@ public class Board {
 
 	public static final int SIZE = 8;
 
+	public static final int WHITE_KING_SIDE_CASTLING = 1;
+	public static final int WHITE_QUEEN_SIDE_CASTLING = 2;
+	public static final int BLACK_KING_SIDE_CASTLING = 4;
+	public static final int BLACK_QUEEN_SIDE_CASTLING = 8;
+	public static final int ALL_CASTLINGS = 15;
+	public static final int NO_EN_PASSANT = -1;
+	public static final int NO_SQUARE = -1;
+
+	private static final int INITIAL_HISTORY_CAPACITY = 128;
+	private static final Piece[] PIECES = Piece.values();
+
 	private Piece[][] pieces = new Piece[SIZE][SIZE];
-	private List<Move> moveHistory = new ArrayList<>();
+	private long[] pieceBitboards = new long[Piece.values().length];
+	private long[] colorBitboards = new long[Color.values().length];
+	private int[] kingSquares = { NO_SQUARE, NO_SQUARE };
+	private int[][] pieceSquares = new int[Color.values().length][SIZE * SIZE];
+	private int[] pieceCounts = new int[Color.values().length];
+	private int[] pieceListIndexes = new int[SIZE * SIZE];
+	private MoveHistory moveHistory = new MoveHistory();
 	private BoardState state;
+	private int castlingRights = ALL_CASTLINGS;
+	private int enPassantSquare = NO_EN_PASSANT;
+	private int initialPly;
+	private int initialHalfmoveClock;
+	private long zobristKey = Zobrist.getCastlingKey(ALL_CASTLINGS);
+	private long pawnKey;
+	private int middlegameScore;
+	private int endgameScore;
+	private int phase;
+	private long[] positionKeys = new long[INITIAL_HISTORY_CAPACITY];
+	private int positionCount;
+	private long[] undoRecords = new long[INITIAL_HISTORY_CAPACITY];
+	private int undoCount;
 
 	public Board() {
 	}
 
 	public Board(Board board) {
-		this.moveHistory = board.getMoveHistory();
+		this.moveHistory = new MoveHistory(board.getMoveHistory());
 		this.state = board.getState();
+		this.castlingRights = board.getCastlingRights();
+		this.enPassantSquare = board.getEnPassantSquare();
+		this.initialPly = board.initialPly;
+		this.initialHalfmoveClock = board.initialHalfmoveClock;
+		this.zobristKey = board.zobristKey;
+		this.pawnKey = board.pawnKey;
+		this.middlegameScore = board.middlegameScore;
+		this.endgameScore = board.endgameScore;
+		this.phase = board.phase;
+		this.positionKeys = Arrays.copyOf(board.positionKeys, board.positionKeys.length);
+		this.positionCount = board.positionCount;
+		this.undoRecords = Arrays.copyOf(board.undoRecords, board.undoRecords.length);
+		this.undoCount = board.undoCount;
 		Piece[][] previousBoard = board.getPieces();
 		for (int i = 0; i < previousBoard.length; i++) {
 			for (int j = 0; j < previousBoard.length; j++) {
@@ -36,10 +99,17 @@ public class Board {
 			}
 
 		}
-
+		System.arraycopy(board.pieceBitboards, 0, pieceBitboards, 0, pieceBitboards.length);
+		System.arraycopy(board.colorBitboards, 0, colorBitboards, 0, colorBitboards.length);
+		System.arraycopy(board.kingSquares, 0, kingSquares, 0, kingSquares.length);
+		System.arraycopy(board.pieceCounts, 0, pieceCounts, 0, pieceCounts.length);
+		System.arraycopy(board.pieceListIndexes, 0, pieceListIndexes, 0, pieceListIndexes.length);
+		for (int i = 0; i < pieceSquares.length; i++) {
+			System.arraycopy(board.pieceSquares[i], 0, pieceSquares[i], 0, pieceCounts[i]);
+		}
 	}
 
-	public List<Move> getMoveHistory() {
+	public MoveHistory getMoveHistory() {
 		return moveHistory;
 	}
 
@@ -55,6 +125,307 @@ public class Board {
 		this.state = state;
 	}
 
+	/**
+	 * Castlings which are still allowed, combination of the
+	 * <code>*_CASTLING</code> flags. A flag is cleared as soon as the king or
+	 * the rook leaves its initial field.
+	 * 
+	 * @return castling rights
+	 */
+	public int getCastlingRights() {
+		return castlingRights;
+	}
+
+	public void setCastlingRights(int castlingRights) {
+		zobristKey ^= Zobrist.getCastlingKey(this.castlingRights) ^ Zobrist.getCastlingKey(castlingRights);
+		this.castlingRights = castlingRights;
+	}
+
+	/**
+	 * Square which can be captured en passant, i.e. the field skipped by a
+	 * pawn in the last move.
+	 * 
+	 * @return square index or {@link #NO_EN_PASSANT}
+	 */
+	public int getEnPassantSquare() {
+		return enPassantSquare;
+	}
+
+	public void setEnPassantSquare(int enPassantSquare) {
+		this.enPassantSquare = enPassantSquare;
+	}
+
+	/**
+	 * Gets Zobrist key of the position: pieces, castling rights, en passant
+	 * file if the capture is possible and the side to move.
+	 * 
+	 * @return position key
+	 */
+	public long getZobristKey() {
+		long key = zobristKey;
+		boolean whiteToMove = getSideToMove() == Color.WHITE;
+		if (!whiteToMove) {
+			key ^= Zobrist.getBlackToMoveKey();
+		}
+		if (enPassantSquare != NO_EN_PASSANT) {
+			Piece capturingPawn = whiteToMove ? Piece.WHITE_PAWN : Piece.BLACK_PAWN;
+			Color capturedColor = whiteToMove ? Color.BLACK : Color.WHITE;
+			if ((Bitboards.pawnAttacks(enPassantSquare, capturedColor) & getPieceBitboard(capturingPawn)) != 0) {
+				key ^= Zobrist.getEnPassantKey(enPassantSquare);
+			}
+		}
+		return key;
+	}
+
+	/**
+	 * Gets color of the side to move
+	 * 
+	 * @return color of the side to move
+	 */
+	public Color getSideToMove() {
+		return (initialPly + moveHistory.size()) % 2 == 0 ? Color.WHITE : Color.BLACK;
+	}
+
+	/**
+	 * Ply of the position before the first recorded move, counted from 0 for
+	 * white's first move
+	 * 
+	 * @return initial ply
+	 */
+	public int getInitialPly() {
+		return initialPly;
+	}
+
+	public void setInitialPly(int initialPly) {
+		this.initialPly = initialPly;
+	}
+
+	/**
+	 * Number of plies without a capture or a pawn move before the first
+	 * recorded move
+	 * 
+	 * @return initial halfmove clock
+	 */
+	public int getInitialHalfmoveClock() {
+		return initialHalfmoveClock;
+	}
+
+	public void setInitialHalfmoveClock(int initialHalfmoveClock) {
+		this.initialHalfmoveClock = initialHalfmoveClock;
+	}
+
+	/**
+	 * Gets number of plies since the last capture or pawn move, as in the
+	 * 50-move rule
+	 * 
+	 * @return halfmove clock
+	 */
+	public int getHalfmoveClock() {
+		int clock = 0;
+		for (int i = moveHistory.size() - 1; i >= 0; i--) {
+			Piece movedPiece = moveHistory.getMovedPiece(i);
+			if (moveHistory.getType(i) != MoveType.ATTACK
+					|| (movedPiece != null && movedPiece.getType() == PieceType.PAWN)) {
+				return clock;
+			}
+			clock++;
+		}
+		return clock + initialHalfmoveClock;
+	}
+
+	/**
+	 * Gets number of the current move, starting at 1 and incremented after
+	 * each black move
+	 * 
+	 * @return fullmove number
+	 */
+	public int getFullmoveNumber() {
+		return (initialPly + moveHistory.size()) / 2 + 1;
+	}
+
+	/**
+	 * Removes all pieces and recorded moves and restores the initial state
+	 * of an empty board, without allocation. Only fields of the piece lists
+	 * are visited, the incremental keys and scores are reset directly.
+	 */
+	public void clear() {
+		for (int color = 0; color < pieceCounts.length; color++) {
+			for (int i = 0; i < pieceCounts[color]; i++) {
+				int square = pieceSquares[color][i];
+				pieces[Bitboards.getX(square)][Bitboards.getY(square)] = null;
+			}
+			pieceCounts[color] = 0;
+			kingSquares[color] = NO_SQUARE;
+		}
+		Arrays.fill(pieceBitboards, 0L);
+		Arrays.fill(colorBitboards, 0L);
+		zobristKey = Zobrist.getCastlingKey(ALL_CASTLINGS);
+		pawnKey = 0L;
+		middlegameScore = 0;
+		endgameScore = 0;
+		phase = 0;
+		moveHistory.clear();
+		state = null;
+		castlingRights = ALL_CASTLINGS;
+		enPassantSquare = NO_EN_PASSANT;
+		initialPly = 0;
+		initialHalfmoveClock = 0;
+		positionCount = 0;
+		undoCount = 0;
+	}
+
+	/**
+	 * Gets Zobrist key of pawns only, it changes only when a pawn moves, is
+	 * captured or promoted
+	 * 
+	 * @return pawn structure key
+	 */
+	public long getPawnKey() {
+		return pawnKey;
+	}
+
+	/**
+	 * Gets middlegame score of pieces on the board, see
+	 * {@link PieceSquareTables}
+	 * 
+	 * @return score in centipawns, positive if white is better
+	 */
+	public int getMiddlegameScore() {
+		return middlegameScore;
+	}
+
+	/**
+	 * Gets endgame score of pieces on the board, see
+	 * {@link PieceSquareTables}
+	 * 
+	 * @return score in centipawns, positive if white is better
+	 */
+	public int getEndgameScore() {
+		return endgameScore;
+	}
+
+	public int getPhase() {
+		return phase;
+	}
+
+	/**
+	 * Records key of the current position in position history
+	 */
+	public void addPositionKey() {
+		addPositionKey(getZobristKey());
+	}
+
+	/**
+	 * Records given key in position history, e.g. when a board is restored
+	 * 
+	 * @param positionKey
+	 *            position key
+	 */
+	public void addPositionKey(long positionKey) {
+		if (positionCount == positionKeys.length) {
+			positionKeys = Arrays.copyOf(positionKeys, positionKeys.length * 2);
+		}
+		positionKeys[positionCount++] = positionKey;
+	}
+
+	/**
+	 * Records keys read from a buffer in position history at once, e.g. when
+	 * a board is restored
+	 * 
+	 * @param positionKeys
+	 *            buffer of keys, its position is moved after the last one
+	 * @param count
+	 *            number of keys
+	 */
+	public void addPositionKeys(LongBuffer positionKeys, int count) {
+		if (positionCount + count > this.positionKeys.length) {
+			this.positionKeys = Arrays.copyOf(this.positionKeys,
+					Math.max(positionCount + count, this.positionKeys.length * 2));
+		}
+		positionKeys.get(this.positionKeys, positionCount, count);
+		positionCount += count;
+	}
+
+	/**
+	 * Gets recorded position key
+	 * 
+	 * @param index
+	 *            index in position history, from 0 to
+	 *            {@link #getPositionCount()} - 1
+	 * @return position key
+	 */
+	public long getPositionKey(int index) {
+		return positionKeys[index];
+	}
+
+	public int getPositionCount() {
+		return positionCount;
+	}
+
+	/**
+	 * Removes the last recorded position key
+	 */
+	public void removePositionKey() {
+		positionCount--;
+	}
+
+	/**
+	 * Stores undo record of a move, see
+	 * {@link com.capgemini.chess.algorithms.data.UndoRecord}
+	 * 
+	 * @param undoRecord
+	 *            packed undo record
+	 */
+	public void pushUndoRecord(long undoRecord) {
+		if (undoCount == undoRecords.length) {
+			undoRecords = Arrays.copyOf(undoRecords, undoRecords.length * 2);
+		}
+		undoRecords[undoCount++] = undoRecord;
+	}
+
+	/**
+	 * Stores undo records read from a buffer at once, e.g. when a board is
+	 * restored
+	 * 
+	 * @param undoRecords
+	 *            buffer of packed undo records, its position is moved after
+	 *            the last one
+	 * @param count
+	 *            number of records
+	 */
+	public void pushUndoRecords(LongBuffer undoRecords, int count) {
+		if (undoCount + count > this.undoRecords.length) {
+			this.undoRecords = Arrays.copyOf(this.undoRecords,
+					Math.max(undoCount + count, this.undoRecords.length * 2));
+		}
+		undoRecords.get(this.undoRecords, undoCount, count);
+		undoCount += count;
+	}
+
+	/**
+	 * Removes and returns undo record of the last move
+	 * 
+	 * @return packed undo record
+	 */
+	public long popUndoRecord() {
+		return undoRecords[--undoCount];
+	}
+
+	/**
+	 * Gets stored undo record
+	 * 
+	 * @param index
+	 *            index from 0 (first move) to {@link #getUndoCount()} - 1
+	 * @return packed undo record
+	 */
+	public long getUndoRecord(int index) {
+		return undoRecords[index];
+	}
+
+	public int getUndoCount() {
+		return undoCount;
+	}
+
 	/**
 	 * Sets chess piece on board based on given coordinates
 	 * 
@@ -66,7 +437,131 @@ public class Board {
 	 *            given coordinates
 	 */
 	public void setPieceAt(Piece piece, Coordinate coordinate) {
-		pieces[coordinate.getX()][coordinate.getY()] = piece;
+		setPieceAt(piece, Bitboards.square(coordinate));
+	}
+
+	/**
+	 * Sets chess piece on board based on given square index
+	 * 
+	 * @param piece
+	 *            chess piece, null to clear the field
+	 * @param square
+	 *            square index (see {@link Bitboards#square(int, int)})
+	 */
+	public void setPieceAt(Piece piece, int square) {
+		int x = Bitboards.getX(square);
+		int y = Bitboards.getY(square);
+		long field = Bitboards.bit(square);
+		Piece previousPiece = pieces[x][y];
+		if (previousPiece != null) {
+			pieceBitboards[previousPiece.ordinal()] &= ~field;
+			colorBitboards[previousPiece.getColor().ordinal()] &= ~field;
+			zobristKey ^= Zobrist.getPieceKey(previousPiece, square);
+			if (previousPiece.getType() == PieceType.PAWN) {
+				pawnKey ^= Zobrist.getPieceKey(previousPiece, square);
+			}
+			middlegameScore -= PieceSquareTables.getMiddlegameValue(previousPiece, square);
+			endgameScore -= PieceSquareTables.getEndgameValue(previousPiece, square);
+			phase -= PieceSquareTables.getPhaseWeight(previousPiece);
+			removeFromPieceList(previousPiece, square);
+		}
+		pieces[x][y] = piece;
+		if (piece != null) {
+			pieceBitboards[piece.ordinal()] |= field;
+			colorBitboards[piece.getColor().ordinal()] |= field;
+			zobristKey ^= Zobrist.getPieceKey(piece, square);
+			if (piece.getType() == PieceType.PAWN) {
+				pawnKey ^= Zobrist.getPieceKey(piece, square);
+			}
+			middlegameScore += PieceSquareTables.getMiddlegameValue(piece, square);
+			endgameScore += PieceSquareTables.getEndgameValue(piece, square);
+			phase += PieceSquareTables.getPhaseWeight(piece);
+			addToPieceList(piece, square);
+		}
+	}
+
+	/**
+	 * Replaces all pieces of the board at once, e.g. when a position is
+	 * restored. Bitboards, the piece array and the piece lists are filled
+	 * directly and the keys and scores are computed in one pass, instead of
+	 * being updated piece by piece as in {@link #setPieceAt(Piece, int)}.
+	 * Recorded moves and the state of the board are not changed.
+	 * 
+	 * @param bitboards
+	 *            bitboard of each piece, indexed by {@link Piece#ordinal()},
+	 *            no field may be occupied by two pieces
+	 */
+	public void setPieces(long[] bitboards) {
+		for (int color = 0; color < pieceCounts.length; color++) {
+			for (int i = 0; i < pieceCounts[color]; i++) {
+				int square = pieceSquares[color][i];
+				pieces[Bitboards.getX(square)][Bitboards.getY(square)] = null;
+			}
+			pieceCounts[color] = 0;
+			kingSquares[color] = NO_SQUARE;
+			colorBitboards[color] = 0L;
+		}
+		long key = Zobrist.getCastlingKey(castlingRights);
+		long pawns = 0L;
+		int middlegame = 0;
+		int endgame = 0;
+		int weight = 0;
+		for (Piece piece : PIECES) {
+			long bitboard = bitboards[piece.ordinal()];
+			pieceBitboards[piece.ordinal()] = bitboard;
+			colorBitboards[piece.getColor().ordinal()] |= bitboard;
+			weight += PieceSquareTables.getPhaseWeight(piece) * Long.bitCount(bitboard);
+			if (piece.getType() == PieceType.KING && bitboard != 0) {
+				kingSquares[piece.getColor().ordinal()] = Long.numberOfTrailingZeros(bitboard);
+			}
+			boolean pawn = piece.getType() == PieceType.PAWN;
+			for (; bitboard != 0; bitboard &= bitboard - 1) {
+				int square = Long.numberOfTrailingZeros(bitboard);
+				pieces[Bitboards.getX(square)][Bitboards.getY(square)] = piece;
+				long pieceKey = Zobrist.getPieceKey(piece, square);
+				key ^= pieceKey;
+				if (pawn) {
+					pawns ^= pieceKey;
+				}
+				middlegame += PieceSquareTables.getMiddlegameValue(piece, square);
+				endgame += PieceSquareTables.getEndgameValue(piece, square);
+			}
+		}
+		zobristKey = key;
+		pawnKey = pawns;
+		middlegameScore = middlegame;
+		endgameScore = endgame;
+		phase = weight;
+		// piece lists in square order, as if the pieces were set one by one
+		for (int color = 0; color < pieceCounts.length; color++) {
+			int count = 0;
+			for (long bitboard = colorBitboards[color]; bitboard != 0; bitboard &= bitboard - 1) {
+				int square = Long.numberOfTrailingZeros(bitboard);
+				pieceListIndexes[square] = count;
+				pieceSquares[color][count++] = square;
+			}
+			pieceCounts[color] = count;
+		}
+	}
+
+	private void addToPieceList(Piece piece, int square) {
+		int color = piece.getColor().ordinal();
+		pieceListIndexes[square] = pieceCounts[color];
+		pieceSquares[color][pieceCounts[color]++] = square;
+		if (piece.getType() == PieceType.KING) {
+			kingSquares[color] = square;
+		}
+	}
+
+	private void removeFromPieceList(Piece piece, int square) {
+		int color = piece.getColor().ordinal();
+		int lastSquare = pieceSquares[color][--pieceCounts[color]];
+		pieceSquares[color][pieceListIndexes[square]] = lastSquare;
+		pieceListIndexes[lastSquare] = pieceListIndexes[square];
+		if (kingSquares[color] == square) {
+			long kings = pieceBitboards[piece.ordinal()];
+			kingSquares[color] = kings != 0 ? Long.numberOfTrailingZeros(kings) : NO_SQUARE;
+		}
 	}
 
 	/**
@@ -79,4 +574,83 @@ public class Board {
 	public Piece getPieceAt(Coordinate coordinate) {
 		return pieces[coordinate.getX()][coordinate.getY()];
 	}
+
+	/**
+	 * Gets chess piece from board based on given square index
+	 * 
+	 * @param square
+	 *            square index (see {@link Bitboards#square(int, int)})
+	 * @return chess piece
+	 */
+	public Piece getPieceAt(int square) {
+		return pieces[Bitboards.getX(square)][Bitboards.getY(square)];
+	}
+
+	/**
+	 * Gets bitboard of all fields occupied by given piece
+	 * 
+	 * @param piece
+	 *            chess piece
+	 * @return bitboard of the piece
+	 */
+	public long getPieceBitboard(Piece piece) {
+		return pieceBitboards[piece.ordinal()];
+	}
+
+	/**
+	 * Gets bitboard of all fields occupied by pieces of given color
+	 * 
+	 * @param color
+	 *            pieces color
+	 * @return occupancy bitboard of the color
+	 */
+	public long getColorBitboard(Color color) {
+		return colorBitboards[color.ordinal()];
+	}
+
+	/**
+	 * Gets position of the king of given color
+	 * 
+	 * @param color
+	 *            king color
+	 * @return square index of the king or {@link #NO_SQUARE} if there is no
+	 *         king on the board
+	 */
+	public int getKingSquare(Color color) {
+		return kingSquares[color.ordinal()];
+	}
+
+	/**
+	 * Gets number of pieces of given color on the board
+	 * 
+	 * @param color
+	 *            pieces color
+	 * @return number of pieces
+	 */
+	public int getPieceCount(Color color) {
+		return pieceCounts[color.ordinal()];
+	}
+
+	/**
+	 * Gets position of a piece from the piece list of given color. The order
+	 * of the list changes when pieces are moved.
+	 * 
+	 * @param color
+	 *            pieces color
+	 * @param index
+	 *            index in the list, from 0 to {@link #getPieceCount(Color)} - 1
+	 * @return square index of the piece
+	 */
+	public int getPieceSquare(Color color, int index) {
+		return pieceSquares[color.ordinal()][index];
+	}
+
+	/**
+	 * Gets bitboard of all occupied fields
+	 * 
+	 * @return occupancy bitboard
+	 */
+	public long getOccupiedBitboard() {
+		return colorBitboards[Color.WHITE.ordinal()] | colorBitboards[Color.BLACK.ordinal()];
+	}
 }
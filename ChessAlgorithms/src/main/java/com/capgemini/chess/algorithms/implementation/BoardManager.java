@@ -5,15 +5,20 @@ import java.util.Arrays;
 import java.util.List;
 
 import com.capgemini.chess.algorithms.data.BishopMovesValidator;
+import com.capgemini.chess.algorithms.data.Bitboards;
 import com.capgemini.chess.algorithms.data.Coordinate;
 import com.capgemini.chess.algorithms.data.KingMovesValidator;
 import com.capgemini.chess.algorithms.data.KnightMovesValidator;
 import com.capgemini.chess.algorithms.data.Move;
+import com.capgemini.chess.algorithms.data.MoveHistory;
 import com.capgemini.chess.algorithms.data.MoveValidation;
+import com.capgemini.chess.algorithms.data.PackedMove;
 import com.capgemini.chess.algorithms.data.PawnMovesValidator;
 import com.capgemini.chess.algorithms.data.PieceCoordinate;
+import com.capgemini.chess.algorithms.data.PieceSquareTables;
 import com.capgemini.chess.algorithms.data.QueenMovesValidator;
 import com.capgemini.chess.algorithms.data.RookMovesValidator;
+import com.capgemini.chess.algorithms.data.UndoRecord;
 import com.capgemini.chess.algorithms.data.enums.BoardState;
 import com.capgemini.chess.algorithms.data.enums.Color;
 import com.capgemini.chess.algorithms.data.enums.MoveType;
@@ -22,6 +27,7 @@ import com.capgemini.chess.algorithms.data.enums.PieceType;
 import com.capgemini.chess.algorithms.data.generated.Board;
 import com.capgemini.chess.algorithms.implementation.exceptions.InvalidMoveException;
 import com.capgemini.chess.algorithms.implementation.exceptions.KingInCheckException;
+import com.capgemini.chess.algorithms.tablebase.Tablebase;
 
 /**
  * Class for managing of basic operations on the Chess Board.
@@ -31,8 +37,59 @@ import com.capgemini.chess.algorithms.implementation.exceptions.KingInCheckExcep
  */
 public class BoardManager {
 
+	/**
+	 * Capacity of move buffers passed to
+	 * {@link #generateLegalMoves(Color, int[])}, no chess position has more
+	 * legal moves
+	 */
+	public static final int MAX_MOVES = 256;
+
+	private static final PieceType[] PROMOTIONS = { PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP,
+			PieceType.KNIGHT };
+
+	private static final int[] CASTLING_RIGHTS_MASKS = new int[Board.SIZE * Board.SIZE];
+
+	private static final PieceType[] EXCHANGE_ORDER = { PieceType.PAWN, PieceType.KNIGHT, PieceType.BISHOP,
+			PieceType.ROOK, PieceType.QUEEN, PieceType.KING };
+	private static final int MAX_EXCHANGES = 32;
+
+	static {
+		Arrays.fill(CASTLING_RIGHTS_MASKS, Board.ALL_CASTLINGS);
+		CASTLING_RIGHTS_MASKS[Bitboards.square(0, 0)] = ~Board.WHITE_QUEEN_SIDE_CASTLING;
+		CASTLING_RIGHTS_MASKS[Bitboards.square(4, 0)] = ~(Board.WHITE_KING_SIDE_CASTLING
+				| Board.WHITE_QUEEN_SIDE_CASTLING);
+		CASTLING_RIGHTS_MASKS[Bitboards.square(7, 0)] = ~Board.WHITE_KING_SIDE_CASTLING;
+		CASTLING_RIGHTS_MASKS[Bitboards.square(0, 7)] = ~Board.BLACK_QUEEN_SIDE_CASTLING;
+		CASTLING_RIGHTS_MASKS[Bitboards.square(4, 7)] = ~(Board.BLACK_KING_SIDE_CASTLING
+				| Board.BLACK_QUEEN_SIDE_CASTLING);
+		CASTLING_RIGHTS_MASKS[Bitboards.square(7, 7)] = ~Board.BLACK_KING_SIDE_CASTLING;
+	}
+
+	/**
+	 * Receiver of moves performed on the board, e.g. a pondering search which
+	 * has to stop when the opponent moves
+	 */
+	public interface MoveListener {
+
+		/**
+		 * Called after a move was performed by
+		 * {@link BoardManager#performMove(Coordinate, Coordinate)}
+		 *
+		 * @param move
+		 *            performed move
+		 * @param board
+		 *            board after the move
+		 */
+		void movePerformed(Move move, Board board);
+	}
+
 	private Board board = new Board();
-	private Piece Piece;
+	private MoveListener moveListener;
+	private final int[] moveBuffer = new int[MAX_MOVES];
+	private final int[] exchangeGains = new int[MAX_EXCHANGES + 1];
+	private final int[] tablebasePieces = new int[Tablebase.MAX_PIECES];
+	private final int[] tablebaseSquares = new int[Tablebase.MAX_PIECES];
+	private final MoveValidation[][] moveValidations = new MoveValidation[Color.values().length][];
 
 	public BoardManager() {
 		initBoard();
@@ -76,9 +133,35 @@ public class BoardManager {
 
 		addMove(move);
 
+		MoveListener listener = this.moveListener;
+		if (listener != null) {
+			listener.movePerformed(move, this.board);
+		}
+
 		return move;
 	}
 
+	/**
+	 * Gets receiver of performed moves
+	 *
+	 * @return listener or null
+	 */
+	public MoveListener getMoveListener() {
+		return this.moveListener;
+	}
+
+	/**
+	 * Sets receiver of moves performed by
+	 * {@link #performMove(Coordinate, Coordinate)}; moves made by
+	 * {@link #makeMove(int)} are not reported
+	 *
+	 * @param moveListener
+	 *            listener or null
+	 */
+	public void setMoveListener(MoveListener moveListener) {
+		this.moveListener = moveListener;
+	}
+
 	/**
 	 * Calculates state of the chess board.
 	 *
@@ -117,24 +200,24 @@ public class BoardManager {
 	 */
 	public boolean checkThreefoldRepetitionRule() {
 
-		// there is no need to check moves that where before last capture/en
-		// passant/castling
-		int lastNonAttackMoveIndex = findLastNonAttackMoveIndex();
-		List<Move> omittedMoves = this.board.getMoveHistory().subList(0, lastNonAttackMoveIndex);
-		BoardManager simulatedBoardManager = new BoardManager(omittedMoves);
+		int positionCount = this.board.getPositionCount();
+		if (positionCount == 0) {
+			return false;
+		}
+		// there is no need to check positions before last capture/en
+		// passant/castling, only positions with the same side to move can be
+		// equal
+		int firstPositionIndex = Math.max(0, positionCount - 1 - countMovesSinceLastNonAttackMove());
+		long currentKey = this.board.getPositionKey(positionCount - 1);
 
 		int counter = 0;
-		for (int i = lastNonAttackMoveIndex; i < this.board.getMoveHistory().size(); i++) {
-			Move moveToAdd = this.board.getMoveHistory().get(i);
-			simulatedBoardManager.addMove(moveToAdd);
-			boolean areBoardsEqual = Arrays.deepEquals(this.board.getPieces(),
-					simulatedBoardManager.getBoard().getPieces());
-			if (areBoardsEqual) {
+		for (int i = positionCount - 1; i >= firstPositionIndex; i -= 2) {
+			if (this.board.getPositionKey(i) == currentKey) {
 				counter++;
 			}
 		}
 
-		return counter >= 2;
+		return counter >= 3;
 	}
 
 	/**
@@ -148,19 +231,185 @@ public class BoardManager {
 
 		// for this purpose a "move" consists of a player completing his turn
 		// followed by his opponent completing his turn
-		if (this.board.getMoveHistory().size() < 100) {
-			return false;
+		return this.board.getHalfmoveClock() >= 100;
+	}
+
+	/**
+	 * Generates all legal moves of given color. Moves are written to the
+	 * buffer packed as described in {@link PackedMove}. No exceptions are
+	 * thrown and no objects are allocated for the generated moves.
+	 *
+	 * @param color
+	 *            color of moving pieces
+	 * @param moves
+	 *            buffer for generated moves, at least {@link #MAX_MOVES} long
+	 * @return number of generated moves
+	 */
+	public int generateLegalMoves(Color color, int[] moves) {
+		return generateLegalMoves(color, -1L, -1L, moves);
+	}
+
+	/**
+	 * Generates legal moves of given color from and to selected fields only,
+	 * e.g. to find the move described by a notation without validating all
+	 * other moves. See {@link #generateLegalMoves(Color, int[])}.
+	 *
+	 * @param color
+	 *            color of moving pieces
+	 * @param fromMask
+	 *            bitboard of 'from' fields
+	 * @param toMask
+	 *            bitboard of 'to' fields
+	 * @param moves
+	 *            buffer for generated moves, at least {@link #MAX_MOVES} long
+	 * @return number of generated moves
+	 */
+	public int generateLegalMoves(Color color, long fromMask, long toMask, int[] moves) {
+		MoveValidation[] validations = getMoveValidations(color);
+		int count = 0;
+
+		long pieces = this.board.getColorBitboard(color) & fromMask;
+		while (pieces != 0) {
+			int from = Long.numberOfTrailingZeros(pieces);
+			pieces &= pieces - 1;
+			Piece movedPiece = this.board.getPieceAt(from);
+			long targets = validations[movedPiece.getType().ordinal()].calculateTargets(from) & toMask;
+			while (targets != 0) {
+				int to = Long.numberOfTrailingZeros(targets);
+				targets &= targets - 1;
+				MoveType type = calculateMoveType(movedPiece, from, to);
+				if (!isMoveLegal(movedPiece, from, to, type)) {
+					continue;
+				}
+				if (PackedMove.isPromotion(movedPiece, to)) {
+					for (PieceType promotion : PROMOTIONS) {
+						moves[count++] = PackedMove.pack(from, to, type, promotion);
+					}
+				} else {
+					moves[count++] = PackedMove.pack(from, to, type, null);
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Gets position of a move among the moves of given color generated in the
+	 * order of {@link #generateLegalMoves(Color, int[])} but without checking
+	 * own king safety, e.g. to store the move in one byte. The move is found
+	 * again by {@link #getMoveAtIndex(Color, int)} without making any moves.
+	 *
+	 * @param color
+	 *            color of moving pieces
+	 * @param move
+	 *            packed move
+	 * @return move index or -1 if the piece cannot move to the 'to' field
+	 */
+	public int getMoveIndex(Color color, int move) {
+		MoveValidation[] validations = getMoveValidations(color);
+		int from = PackedMove.getFrom(move);
+		int to = PackedMove.getTo(move);
+		int index = 0;
+
+		long pieces = this.board.getColorBitboard(color);
+		while (pieces != 0) {
+			int square = Long.numberOfTrailingZeros(pieces);
+			pieces &= pieces - 1;
+			Piece movedPiece = this.board.getPieceAt(square);
+			long targets = validations[movedPiece.getType().ordinal()].calculateTargets(square);
+			if (targets == 0) {
+				continue;
+			}
+			boolean promotion = PackedMove.isPromotion(movedPiece, Long.numberOfTrailingZeros(targets));
+			if (square == from) {
+				if ((targets & Bitboards.bit(to)) == 0) {
+					return -1;
+				}
+				int targetIndex = Long.bitCount(targets & (Bitboards.bit(to) - 1));
+				if (!promotion) {
+					return index + targetIndex;
+				}
+				PieceType promotionType = PackedMove.getPromotion(move);
+				int promotionIndex = 0;
+				while (PROMOTIONS[promotionIndex] != promotionType) {
+					promotionIndex++;
+				}
+				return index + targetIndex * PROMOTIONS.length + promotionIndex;
+			}
+			index += Long.bitCount(targets) * (promotion ? PROMOTIONS.length : 1);
 		}
+		return -1;
+	}
 
-		for (int i = this.board.getMoveHistory().size() - 1; i >= this.board.getMoveHistory().size() - 100; i--) {
-			Move currentMove = this.board.getMoveHistory().get(i);
-			PieceType currentPieceType = currentMove.getMovedPiece().getType();
-			if (currentMove.getType() != MoveType.ATTACK || currentPieceType == PieceType.PAWN) {
-				return false;
+	/**
+	 * Gets move of given color at a position of
+	 * {@link #getMoveIndex(Color, int)}. Own king safety is not checked.
+	 *
+	 * @param color
+	 *            color of moving pieces
+	 * @param index
+	 *            move index
+	 * @return packed move or -1 if there are fewer moves
+	 */
+	public int getMoveAtIndex(Color color, int index) {
+		MoveValidation[] validations = getMoveValidations(color);
+
+		long pieces = this.board.getColorBitboard(color);
+		while (pieces != 0) {
+			int from = Long.numberOfTrailingZeros(pieces);
+			pieces &= pieces - 1;
+			Piece movedPiece = this.board.getPieceAt(from);
+			long targets = validations[movedPiece.getType().ordinal()].calculateTargets(from);
+			if (targets == 0) {
+				continue;
+			}
+			int promotions = PackedMove.isPromotion(movedPiece, Long.numberOfTrailingZeros(targets))
+					? PROMOTIONS.length : 1;
+			int count = Long.bitCount(targets) * promotions;
+			if (index < count) {
+				for (int i = index / promotions; i > 0; i--) {
+					targets &= targets - 1;
+				}
+				int to = Long.numberOfTrailingZeros(targets);
+				return PackedMove.pack(from, to, calculateMoveType(movedPiece, from, to),
+						promotions == 1 ? null : PROMOTIONS[index % promotions]);
 			}
+			index -= count;
 		}
+		return -1;
+	}
 
-		return true;
+	/**
+	 * Lists all valid moves of the player who moves next, e.g. to show hints
+	 * to the player.
+	 *
+	 * @return list of valid moves
+	 */
+	public List<Move> getValidMoves() {
+		int count = generateLegalMoves(calculateNextMoveColor(), this.moveBuffer);
+		List<Move> validMoves = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			Piece movedPiece = this.board.getPieceAt(PackedMove.getFrom(this.moveBuffer[i]));
+			validMoves.add(PackedMove.toMove(this.moveBuffer[i], movedPiece));
+		}
+		return validMoves;
+	}
+
+	/**
+	 * Lists valid moves of the piece standing on given field.
+	 *
+	 * @param from
+	 *            coordinates of the piece
+	 * @return list of valid moves, empty if the piece cannot move
+	 */
+	public List<Move> getValidMoves(Coordinate from) {
+		List<Move> validMoves = new ArrayList<>();
+		for (Move move : getValidMoves()) {
+			if (move.getFrom().equals(from)) {
+				validMoves.add(move);
+			}
+		}
+		return validMoves;
 	}
 
 	// PRIVATE
@@ -194,51 +443,126 @@ public class BoardManager {
 		}
 	}
 
-	private void addMove(Move move) {
+	void addMove(Move move) {
+		makeMove(PackedMove.fromMove(move));
+	}
 
-		addRegularMove(move);
+	/**
+	 * Performs move on the board in place, without validation. The move can be
+	 * taken back with {@link #unmakeMove()}.
+	 *
+	 * @param move
+	 *            move packed as described in {@link PackedMove}
+	 */
+	public void makeMove(int move) {
 
-		if (move.getType() == MoveType.CASTLING) {
-			addCastling(move);
-		} else if (move.getType() == MoveType.EN_PASSANT) {
-			addEnPassant(move);
+		if (this.board.getPositionCount() == 0) {
+			this.board.addPositionKey();
+		}
+		int from = PackedMove.getFrom(move);
+		int to = PackedMove.getTo(move);
+		MoveType type = PackedMove.getType(move);
+		Piece movedPiece = this.board.getPieceAt(from);
+		int capturedSquare = calculateCapturedSquare(from, to, type);
+		this.board.pushUndoRecord(UndoRecord.pack(move, movedPiece, this.board.getPieceAt(capturedSquare),
+				this.board.getCastlingRights(), this.board.getEnPassantSquare()));
+
+		if (type == MoveType.EN_PASSANT) {
+			this.board.setPieceAt(null, capturedSquare);
+		}
+		addRegularMove(from, to, movedPiece, PackedMove.getPromotion(move));
+		if (type == MoveType.CASTLING) {
+			addCastling(from, to);
 		}
 
-		this.board.getMoveHistory().add(move);
+		updateCastlingRights(from, to);
+		updateEnPassantSquare(from, to, movedPiece);
+		this.board.getMoveHistory().add(move, movedPiece);
+		this.board.addPositionKey();
 	}
 
-	private void addRegularMove(Move move) {
-		Piece movedPiece = this.board.getPieceAt(move.getFrom());
-		this.board.setPieceAt(null, move.getFrom());
-		this.board.setPieceAt(movedPiece, move.getTo());
-
-		performPromotion(move, movedPiece);
+	/**
+	 * Takes back the last move performed on the board, restoring pieces,
+	 * castling rights, en passant square and history.
+	 *
+	 * @throws IllegalStateException
+	 *             if there is no move to take back
+	 */
+	public void unmakeMove() {
+		if (this.board.getUndoCount() == 0) {
+			throw new IllegalStateException("No move to unmake");
+		}
+		long undoRecord = this.board.popUndoRecord();
+		int move = UndoRecord.getMove(undoRecord);
+		int from = PackedMove.getFrom(move);
+		int to = PackedMove.getTo(move);
+		MoveType type = PackedMove.getType(move);
+
+		this.board.getMoveHistory().removeLast();
+		this.board.removePositionKey();
+
+		if (type == MoveType.CASTLING) {
+			int rookFrom = to > from ? from + 3 : from - 4;
+			int rookTo = (from + to) / 2;
+			this.board.setPieceAt(this.board.getPieceAt(rookTo), rookFrom);
+			this.board.setPieceAt(null, rookTo);
+		}
+		this.board.setPieceAt(null, to);
+		this.board.setPieceAt(UndoRecord.getMovedPiece(undoRecord), from);
+		Piece capturedPiece = UndoRecord.getCapturedPiece(undoRecord);
+		if (capturedPiece != null) {
+			this.board.setPieceAt(capturedPiece, calculateCapturedSquare(from, to, type));
+		}
+		this.board.setCastlingRights(UndoRecord.getCastlingRights(undoRecord));
+		this.board.setEnPassantSquare(UndoRecord.getEnPassantSquare(undoRecord));
 	}
 
-	private void performPromotion(Move move, Piece movedPiece) {
-		if (movedPiece == Piece.WHITE_PAWN && move.getTo().getY() == (Board.SIZE - 1)) {
-			this.board.setPieceAt(Piece.WHITE_QUEEN, move.getTo());
-		}
-		if (movedPiece == Piece.BLACK_PAWN && move.getTo().getY() == 0) {
-			this.board.setPieceAt(Piece.BLACK_QUEEN, move.getTo());
+	private int calculateCapturedSquare(int from, int to, MoveType type) {
+		if (type == MoveType.EN_PASSANT) {
+			return Bitboards.square(Bitboards.getX(to), Bitboards.getY(from));
 		}
+		return to;
 	}
 
-	private void addCastling(Move move) {
-		if (move.getFrom().getX() > move.getTo().getX()) {
-			Piece rook = this.board.getPieceAt(new Coordinate(0, move.getFrom().getY()));
-			this.board.setPieceAt(null, new Coordinate(0, move.getFrom().getY()));
-			this.board.setPieceAt(rook, new Coordinate(move.getTo().getX() + 1, move.getTo().getY()));
+	private void updateCastlingRights(int from, int to) {
+		int castlingRights = this.board.getCastlingRights();
+		castlingRights &= CASTLING_RIGHTS_MASKS[from];
+		castlingRights &= CASTLING_RIGHTS_MASKS[to];
+		this.board.setCastlingRights(castlingRights);
+	}
+
+	private void updateEnPassantSquare(int from, int to, Piece movedPiece) {
+		int pawnDoubleStep = movedPiece != null && movedPiece.getColor() == Color.WHITE ? 2 * Board.SIZE
+				: -2 * Board.SIZE;
+		if (movedPiece != null && movedPiece.getType() == PieceType.PAWN && to - from == pawnDoubleStep) {
+			this.board.setEnPassantSquare((from + to) / 2);
 		} else {
-			Piece rook = this.board.getPieceAt(new Coordinate(Board.SIZE - 1, move.getFrom().getY()));
-			this.board.setPieceAt(null, new Coordinate(Board.SIZE - 1, move.getFrom().getY()));
-			this.board.setPieceAt(rook, new Coordinate(move.getTo().getX() - 1, move.getTo().getY()));
+			this.board.setEnPassantSquare(Board.NO_EN_PASSANT);
+		}
+	}
+
+	private void addRegularMove(int from, int to, Piece movedPiece, PieceType promotion) {
+		this.board.setPieceAt(null, from);
+		this.board.setPieceAt(movedPiece, to);
+
+		performPromotion(to, movedPiece, promotion);
+	}
+
+	private void performPromotion(int to, Piece movedPiece, PieceType promotion) {
+		if (movedPiece == Piece.WHITE_PAWN && Bitboards.getY(to) == (Board.SIZE - 1)) {
+			this.board.setPieceAt(Piece.getPieceByTypeAndColor(promotion, Color.WHITE), to);
+		}
+		if (movedPiece == Piece.BLACK_PAWN && Bitboards.getY(to) == 0) {
+			this.board.setPieceAt(Piece.getPieceByTypeAndColor(promotion, Color.BLACK), to);
 		}
 	}
 
-	private void addEnPassant(Move move) {
-		Move lastMove = this.board.getMoveHistory().get(this.board.getMoveHistory().size() - 1);
-		this.board.setPieceAt(null, lastMove.getTo());
+	private void addCastling(int from, int to) {
+		int rookFrom = to > from ? from + 3 : from - 4;
+		int rookTo = (from + to) / 2;
+		Piece rook = this.board.getPieceAt(rookFrom);
+		this.board.setPieceAt(null, rookFrom);
+		this.board.setPieceAt(rook, rookTo);
 	}
 
 	private Move validateMove(Coordinate from, Coordinate to) throws InvalidMoveException, KingInCheckException {
@@ -247,53 +571,29 @@ public class BoardManager {
 		int xTo = to.getX();
 		int yTo = to.getY();
 
-		MoveValidation posibleMoves = null;
 		checkBoardRange(xFrom, yFrom, xTo, yTo);
 		isCoordinateFromOccupied(from);
 		IsPieceMine(from);
-		// w switchu wg piece filtrowac a nie piecetype
-		switch (returnPieceType(from)) {
-		case ROOK:
-			posibleMoves = new RookMovesValidator(board);
-			break;
-		case BISHOP:
-			posibleMoves = new BishopMovesValidator(board);
-			break;
-		case QUEEN:
-			posibleMoves = new QueenMovesValidator(board);
-			break;
-		case KNIGHT:
-			posibleMoves = new KnightMovesValidator(board);
-			break;
-		case KING:
-			posibleMoves = new KingMovesValidator(board);
-			break;
-		case PAWN:
-			posibleMoves = new PawnMovesValidator(board);
-			break;
-		default:
-			break;
-		}
+		MoveValidation posibleMoves = createMoveValidation(returnPieceType(from));
 		posibleMoves.setNextMoveColor(calculateNextMoveColor());
 		posibleMoves.isMovePosible(from, to);
 		
 		Move finalMoveValidation = posibleMoves.returnLegalMove(from, to);
 
-		
-		
-		Board boardSymulation = new Board(board);
-		this.board.setPieceAt(board.getPieceAt(from), to);
-		this.board.setPieceAt(null, from);
+		if (finalMoveValidation.getType() == MoveType.CASTLING && !isCastlingSafe(Bitboards.square(from),
+				Bitboards.square(to), getEnemyColor(calculateNextMoveColor()))) {
+			throw new KingInCheckException();
+		}
 
-		if (isKingInCheck(calculateNextMoveColor())) {
+		Color nextMoveColor = calculateNextMoveColor();
+		makeMove(PackedMove.pack(Bitboards.square(from), Bitboards.square(to), finalMoveValidation.getType(), null));
+		boolean isKingInCheck = isKingInCheck(nextMoveColor);
+		unmakeMove();
 
-			this.board = boardSymulation;
+		if (isKingInCheck) {
 			throw new KingInCheckException();
-
-		} else {
-			this.board = boardSymulation;
-			return finalMoveValidation;
 		}
+		return finalMoveValidation;
 	}
 
 	public PieceType returnPieceType(Coordinate from) {
@@ -329,51 +629,245 @@ public class BoardManager {
 
 	}
 
-	private boolean isKingInCheck(Color kingColor) {
+	/**
+	 * Checks whether king of given color is attacked
+	 *
+	 * @param kingColor
+	 *            color of the king
+	 * @return true if the king is in check, false otherwise or if there is no
+	 *         king of given color on the board
+	 */
+	public boolean isKingInCheck(Color kingColor) {
 
-		Coordinate myKingCoordinate = getKingCoordinate(kingColor);
-		if (myKingCoordinate == null) {
+		int kingSquare = this.board.getKingSquare(kingColor);
+		if (kingSquare == Board.NO_SQUARE) {
 			return false;
 		}
-		List<PieceCoordinate> listOfAllPiecesOfEnemyColor = getAllPiecesOfTheColor(getEnemyColor(kingColor));
-		for (int i = 0; i < listOfAllPiecesOfEnemyColor.size(); i++) {
-			Coordinate potentialAttackerCoordinate = listOfAllPiecesOfEnemyColor.get(i).getPosition();
-			PieceType potentialAttackerPieceType = listOfAllPiecesOfEnemyColor.get(i).getPiece().getType();
-			MoveValidation posibleMoves = null;
-			switch (potentialAttackerPieceType) {
-			case ROOK:
-				posibleMoves = new RookMovesValidator(board);
-				break;
-			case BISHOP:
-				posibleMoves = new BishopMovesValidator(board);
-				break;
-			case QUEEN:
-				posibleMoves = new QueenMovesValidator(board);
-				break;
-			case KNIGHT:
-				posibleMoves = new KnightMovesValidator(board);
-				break;
-			case KING:
-				posibleMoves = new KingMovesValidator(board);
-				break;
-			case PAWN:
-				posibleMoves = new PawnMovesValidator(board);
-				break;
-			default:
+		return isSquareAttacked(kingSquare, getEnemyColor(kingColor));
+	}
+
+	/**
+	 * Checks whether given field is attacked by pieces of given color. The
+	 * attacks are looked up backwards from the field, so no piece of the
+	 * attacking side has to be visited.
+	 *
+	 * @param square
+	 *            square index of the field
+	 * @param attackerColor
+	 *            color of attacking pieces
+	 * @return true if at least one piece attacks the field, false otherwise
+	 */
+	public boolean isSquareAttacked(int square, Color attackerColor) {
+		long pawns = this.board.getPieceBitboard(Piece.getPieceByTypeAndColor(PieceType.PAWN, attackerColor));
+		if ((Bitboards.pawnAttacks(square, getEnemyColor(attackerColor)) & pawns) != 0) {
+			return true;
+		}
+		long knights = this.board.getPieceBitboard(Piece.getPieceByTypeAndColor(PieceType.KNIGHT, attackerColor));
+		if ((Bitboards.knightTargets(square) & knights) != 0) {
+			return true;
+		}
+		long kings = this.board.getPieceBitboard(Piece.getPieceByTypeAndColor(PieceType.KING, attackerColor));
+		if ((Bitboards.kingTargets(square) & kings) != 0) {
+			return true;
+		}
+
+		long occupied = this.board.getOccupiedBitboard();
+		long queens = this.board.getPieceBitboard(Piece.getPieceByTypeAndColor(PieceType.QUEEN, attackerColor));
+		long rooks = this.board.getPieceBitboard(Piece.getPieceByTypeAndColor(PieceType.ROOK, attackerColor));
+		if ((rooks | queens) != 0 && (Bitboards.rookTargets(square, occupied) & (rooks | queens)) != 0) {
+			return true;
+		}
+		long bishops = this.board.getPieceBitboard(Piece.getPieceByTypeAndColor(PieceType.BISHOP, attackerColor));
+		return (bishops | queens) != 0 && (Bitboards.bishopTargets(square, occupied) & (bishops | queens)) != 0;
+	}
+
+	/**
+	 * Calculates material balance of the exchange started by given move on its
+	 * 'to' field. Both sides capture on the field with their least valuable
+	 * attacker and stop when continuing would lose material. Sliding pieces
+	 * behind the capturing pieces (x-rays) join the exchange. Pins, checks and
+	 * promotions of recapturing pawns are not taken into account.
+	 *
+	 * @param move
+	 *            move to evaluate
+	 * @return material gain in centipawns of the side making the move,
+	 *         negative if the move loses material
+	 */
+	public int staticExchange(Move move) {
+		return staticExchange(PackedMove.fromMove(move));
+	}
+
+	/**
+	 * Calculates material balance of the exchange started by given move, see
+	 * {@link #staticExchange(Move)}
+	 *
+	 * @param move
+	 *            packed move
+	 * @return material gain in centipawns of the side making the move
+	 */
+	public int staticExchange(int move) {
+		int from = PackedMove.getFrom(move);
+		int to = PackedMove.getTo(move);
+		MoveType type = PackedMove.getType(move);
+		if (type == MoveType.CASTLING) {
+			return 0;
+		}
+		Piece movedPiece = this.board.getPieceAt(from);
+		long occupied = this.board.getOccupiedBitboard() & ~Bitboards.bit(from);
+		int[] gains = this.exchangeGains;
+		if (type == MoveType.EN_PASSANT) {
+			occupied &= ~Bitboards.bit(calculateCapturedSquare(from, to, type));
+			gains[0] = PieceSquareTables.getPieceValue(PieceType.PAWN);
+		} else {
+			Piece capturedPiece = this.board.getPieceAt(to);
+			gains[0] = capturedPiece != null ? PieceSquareTables.getPieceValue(capturedPiece.getType()) : 0;
+		}
+		int attackerValue = PieceSquareTables.getPieceValue(movedPiece.getType());
+		if (PackedMove.isPromotion(movedPiece, to)) {
+			attackerValue = PieceSquareTables.getPieceValue(PackedMove.getPromotion(move));
+			gains[0] += attackerValue - PieceSquareTables.getPieceValue(PieceType.PAWN);
+		}
+
+		long attackers = calculateAttackers(to, occupied) & occupied;
+		Color color = getEnemyColor(movedPiece.getColor());
+		int depth = 0;
+		while (depth < MAX_EXCHANGES) {
+			long colorAttackers = attackers & this.board.getColorBitboard(color);
+			if (colorAttackers == 0) {
 				break;
 			}
-			try {
-				posibleMoves.setNextMoveColor(getEnemyColor(kingColor));
-				if (posibleMoves.isMovePosible(potentialAttackerCoordinate, myKingCoordinate)) {
-					return true;
+			depth++;
+			gains[depth] = attackerValue - gains[depth - 1];
+			PieceType attackerType = null;
+			long attacker = 0L;
+			for (PieceType pieceType : EXCHANGE_ORDER) {
+				attacker = colorAttackers
+						& this.board.getPieceBitboard(Piece.getPieceByTypeAndColor(pieceType, color));
+				if (attacker != 0) {
+					attackerType = pieceType;
+					break;
 				}
-			} catch (InvalidMoveException e) {
-				continue;
 			}
-		
+			occupied &= ~(attacker & -attacker);
+			attackers = calculateAttackers(to, occupied) & occupied;
+			attackerValue = PieceSquareTables.getPieceValue(attackerType);
+			color = getEnemyColor(color);
+		}
+		while (depth > 0) {
+			gains[depth - 1] = -Math.max(-gains[depth - 1], gains[depth]);
+			depth--;
+		}
+		return gains[0];
+	}
+
+	/**
+	 * Finds the current position in endgame tablebases
+	 *
+	 * @param tablebase
+	 *            tablebases
+	 * @return table entry for the side to move, see {@link Tablebase}, or
+	 *         {@link Tablebase#UNKNOWN} if there is no table for the position
+	 */
+	public int probeTablebase(Tablebase tablebase) {
+		return tablebase.probe(this.board, calculateNextMoveColor(), this.tablebasePieces, this.tablebaseSquares);
+	}
+
+	/**
+	 * Calculates pieces of both colors attacking given field, sliding pieces
+	 * are blocked by given occupancy
+	 */
+	private long calculateAttackers(int square, long occupied) {
+		long attackers = (Bitboards.pawnAttacks(square, Color.BLACK) & this.board.getPieceBitboard(Piece.WHITE_PAWN))
+				| (Bitboards.pawnAttacks(square, Color.WHITE) & this.board.getPieceBitboard(Piece.BLACK_PAWN));
+		attackers |= Bitboards.knightTargets(square) & (this.board.getPieceBitboard(Piece.WHITE_KNIGHT)
+				| this.board.getPieceBitboard(Piece.BLACK_KNIGHT));
+		attackers |= Bitboards.kingTargets(square) & (this.board.getPieceBitboard(Piece.WHITE_KING)
+				| this.board.getPieceBitboard(Piece.BLACK_KING));
+		long queens = this.board.getPieceBitboard(Piece.WHITE_QUEEN) | this.board.getPieceBitboard(Piece.BLACK_QUEEN);
+		long rooks = this.board.getPieceBitboard(Piece.WHITE_ROOK) | this.board.getPieceBitboard(Piece.BLACK_ROOK);
+		long bishops = this.board.getPieceBitboard(Piece.WHITE_BISHOP)
+				| this.board.getPieceBitboard(Piece.BLACK_BISHOP);
+		attackers |= Bitboards.rookTargets(square, occupied) & (rooks | queens);
+		attackers |= Bitboards.bishopTargets(square, occupied) & (bishops | queens);
+		return attackers;
+	}
+
+	private boolean isCastlingSafe(int from, int to, Color enemyColor) {
+		return !isSquareAttacked(from, enemyColor) && !isSquareAttacked((from + to) / 2, enemyColor);
+	}
+
+	private MoveType calculateMoveType(Piece movedPiece, int from, int to) {
+		if (this.board.getPieceAt(to) != null) {
+			return MoveType.CAPTURE;
 		}
+		if (movedPiece.getType() == PieceType.KING && Math.abs(to - from) == 2) {
+			return MoveType.CASTLING;
+		}
+		if (movedPiece.getType() == PieceType.PAWN && Bitboards.getX(from) != Bitboards.getX(to)) {
+			return MoveType.EN_PASSANT;
+		}
+		return MoveType.ATTACK;
+	}
 
-		return false;
+	/**
+	 * Checks whether the move leaves own king safe. The move is applied on the
+	 * board and reverted afterwards.
+	 */
+	private boolean isMoveLegal(Piece movedPiece, int from, int to, MoveType type) {
+		Color color = movedPiece.getColor();
+		if (type == MoveType.CASTLING && !isCastlingSafe(from, to, getEnemyColor(color))) {
+			return false;
+		}
+		int capturedSquare = to;
+		if (type == MoveType.EN_PASSANT) {
+			capturedSquare = Bitboards.square(Bitboards.getX(to), Bitboards.getY(from));
+		}
+		Piece capturedPiece = this.board.getPieceAt(capturedSquare);
+
+		this.board.setPieceAt(null, capturedSquare);
+		this.board.setPieceAt(null, from);
+		this.board.setPieceAt(movedPiece, to);
+		boolean isLegal = !isKingInCheck(color);
+		this.board.setPieceAt(null, to);
+		this.board.setPieceAt(capturedPiece, capturedSquare);
+		this.board.setPieceAt(movedPiece, from);
+
+		return isLegal;
+	}
+
+	private MoveValidation createMoveValidation(PieceType pieceType) {
+		switch (pieceType) {
+		case ROOK:
+			return new RookMovesValidator(board);
+		case BISHOP:
+			return new BishopMovesValidator(board);
+		case QUEEN:
+			return new QueenMovesValidator(board);
+		case KNIGHT:
+			return new KnightMovesValidator(board);
+		case KING:
+			return new KingMovesValidator(board);
+		case PAWN:
+			return new PawnMovesValidator(board);
+		default:
+			return null;
+		}
+	}
+
+	private MoveValidation[] getMoveValidations(Color color) {
+		if (this.moveValidations[color.ordinal()] == null) {
+			this.moveValidations[color.ordinal()] = createMoveValidations(color);
+		}
+		return this.moveValidations[color.ordinal()];
+	}
+
+	private MoveValidation[] createMoveValidations(Color color) {
+		MoveValidation[] validations = new MoveValidation[PieceType.values().length];
+		for (PieceType pieceType : PieceType.values()) {
+			validations[pieceType.ordinal()] = createMoveValidation(pieceType);
+			validations[pieceType.ordinal()].setNextMoveColor(color);
+		}
+		return validations;
 	}
 
 	public Color getEnemyColor(Color kingColor) {
@@ -385,54 +879,24 @@ public class BoardManager {
 	}
 
 	public Coordinate getKingCoordinate(Color color) {
-		Coordinate kingCoordinate = null;
-
-		for (int i = 0; i < Board.SIZE; i++) {
-			for (int j = 0; j < Board.SIZE; j++) {
-				Coordinate currentCoordinate = new Coordinate(i, j);
-				Piece currentPiece = board.getPieceAt(currentCoordinate);
-				if (currentPiece != null && currentPiece.getType() == PieceType.KING
-						&& currentPiece.getColor() == color) {
-					kingCoordinate = currentCoordinate;
-				}
-			}
+		int kingSquare = board.getKingSquare(color);
+		if (kingSquare == Board.NO_SQUARE) {
+			return null;
 		}
-		return kingCoordinate;
+		return Bitboards.toCoordinate(kingSquare);
 	}
 
 	private boolean isAnyMoveValid(Color nextMoveColor) {
-
-		ArrayList<PieceCoordinate> piecesWithCoordinates = getAllPiecesOfTheColor(nextMoveColor);
-
-		for (int i = 0; i < piecesWithCoordinates.size(); i++) {
-
-			for (int w = 0; w < Board.SIZE; w++) {
-				for (int j = 0; j < Board.SIZE; j++) {
-					try {
-						validateMove(piecesWithCoordinates.get(i).getPosition(), new Coordinate(w, j));
-						return true;
-					} catch (KingInCheckException e) {
-						continue;
-					} catch (InvalidMoveException e) {
-						continue;
-					}
-				}
-			}
-		}
-		return false;
+		return generateLegalMoves(nextMoveColor, this.moveBuffer) > 0;
 	}
 
 	public ArrayList<PieceCoordinate> getAllPiecesOfTheColor(Color color) {
-		ArrayList<PieceCoordinate> piecesWithItsCoordinates = new ArrayList<PieceCoordinate>();
-
-		for (int i = 0; i < Board.SIZE; i++) {
-			for (int j = 0; j < Board.SIZE; j++) {
-				Coordinate currentCoordinate = new Coordinate(i, j);
-				Piece currentPiece = board.getPieceAt(currentCoordinate);
-				if (currentPiece != null && currentPiece.getColor() == color) {
-					piecesWithItsCoordinates.add(new PieceCoordinate(currentPiece, currentCoordinate));
-				}
-			}
+		int pieceCount = board.getPieceCount(color);
+		ArrayList<PieceCoordinate> piecesWithItsCoordinates = new ArrayList<PieceCoordinate>(pieceCount);
+
+		for (int i = 0; i < pieceCount; i++) {
+			int square = board.getPieceSquare(color, i);
+			piecesWithItsCoordinates.add(new PieceCoordinate(board.getPieceAt(square), Bitboards.toCoordinate(square)));
 		}
 		return piecesWithItsCoordinates;
 	}
@@ -443,25 +907,16 @@ public class BoardManager {
 	}
 
 	private Color calculateNextMoveColor() {
-		if (this.board.getMoveHistory().size() % 2 == 0) {
-			return Color.WHITE;
-		} else {
-			return Color.BLACK;
-		}
+		return this.board.getSideToMove();
 	}
 
-	private int findLastNonAttackMoveIndex() {
+	private int countMovesSinceLastNonAttackMove() {
+		MoveHistory moveHistory = this.board.getMoveHistory();
 		int counter = 0;
-		int lastNonAttackMoveIndex = 0;
-
-		for (Move move : this.board.getMoveHistory()) {
-			if (move.getType() != MoveType.ATTACK) {
-				lastNonAttackMoveIndex = counter;
-			}
+		for (int i = moveHistory.size() - 1; i >= 0 && moveHistory.getType(i) == MoveType.ATTACK; i--) {
 			counter++;
 		}
-
-		return lastNonAttackMoveIndex;
+		return counter;
 	}
 
 }
@@ -0,0 +1,260 @@
+package com.capgemini.chess.algorithms.implementation;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import com.capgemini.chess.algorithms.data.Bitboards;
+import com.capgemini.chess.algorithms.data.MoveHistory;
+import com.capgemini.chess.algorithms.data.UndoRecord;
+import com.capgemini.chess.algorithms.data.enums.BoardState;
+import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.data.generated.Board;
+
+/**
+ * Binary snapshot of a {@link Board}, e.g. to move a game in progress to
+ * another process. The snapshot starts with a magic number (2 bytes) and the
+ * format version (1 byte), followed by:
+ * <ul>
+ * <li>pieces in 32 bytes, one nibble per square (piece ordinal + 1, 0 for an
+ * empty field), the lower nibble for the even square</li>
+ * <li>castling rights in bits 0-3, the board state (ordinal + 1, 0 for
+ * none) in bits 4-6 and the {@link #HISTORY_IN_UNDO_RECORDS} flag in bit 7
+ * of one byte</li>
+ * <li>en passant square + 1 (1 byte), initial ply and initial halfmove clock
+ * (4 bytes each)</li>
+ * <li>undo records: count (2 bytes) and 8 bytes per {@link UndoRecord}</li>
+ * <li>move history, only if the flag is not set: count (2 bytes) and packed
+ * move (2 bytes) with moved piece (1 byte) per move</li>
+ * <li>position keys: count (2 bytes) and 8 bytes per key</li>
+ * </ul>
+ * Undo records and position keys are included so that moves can be taken
+ * back and repetitions are detected on the restored board exactly as on the
+ * original one. Moves made by {@link BoardManager#makeMove(int)} have an undo
+ * record holding the move and the moved piece, so the history is written
+ * separately only for boards whose moves were recorded otherwise. Numbers
+ * are written in the byte order of the buffer, which must be the same when
+ * reading. Writing to a buffer does not allocate. Reading into a reused board
+ * allocates only two views of the buffer: undo records and position keys are
+ * copied in bulk through them, pieces are read 16 squares at a time and set
+ * on the board at once by {@link Board#setPieces(long[])}.
+ *
+ */
+public final class BoardSnapshot {
+
+	public static final int MAGIC = 0x4253;
+	public static final int VERSION = 1;
+
+	/**
+	 * Maximal number of moves, undo records and position keys of a board
+	 */
+	public static final int MAX_ENTRIES = 0xFFFF;
+
+	/**
+	 * Flag of snapshots whose move history consists of the moves of the undo
+	 * records
+	 */
+	public static final int HISTORY_IN_UNDO_RECORDS = 0x80;
+
+	private static final int HEADER_BYTES = 3;
+	private static final int POSITION_BYTES = 32 + 1 + 1 + 4 + 4;
+	private static final int MOVE_BYTES = 3;
+	private static final int STATE_SHIFT = 4;
+	private static final long LOWEST_NIBBLE_BITS = 0x1111111111111111L;
+	private static final Piece[] PIECES = Piece.values();
+	private static final BoardState[] STATES = BoardState.values();
+	private static final ThreadLocal<long[]> PIECE_BITBOARDS = ThreadLocal
+			.withInitial(() -> new long[PIECES.length]);
+
+	private BoardSnapshot() {
+	}
+
+	/**
+	 * Calculates size of the snapshot of a board
+	 *
+	 * @param board
+	 *            board
+	 * @return number of bytes written by {@link #write(Board, ByteBuffer)}
+	 */
+	public static int getSize(Board board) {
+		int historyBytes = isHistoryInUndoRecords(board) ? 0 : 2 + board.getMoveHistory().size() * MOVE_BYTES;
+		return HEADER_BYTES + POSITION_BYTES + 2 * 2 + historyBytes
+				+ (board.getUndoCount() + board.getPositionCount()) * Long.BYTES;
+	}
+
+	/**
+	 * Puts the snapshot of a board at the position of the buffer
+	 *
+	 * @param board
+	 *            board
+	 * @param out
+	 *            buffer with at least {@link #getSize(Board)} bytes remaining
+	 * @throws IllegalArgumentException
+	 *             if the board has more than {@link #MAX_ENTRIES} moves
+	 * @throws java.nio.BufferOverflowException
+	 *             if the buffer is too small
+	 */
+	public static void write(Board board, ByteBuffer out) {
+		MoveHistory moveHistory = board.getMoveHistory();
+		int moveCount = moveHistory.size();
+		int undoCount = board.getUndoCount();
+		int positionCount = board.getPositionCount();
+		if (moveCount > MAX_ENTRIES || undoCount > MAX_ENTRIES || positionCount > MAX_ENTRIES) {
+			throw new IllegalArgumentException("Board with " + moveCount + " moves cannot be written");
+		}
+
+		out.putShort((short) MAGIC);
+		out.put((byte) VERSION);
+		for (int square = 0; square < Board.SIZE * Board.SIZE; square += 2) {
+			out.put((byte) (pieceIndex(board.getPieceAt(square)) | pieceIndex(board.getPieceAt(square + 1)) << 4));
+		}
+		boolean historyInUndoRecords = isHistoryInUndoRecords(board);
+		BoardState state = board.getState();
+		out.put((byte) (board.getCastlingRights() | (state == null ? 0 : state.ordinal() + 1) << STATE_SHIFT
+				| (historyInUndoRecords ? HISTORY_IN_UNDO_RECORDS : 0)));
+		out.put((byte) (board.getEnPassantSquare() + 1));
+		out.putInt(board.getInitialPly());
+		out.putInt(board.getInitialHalfmoveClock());
+
+		out.putShort((short) undoCount);
+		for (int i = 0; i < undoCount; i++) {
+			out.putLong(board.getUndoRecord(i));
+		}
+		if (!historyInUndoRecords) {
+			out.putShort((short) moveCount);
+			for (int i = 0; i < moveCount; i++) {
+				out.putShort((short) moveHistory.getPackedMove(i));
+				out.put((byte) pieceIndex(moveHistory.getMovedPiece(i)));
+			}
+		}
+		out.putShort((short) positionCount);
+		for (int i = 0; i < positionCount; i++) {
+			out.putLong(board.getPositionKey(i));
+		}
+	}
+
+	/**
+	 * Creates board from the snapshot at the position of the buffer
+	 *
+	 * @param in
+	 *            buffer with the snapshot, its position is moved after it
+	 * @return new board
+	 * @throws IllegalArgumentException
+	 *             if the snapshot is invalid or of an unknown version
+	 */
+	public static Board read(ByteBuffer in) {
+		Board board = new Board();
+		read(in, board);
+		return board;
+	}
+
+	/**
+	 * Restores board from the snapshot at the position of the buffer,
+	 * previous pieces and moves of the board are removed
+	 *
+	 * @param in
+	 *            buffer with the snapshot, its position is moved after it
+	 * @param board
+	 *            reused board
+	 * @throws IllegalArgumentException
+	 *             if the snapshot is invalid or of an unknown version, the
+	 *             board is left cleared or partially restored
+	 * @throws java.nio.BufferUnderflowException
+	 *             if the snapshot is truncated
+	 */
+	public static void read(ByteBuffer in, Board board) {
+		int magic = in.getShort() & 0xFFFF;
+		int version = in.get() & 0xFF;
+		if (magic != MAGIC) {
+			throw new IllegalArgumentException("Not a board snapshot");
+		}
+		if (version != VERSION) {
+			throw new IllegalArgumentException("Unsupported board snapshot version: " + version);
+		}
+
+		board.clear();
+		long[] bitboards = PIECE_BITBOARDS.get();
+		Arrays.fill(bitboards, 0L);
+		boolean bigEndian = in.order() == ByteOrder.BIG_ENDIAN;
+		for (int first = 0; first < Board.SIZE * Board.SIZE; first += 16) {
+			// nibble i of the little endian value is square first + i
+			long nibbles = in.getLong();
+			if (bigEndian) {
+				nibbles = Long.reverseBytes(nibbles);
+			}
+			// lowest bit of every nibble which is not 0, so only occupied
+			// squares are visited
+			long occupied = (nibbles | nibbles >>> 1 | nibbles >>> 2 | nibbles >>> 3) & LOWEST_NIBBLE_BITS;
+			for (; occupied != 0; occupied &= occupied - 1) {
+				int shift = Long.numberOfTrailingZeros(occupied);
+				int pieceIndex = (int) (nibbles >>> shift) & 0xF;
+				bitboards[toPiece(pieceIndex).ordinal()] |= Bitboards.bit(first + (shift >>> 2));
+			}
+		}
+		int flags = in.get() & 0xFF;
+		int state = (flags & ~HISTORY_IN_UNDO_RECORDS) >>> STATE_SHIFT;
+		int enPassantSquare = in.get() - 1;
+		if (state > STATES.length || enPassantSquare < Board.NO_EN_PASSANT
+				|| enPassantSquare >= Board.SIZE * Board.SIZE) {
+			throw new IllegalArgumentException("Invalid board snapshot state");
+		}
+		board.setCastlingRights(flags & Board.ALL_CASTLINGS);
+		board.setPieces(bitboards);
+		board.setState(state == 0 ? null : STATES[state - 1]);
+		board.setEnPassantSquare(enPassantSquare);
+		board.setInitialPly(in.getInt());
+		board.setInitialHalfmoveClock(in.getInt());
+
+		MoveHistory moveHistory = board.getMoveHistory();
+		boolean historyInUndoRecords = (flags & HISTORY_IN_UNDO_RECORDS) != 0;
+		int undoCount = in.getShort() & 0xFFFF;
+		board.pushUndoRecords(in.asLongBuffer(), undoCount);
+		in.position(in.position() + undoCount * Long.BYTES);
+		if (historyInUndoRecords) {
+			for (int i = 0; i < undoCount; i++) {
+				long undoRecord = board.getUndoRecord(i);
+				moveHistory.add(UndoRecord.getMove(undoRecord), UndoRecord.getMovedPiece(undoRecord));
+			}
+		}
+		if (!historyInUndoRecords) {
+			int moveCount = in.getShort() & 0xFFFF;
+			for (int i = 0; i < moveCount; i++) {
+				int move = in.getShort() & 0xFFFF;
+				moveHistory.add(move, toPiece(in.get() & 0xFF));
+			}
+		}
+		int positionCount = in.getShort() & 0xFFFF;
+		board.addPositionKeys(in.asLongBuffer(), positionCount);
+		in.position(in.position() + positionCount * Long.BYTES);
+	}
+
+	/**
+	 * Checks whether every recorded move is the move of the undo record with
+	 * the same index
+	 */
+	private static boolean isHistoryInUndoRecords(Board board) {
+		MoveHistory moveHistory = board.getMoveHistory();
+		if (moveHistory.size() != board.getUndoCount()) {
+			return false;
+		}
+		for (int i = 0; i < moveHistory.size(); i++) {
+			long undoRecord = board.getUndoRecord(i);
+			if (moveHistory.getPackedMove(i) != UndoRecord.getMove(undoRecord)
+					|| moveHistory.getMovedPiece(i) != UndoRecord.getMovedPiece(undoRecord)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int pieceIndex(Piece piece) {
+		return piece == null ? 0 : piece.ordinal() + 1;
+	}
+
+	private static Piece toPiece(int pieceIndex) {
+		if (pieceIndex > PIECES.length) {
+			throw new IllegalArgumentException("Invalid piece in board snapshot: " + pieceIndex);
+		}
+		return pieceIndex == 0 ? null : PIECES[pieceIndex - 1];
+	}
+}
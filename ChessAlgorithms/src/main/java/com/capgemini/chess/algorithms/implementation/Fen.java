@@ -0,0 +1,338 @@
+package com.capgemini.chess.algorithms.implementation;
+
+import java.nio.ByteBuffer;
+
+import com.capgemini.chess.algorithms.data.Bitboards;
+import com.capgemini.chess.algorithms.data.enums.Color;
+import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.data.generated.Board;
+
+/**
+ * Reads and writes positions in Forsyth-Edwards Notation: piece placement,
+ * side to move, castling rights, en passant field, halfmove clock and
+ * fullmove number. The clocks may be omitted when reading, in which case
+ * they default to 0 and 1.
+ * <p>
+ * Parsing into a reused {@link Board} and writing to a
+ * <code>StringBuilder</code> or a <code>ByteBuffer</code> do not allocate,
+ * only invalid input creates an exception. Castling rights are written only
+ * for kings and rooks standing on their initial fields.
+ *
+ */
+public final class Fen {
+
+	public static final String INITIAL_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+	private static final String PIECE_SYMBOLS = "KQBNRPkqbnrp";
+	private static final Piece[] PIECES = Piece.values();
+
+	private Fen() {
+	}
+
+	/**
+	 * Creates board with the position
+	 *
+	 * @param fen
+	 *            position in FEN
+	 * @return new board
+	 * @throws IllegalArgumentException
+	 *             if the notation is invalid
+	 */
+	public static Board parse(CharSequence fen) {
+		Board board = new Board();
+		parse(fen, board);
+		return board;
+	}
+
+	/**
+	 * Sets up the position on a board, previous pieces and moves of the
+	 * board are removed
+	 *
+	 * @param fen
+	 *            position in FEN
+	 * @param board
+	 *            reused board
+	 * @throws IllegalArgumentException
+	 *             if the notation is invalid, the board is left cleared or
+	 *             partially set up
+	 */
+	public static void parse(CharSequence fen, Board board) {
+		board.clear();
+		int length = fen.length();
+		int index = skipSpaces(fen, 0);
+
+		int x = 0;
+		int y = Board.SIZE - 1;
+		for (; index < length && fen.charAt(index) != ' '; index++) {
+			char symbol = fen.charAt(index);
+			if (symbol == '/') {
+				if (x != Board.SIZE || y == 0) {
+					throw invalid(fen);
+				}
+				x = 0;
+				y--;
+			} else if (symbol >= '1' && symbol <= '8') {
+				x += symbol - '0';
+				if (x > Board.SIZE) {
+					throw invalid(fen);
+				}
+			} else {
+				int piece = PIECE_SYMBOLS.indexOf(symbol);
+				if (piece < 0 || x == Board.SIZE) {
+					throw invalid(fen);
+				}
+				board.setPieceAt(PIECES[piece], Bitboards.square(x, y));
+				x++;
+			}
+		}
+		if (x != Board.SIZE || y != 0) {
+			throw invalid(fen);
+		}
+
+		index = skipSpaces(fen, index);
+		if (index == length) {
+			throw invalid(fen);
+		}
+		boolean blackToMove;
+		char side = fen.charAt(index++);
+		if (side == 'w') {
+			blackToMove = false;
+		} else if (side == 'b') {
+			blackToMove = true;
+		} else {
+			throw invalid(fen);
+		}
+
+		index = skipSpaces(fen, index);
+		int castlingRights = 0;
+		if (index < length && fen.charAt(index) == '-') {
+			index++;
+		} else {
+			for (; index < length && fen.charAt(index) != ' '; index++) {
+				castlingRights |= getCastlingFlag(fen.charAt(index), fen);
+			}
+		}
+
+		index = skipSpaces(fen, index);
+		int enPassantSquare = Board.NO_EN_PASSANT;
+		if (index < length && fen.charAt(index) == '-') {
+			index++;
+		} else if (index + 1 < length) {
+			int fileX = fen.charAt(index) - 'a';
+			int rankY = fen.charAt(index + 1) - '1';
+			if (!Bitboards.isOnBoard(fileX, rankY) || (rankY != 2 && rankY != Board.SIZE - 3)) {
+				throw invalid(fen);
+			}
+			enPassantSquare = Bitboards.square(fileX, rankY);
+			index += 2;
+		}
+
+		index = skipSpaces(fen, index);
+		int halfmoveClock = 0;
+		int fullmoveNumber = 1;
+		if (index < length) {
+			int end = skipDigits(fen, index);
+			halfmoveClock = parseNumber(fen, index, end);
+			index = skipSpaces(fen, end);
+			if (index < length) {
+				end = skipDigits(fen, index);
+				fullmoveNumber = Math.max(1, parseNumber(fen, index, end));
+				index = skipSpaces(fen, end);
+			}
+		}
+		if (index != length) {
+			throw invalid(fen);
+		}
+
+		board.setCastlingRights(castlingRights);
+		board.setEnPassantSquare(enPassantSquare);
+		board.setInitialPly(2 * (fullmoveNumber - 1) + (blackToMove ? 1 : 0));
+		board.setInitialHalfmoveClock(halfmoveClock);
+	}
+
+	/**
+	 * Writes the position of a board
+	 *
+	 * @param board
+	 *            board
+	 * @return position in FEN
+	 */
+	public static String toFen(Board board) {
+		StringBuilder fen = new StringBuilder(90);
+		write(board, fen);
+		return fen.toString();
+	}
+
+	/**
+	 * Appends the position of a board
+	 *
+	 * @param board
+	 *            board
+	 * @param out
+	 *            builder for the position in FEN
+	 */
+	public static void write(Board board, StringBuilder out) {
+		write(board, out, null);
+	}
+
+	/**
+	 * Puts the position of a board as ASCII bytes at the position of the
+	 * buffer
+	 *
+	 * @param board
+	 *            board
+	 * @param out
+	 *            buffer for the position in FEN, at least 90 bytes remaining
+	 * @throws java.nio.BufferOverflowException
+	 *             if the buffer is too small
+	 */
+	public static void write(Board board, ByteBuffer out) {
+		write(board, null, out);
+	}
+
+	private static void write(Board board, StringBuilder builder, ByteBuffer buffer) {
+		for (int y = Board.SIZE - 1; y >= 0; y--) {
+			int emptyFields = 0;
+			for (int x = 0; x < Board.SIZE; x++) {
+				Piece piece = board.getPieceAt(Bitboards.square(x, y));
+				if (piece == null) {
+					emptyFields++;
+					continue;
+				}
+				if (emptyFields > 0) {
+					put(builder, buffer, (char) ('0' + emptyFields));
+					emptyFields = 0;
+				}
+				put(builder, buffer, PIECE_SYMBOLS.charAt(piece.ordinal()));
+			}
+			if (emptyFields > 0) {
+				put(builder, buffer, (char) ('0' + emptyFields));
+			}
+			if (y > 0) {
+				put(builder, buffer, '/');
+			}
+		}
+
+		put(builder, buffer, ' ');
+		put(builder, buffer, board.getSideToMove() == Color.WHITE ? 'w' : 'b');
+
+		put(builder, buffer, ' ');
+		int castlingRights = getAvailableCastlingRights(board);
+		if (castlingRights == 0) {
+			put(builder, buffer, '-');
+		} else {
+			if ((castlingRights & Board.WHITE_KING_SIDE_CASTLING) != 0) {
+				put(builder, buffer, 'K');
+			}
+			if ((castlingRights & Board.WHITE_QUEEN_SIDE_CASTLING) != 0) {
+				put(builder, buffer, 'Q');
+			}
+			if ((castlingRights & Board.BLACK_KING_SIDE_CASTLING) != 0) {
+				put(builder, buffer, 'k');
+			}
+			if ((castlingRights & Board.BLACK_QUEEN_SIDE_CASTLING) != 0) {
+				put(builder, buffer, 'q');
+			}
+		}
+
+		put(builder, buffer, ' ');
+		int enPassantSquare = board.getEnPassantSquare();
+		if (enPassantSquare == Board.NO_EN_PASSANT) {
+			put(builder, buffer, '-');
+		} else {
+			put(builder, buffer, (char) ('a' + Bitboards.getX(enPassantSquare)));
+			put(builder, buffer, (char) ('1' + Bitboards.getY(enPassantSquare)));
+		}
+
+		put(builder, buffer, ' ');
+		putNumber(builder, buffer, board.getHalfmoveClock());
+		put(builder, buffer, ' ');
+		putNumber(builder, buffer, board.getFullmoveNumber());
+	}
+
+	/**
+	 * Castling rights of the board limited to kings and rooks standing on
+	 * their initial fields
+	 */
+	private static int getAvailableCastlingRights(Board board) {
+		int castlingRights = board.getCastlingRights();
+		if (board.getPieceAt(Bitboards.square(4, 0)) != Piece.WHITE_KING) {
+			castlingRights &= ~(Board.WHITE_KING_SIDE_CASTLING | Board.WHITE_QUEEN_SIDE_CASTLING);
+		}
+		if (board.getPieceAt(Bitboards.square(7, 0)) != Piece.WHITE_ROOK) {
+			castlingRights &= ~Board.WHITE_KING_SIDE_CASTLING;
+		}
+		if (board.getPieceAt(Bitboards.square(0, 0)) != Piece.WHITE_ROOK) {
+			castlingRights &= ~Board.WHITE_QUEEN_SIDE_CASTLING;
+		}
+		if (board.getPieceAt(Bitboards.square(4, Board.SIZE - 1)) != Piece.BLACK_KING) {
+			castlingRights &= ~(Board.BLACK_KING_SIDE_CASTLING | Board.BLACK_QUEEN_SIDE_CASTLING);
+		}
+		if (board.getPieceAt(Bitboards.square(7, Board.SIZE - 1)) != Piece.BLACK_ROOK) {
+			castlingRights &= ~Board.BLACK_KING_SIDE_CASTLING;
+		}
+		if (board.getPieceAt(Bitboards.square(0, Board.SIZE - 1)) != Piece.BLACK_ROOK) {
+			castlingRights &= ~Board.BLACK_QUEEN_SIDE_CASTLING;
+		}
+		return castlingRights;
+	}
+
+	private static int getCastlingFlag(char symbol, CharSequence fen) {
+		switch (symbol) {
+		case 'K':
+			return Board.WHITE_KING_SIDE_CASTLING;
+		case 'Q':
+			return Board.WHITE_QUEEN_SIDE_CASTLING;
+		case 'k':
+			return Board.BLACK_KING_SIDE_CASTLING;
+		case 'q':
+			return Board.BLACK_QUEEN_SIDE_CASTLING;
+		default:
+			throw invalid(fen);
+		}
+	}
+
+	private static void put(StringBuilder builder, ByteBuffer buffer, char symbol) {
+		if (builder != null) {
+			builder.append(symbol);
+		} else {
+			buffer.put((byte) symbol);
+		}
+	}
+
+	private static void putNumber(StringBuilder builder, ByteBuffer buffer, int number) {
+		if (number >= 10) {
+			putNumber(builder, buffer, number / 10);
+		}
+		put(builder, buffer, (char) ('0' + number % 10));
+	}
+
+	private static int skipSpaces(CharSequence fen, int index) {
+		while (index < fen.length() && fen.charAt(index) == ' ') {
+			index++;
+		}
+		return index;
+	}
+
+	private static int skipDigits(CharSequence fen, int index) {
+		while (index < fen.length() && fen.charAt(index) >= '0' && fen.charAt(index) <= '9') {
+			index++;
+		}
+		return index;
+	}
+
+	private static int parseNumber(CharSequence fen, int start, int end) {
+		if (start == end || end - start > 6) {
+			throw invalid(fen);
+		}
+		int number = 0;
+		for (int i = start; i < end; i++) {
+			number = number * 10 + fen.charAt(i) - '0';
+		}
+		return number;
+	}
+
+	private static IllegalArgumentException invalid(CharSequence fen) {
+		return new IllegalArgumentException("Invalid FEN: " + fen);
+	}
+}
@@ -0,0 +1,136 @@
+package com.capgemini.chess.algorithms.implementation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.capgemini.chess.algorithms.data.Bitboards;
+import com.capgemini.chess.algorithms.data.PackedMove;
+import com.capgemini.chess.algorithms.data.enums.Color;
+import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.data.enums.PieceType;
+
+/**
+ * Perft (performance test) driver. Counts leaf nodes of the legal move tree
+ * of given depth, which verifies move generation against known reference
+ * values and measures its speed.
+ *
+ */
+public class Perft {
+
+	private final BoardManager boardManager;
+	private int[][] moveBuffers = new int[0][];
+
+	public Perft(BoardManager boardManager) {
+		this.boardManager = boardManager;
+	}
+
+	/**
+	 * Counts leaf nodes of the move tree. Moves are made and taken back on
+	 * the board of the board manager, the board is left unchanged.
+	 *
+	 * @param depth
+	 *            depth of the tree, at least 1
+	 * @return number of leaf nodes
+	 */
+	public long perft(int depth) {
+		ensureMoveBuffers(depth);
+		return perft(depth, 0);
+	}
+
+	/**
+	 * Counts leaf nodes of the move tree separately for every root move
+	 *
+	 * @param depth
+	 *            depth of the tree, at least 1
+	 * @return node counts keyed by root move in coordinate notation, e.g.
+	 *         "e2e4" or "a7a8n"
+	 */
+	public Map<String, Long> divide(int depth) {
+		Map<String, Long> result = new LinkedHashMap<>();
+		ensureMoveBuffers(depth);
+		int[] moves = this.moveBuffers[0];
+		int count = this.boardManager.generateLegalMoves(getNextMoveColor(), moves);
+		for (int i = 0; i < count; i++) {
+			String notation = toNotation(moves[i]);
+			long nodes = 1;
+			if (depth > 1) {
+				this.boardManager.makeMove(moves[i]);
+				nodes = perft(depth - 1, 1);
+				this.boardManager.unmakeMove();
+			}
+			result.put(notation, nodes);
+		}
+		return result;
+	}
+
+	/**
+	 * Runs all reference positions up to given depth and prints node counts
+	 * and speed. First argument is the maximal depth (default 4).
+	 *
+	 * @param args
+	 *            program arguments
+	 */
+	public static void main(String[] args) {
+		int maxDepth = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+		long totalNodes = 0;
+		long totalNanos = 0;
+		for (PerftPosition position : PerftPosition.values()) {
+			int depth = Math.min(maxDepth, position.getMaxDepth());
+			Perft perft = new Perft(new BoardManager(position.createBoard()));
+			long start = System.nanoTime();
+			long nodes = perft.perft(depth);
+			long nanos = System.nanoTime() - start;
+			totalNodes += nodes;
+			totalNanos += nanos;
+			System.out.printf("%-12s depth %d: %,12d nodes %8.3f s %,12d nodes/s %s%n", position, depth, nodes,
+					nanos / 1e9, nodesPerSecond(nodes, nanos), nodes == position.getNodes(depth) ? "OK" : "FAILED");
+		}
+		System.out.printf("%-20s %,12d nodes %8.3f s %,12d nodes/s%n", "TOTAL", totalNodes, totalNanos / 1e9,
+				nodesPerSecond(totalNodes, totalNanos));
+	}
+
+	private long perft(int depth, int ply) {
+		int[] moves = this.moveBuffers[ply];
+		int count = this.boardManager.generateLegalMoves(getNextMoveColor(), moves);
+		if (depth == 1) {
+			return count;
+		}
+		long nodes = 0;
+		for (int i = 0; i < count; i++) {
+			this.boardManager.makeMove(moves[i]);
+			nodes += perft(depth - 1, ply + 1);
+			this.boardManager.unmakeMove();
+		}
+		return nodes;
+	}
+
+	private void ensureMoveBuffers(int depth) {
+		if (this.moveBuffers.length < depth) {
+			this.moveBuffers = new int[depth][BoardManager.MAX_MOVES];
+		}
+	}
+
+	private Color getNextMoveColor() {
+		return this.boardManager.getBoard().getSideToMove();
+	}
+
+	private String toNotation(int move) {
+		StringBuilder notation = new StringBuilder();
+		appendSquare(notation, PackedMove.getFrom(move));
+		appendSquare(notation, PackedMove.getTo(move));
+		Piece movedPiece = this.boardManager.getBoard().getPieceAt(PackedMove.getFrom(move));
+		if (PackedMove.isPromotion(movedPiece, PackedMove.getTo(move))) {
+			PieceType promotion = PackedMove.getPromotion(move);
+			notation.append(promotion == PieceType.KNIGHT ? 'n' : Character.toLowerCase(promotion.name().charAt(0)));
+		}
+		return notation.toString();
+	}
+
+	private static void appendSquare(StringBuilder notation, int square) {
+		notation.append((char) ('a' + Bitboards.getX(square))).append((char) ('1' + Bitboards.getY(square)));
+	}
+
+	private static long nodesPerSecond(long nodes, long nanos) {
+		return nanos > 0 ? nodes * 1000000000L / nanos : 0;
+	}
+}
@@ -0,0 +1,60 @@
+package com.capgemini.chess.algorithms.implementation;
+
+import com.capgemini.chess.algorithms.data.generated.Board;
+
+/**
+ * Standard perft reference positions with their known node counts, given in
+ * FEN.
+ *
+ */
+public enum PerftPosition {
+
+	INITIAL(Fen.INITIAL_POSITION, 20, 400, 8902, 197281, 4865609),
+	KIWIPETE("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1", 48, 2039, 97862, 4085603),
+	ENDGAME("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", 14, 191, 2812, 43238, 674624),
+	PROMOTIONS("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1", 6, 264, 9467, 422333),
+	TALKCHESS("rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8", 44, 1486, 62379, 2103487),
+	MIDDLEGAME("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10", 46, 2079, 89890,
+			3894594);
+
+	private final String fen;
+	private final long[] nodes;
+
+	PerftPosition(String fen, long... nodes) {
+		this.fen = fen;
+		this.nodes = nodes;
+	}
+
+	public String getFen() {
+		return fen;
+	}
+
+	/**
+	 * Maximal depth with known node count
+	 * 
+	 * @return depth
+	 */
+	public int getMaxDepth() {
+		return nodes.length;
+	}
+
+	/**
+	 * Known number of leaf nodes at given depth
+	 * 
+	 * @param depth
+	 *            depth, from 1 to {@link #getMaxDepth()}
+	 * @return node count
+	 */
+	public long getNodes(int depth) {
+		return nodes[depth - 1];
+	}
+
+	/**
+	 * Creates board with the position
+	 * 
+	 * @return new board
+	 */
+	public Board createBoard() {
+		return Fen.parse(fen);
+	}
+}
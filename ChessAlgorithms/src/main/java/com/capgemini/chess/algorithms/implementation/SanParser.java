@@ -0,0 +1,167 @@
+package com.capgemini.chess.algorithms.implementation;
+
+import com.capgemini.chess.algorithms.data.Bitboards;
+import com.capgemini.chess.algorithms.data.PackedMove;
+import com.capgemini.chess.algorithms.data.enums.Color;
+import com.capgemini.chess.algorithms.data.enums.MoveType;
+import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.data.enums.PieceType;
+import com.capgemini.chess.algorithms.data.generated.Board;
+import com.capgemini.chess.algorithms.implementation.exceptions.InvalidMoveException;
+
+/**
+ * Resolves moves written in standard algebraic notation (SAN), e.g.
+ * <code>Nbd7</code>, <code>exd6</code>, <code>e8=Q+</code> or
+ * <code>O-O-O</code>, to packed moves of the side to move. The notation is
+ * matched against legal moves of the named piece type to the named field,
+ * generated to a reused buffer, so parsing does not allocate.
+ *
+ */
+public class SanParser {
+
+	private static final int NONE = -1;
+
+	private final BoardManager boardManager;
+	private final int[] moves = new int[BoardManager.MAX_MOVES];
+
+	public SanParser(BoardManager boardManager) {
+		this.boardManager = boardManager;
+	}
+
+	/**
+	 * Finds legal move of the side to move written in the notation. Check and
+	 * annotation symbols (<code>+#!?</code>) are ignored, castling may be
+	 * written with letters or zeros. A promotion without the piece letter
+	 * promotes to a queen.
+	 *
+	 * @param san
+	 *            move in standard algebraic notation
+	 * @return packed move, see {@link PackedMove}
+	 * @throws InvalidMoveException
+	 *             if the notation is malformed, or matches no legal move or
+	 *             more than one
+	 */
+	public int parse(CharSequence san) throws InvalidMoveException {
+		int end = san.length();
+		while (end > 0 && isSuffix(san.charAt(end - 1))) {
+			end--;
+		}
+		if (end < 2) {
+			throw new InvalidMoveException("Malformed move: " + san);
+		}
+		Board board = this.boardManager.getBoard();
+		Color color = board.getSideToMove();
+		if (san.charAt(0) == 'O' || san.charAt(0) == '0') {
+			int count = this.boardManager.generateLegalMoves(color,
+					board.getPieceBitboard(Piece.getPieceByTypeAndColor(PieceType.KING, color)), -1L, this.moves);
+			return findCastling(san, end, count);
+		}
+
+		PieceType promotion = null;
+		char last = san.charAt(end - 1);
+		if (getPieceType(last) != null) {
+			promotion = getPieceType(last);
+			end--;
+			if (end > 0 && san.charAt(end - 1) == '=') {
+				end--;
+			}
+		}
+		if (end < 2) {
+			throw new InvalidMoveException("Malformed move: " + san);
+		}
+		int toX = san.charAt(end - 2) - 'a';
+		int toY = san.charAt(end - 1) - '1';
+		if (!Bitboards.isOnBoard(toX, toY)) {
+			throw new InvalidMoveException("Malformed move: " + san);
+		}
+		int to = Bitboards.square(toX, toY);
+
+		int start = 0;
+		PieceType pieceType = getPieceType(san.charAt(0));
+		if (pieceType != null) {
+			start++;
+		} else {
+			pieceType = PieceType.PAWN;
+		}
+		int fromX = NONE;
+		int fromY = NONE;
+		for (int i = start; i < end - 2; i++) {
+			char symbol = san.charAt(i);
+			if (symbol >= 'a' && symbol <= 'h') {
+				fromX = symbol - 'a';
+			} else if (symbol >= '1' && symbol <= '8') {
+				fromY = symbol - '1';
+			} else if (symbol != 'x' && symbol != '-') {
+				throw new InvalidMoveException("Malformed move: " + san);
+			}
+		}
+
+		// only moves of the named piece type to the named field are validated
+		int count = this.boardManager.generateLegalMoves(color,
+				board.getPieceBitboard(Piece.getPieceByTypeAndColor(pieceType, color)), Bitboards.bit(to), this.moves);
+		int found = NONE;
+		for (int i = 0; i < count; i++) {
+			int move = this.moves[i];
+			int from = PackedMove.getFrom(move);
+			Piece movedPiece = board.getPieceAt(from);
+			if (PackedMove.getTo(move) != to || movedPiece.getType() != pieceType
+					|| PackedMove.getType(move) == MoveType.CASTLING
+					|| (fromX != NONE && Bitboards.getX(from) != fromX)
+					|| (fromY != NONE && Bitboards.getY(from) != fromY)) {
+				continue;
+			}
+			if (PackedMove.isPromotion(movedPiece, to)
+					&& PackedMove.getPromotion(move) != (promotion != null ? promotion : PieceType.QUEEN)) {
+				continue;
+			}
+			if (found != NONE) {
+				throw new InvalidMoveException("Ambiguous move: " + san);
+			}
+			found = move;
+		}
+		if (found == NONE) {
+			throw new InvalidMoveException("Illegal move: " + san);
+		}
+		return found;
+	}
+
+	private int findCastling(CharSequence san, int end, int count) throws InvalidMoveException {
+		boolean queenSide;
+		if (end == 3) {
+			queenSide = false;
+		} else if (end == 5) {
+			queenSide = true;
+		} else {
+			throw new InvalidMoveException("Malformed move: " + san);
+		}
+		for (int i = 0; i < count; i++) {
+			int move = this.moves[i];
+			if (PackedMove.getType(move) == MoveType.CASTLING
+					&& (PackedMove.getTo(move) < PackedMove.getFrom(move)) == queenSide) {
+				return move;
+			}
+		}
+		throw new InvalidMoveException("Illegal move: " + san);
+	}
+
+	private static boolean isSuffix(char symbol) {
+		return symbol == '+' || symbol == '#' || symbol == '!' || symbol == '?';
+	}
+
+	private static PieceType getPieceType(char symbol) {
+		switch (symbol) {
+		case 'K':
+			return PieceType.KING;
+		case 'Q':
+			return PieceType.QUEEN;
+		case 'R':
+			return PieceType.ROOK;
+		case 'B':
+			return PieceType.BISHOP;
+		case 'N':
+			return PieceType.KNIGHT;
+		default:
+			return null;
+		}
+	}
+}
@@ -0,0 +1,183 @@
+package com.capgemini.chess.algorithms.pgn;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.capgemini.chess.algorithms.implementation.BoardManager;
+import com.capgemini.chess.algorithms.implementation.SanParser;
+import com.capgemini.chess.algorithms.implementation.exceptions.InvalidMoveException;
+
+/**
+ * Replays games from PGN streams. Games are read one by one by
+ * {@link PgnReader}, their moves are resolved by {@link SanParser} and made
+ * on one reused {@link BoardManager}, which is taken back to the initial
+ * position after every game, so memory use does not depend on the size of
+ * the input. Games starting from a custom position (FEN tag) are skipped,
+ * games with an illegal move are counted as invalid.
+ *
+ */
+public class PgnImporter {
+
+	/**
+	 * Receiver of imported games
+	 */
+	public interface GameListener {
+
+		/**
+		 * Called after all moves of a game were made
+		 *
+		 * @param tags
+		 *            tag pairs of the game
+		 * @param result
+		 *            game result as in {@link PgnReader}
+		 * @param boardManager
+		 *            board manager in the final position of the game, valid
+		 *            only during the call
+		 */
+		void gameImported(Map<String, String> tags, String result, BoardManager boardManager);
+	}
+
+	private final GameListener listener;
+	private final BoardManager boardManager = new BoardManager();
+	private final SanParser sanParser = new SanParser(this.boardManager);
+	private final Map<String, String> tags = new HashMap<>();
+	private final List<String> moves = new ArrayList<>();
+	private long gameCount;
+	private long moveCount;
+	private long skippedGameCount;
+	private long invalidGameCount;
+	private long nanos;
+
+	public PgnImporter() {
+		this(null);
+	}
+
+	/**
+	 * Creates importer
+	 *
+	 * @param listener
+	 *            receiver of imported games or null
+	 */
+	public PgnImporter(GameListener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * Imports all games of the stream, statistics are added to the ones of
+	 * previous imports
+	 *
+	 * @param channel
+	 *            PGN text, not closed
+	 * @throws IOException
+	 *             if reading fails
+	 */
+	public void importGames(ReadableByteChannel channel) throws IOException {
+		long start = System.nanoTime();
+		PgnReader pgnReader = new PgnReader(channel);
+		String result;
+		while ((result = pgnReader.readGame(this.tags, this.moves)) != null) {
+			if (this.tags.containsKey("FEN")) {
+				this.skippedGameCount++;
+			} else {
+				replayGame(result);
+			}
+		}
+		this.nanos += System.nanoTime() - start;
+	}
+
+	/**
+	 * Gets number of completely replayed games
+	 *
+	 * @return number of games
+	 */
+	public long getGameCount() {
+		return this.gameCount;
+	}
+
+	/**
+	 * Gets number of made moves, moves of invalid games included
+	 *
+	 * @return number of moves
+	 */
+	public long getMoveCount() {
+		return this.moveCount;
+	}
+
+	public long getSkippedGameCount() {
+		return this.skippedGameCount;
+	}
+
+	/**
+	 * Gets number of games with an illegal or unreadable move
+	 *
+	 * @return number of games
+	 */
+	public long getInvalidGameCount() {
+		return this.invalidGameCount;
+	}
+
+	public long getNanos() {
+		return this.nanos;
+	}
+
+	public double getGamesPerSecond() {
+		return this.nanos == 0 ? 0.0 : this.gameCount * 1e9 / this.nanos;
+	}
+
+	public double getMovesPerSecond() {
+		return this.nanos == 0 ? 0.0 : this.moveCount * 1e9 / this.nanos;
+	}
+
+	/**
+	 * Imports PGN files given as arguments and prints statistics
+	 *
+	 * @param args
+	 *            PGN files
+	 * @throws IOException
+	 *             if reading fails
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1) {
+			System.err.println("Usage: PgnImporter <pgn file>...");
+			System.exit(1);
+		}
+		PgnImporter importer = new PgnImporter();
+		for (String file : args) {
+			try (FileChannel channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ)) {
+				importer.importGames(channel);
+			}
+		}
+		System.out.printf("%,d games, %,d skipped, %,d invalid, %,d moves in %.1f s: %,.0f games/s, %,.0f moves/s%n",
+				importer.getGameCount(), importer.getSkippedGameCount(), importer.getInvalidGameCount(),
+				importer.getMoveCount(), importer.getNanos() / 1e9, importer.getGamesPerSecond(),
+				importer.getMovesPerSecond());
+	}
+
+	private void replayGame(String result) {
+		int madeMoves = 0;
+		try {
+			for (String move : this.moves) {
+				this.boardManager.makeMove(this.sanParser.parse(move));
+				madeMoves++;
+			}
+			this.gameCount++;
+			if (this.listener != null) {
+				this.listener.gameImported(this.tags, result, this.boardManager);
+			}
+		} catch (InvalidMoveException e) {
+			this.invalidGameCount++;
+		} finally {
+			this.moveCount += madeMoves;
+			for (int i = 0; i < madeMoves; i++) {
+				this.boardManager.unmakeMove();
+			}
+		}
+	}
+}
@@ -0,0 +1,243 @@
+package com.capgemini.chess.algorithms.pgn;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads games from text in Portable Game Notation one by one. Tag pairs are
+ * collected to a map and moves of the main line to a list in standard
+ * algebraic notation; move numbers, comments, variations and numeric
+ * annotation glyphs are skipped. Moves are not validated, see
+ * {@link com.capgemini.chess.algorithms.implementation.SanParser}.
+ * <p>
+ * Text is read in chunks of a fixed buffer, so files of any size are read in
+ * constant memory. Byte channels are read as ISO-8859-1 text, which keeps all
+ * PGN syntax intact for any 8-bit encoding and needs no decoder.
+ *
+ */
+public class PgnReader implements Closeable {
+
+	public static final String WHITE_WINS = "1-0";
+	public static final String BLACK_WINS = "0-1";
+	public static final String DRAW = "1/2-1/2";
+	public static final String UNKNOWN_RESULT = "*";
+
+	private static final int END = -1;
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final Reader reader;
+	private final ReadableByteChannel channel;
+	private final ByteBuffer byteBuffer;
+	private final char[] buffer = new char[BUFFER_SIZE];
+	private final StringBuilder token = new StringBuilder();
+	private int position;
+	private int limit;
+
+	public PgnReader(Reader reader) {
+		this.reader = reader;
+		this.channel = null;
+		this.byteBuffer = null;
+	}
+
+	public PgnReader(ReadableByteChannel channel) {
+		this.reader = null;
+		this.channel = channel;
+		this.byteBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+	}
+
+	/**
+	 * Reads the next game
+	 *
+	 * @param tags
+	 *            map for tag pairs of the game, cleared first
+	 * @param moves
+	 *            list for moves of the game, cleared first
+	 * @return game result ({@link #WHITE_WINS}, {@link #BLACK_WINS},
+	 *         {@link #DRAW} or {@link #UNKNOWN_RESULT}), or null if there are
+	 *         no more games
+	 * @throws IOException
+	 *             if reading fails
+	 */
+	public String readGame(Map<String, String> tags, List<String> moves) throws IOException {
+		tags.clear();
+		moves.clear();
+		boolean gameStarted = false;
+		int symbol;
+		while ((symbol = peek()) != END) {
+			if (symbol == '[') {
+				if (!moves.isEmpty()) {
+					// game without result termination
+					return UNKNOWN_RESULT;
+				}
+				next();
+				readTag(tags);
+				gameStarted = true;
+			} else if (symbol == '{') {
+				skipUntil('}');
+			} else if (symbol == ';' || (symbol == '%' && isLineStart())) {
+				skipUntil('\n');
+			} else if (symbol == '(') {
+				skipVariation();
+			} else if (symbol == '$') {
+				next();
+				while (Character.isDigit(peek())) {
+					next();
+				}
+			} else if (Character.isWhitespace(symbol) || symbol == ')' || symbol == '}' || symbol == ']') {
+				next();
+			} else {
+				String result = readMoveToken(moves);
+				gameStarted = true;
+				if (result != null) {
+					return result;
+				}
+			}
+		}
+		return gameStarted ? UNKNOWN_RESULT : null;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (this.reader != null) {
+			this.reader.close();
+		} else {
+			this.channel.close();
+		}
+	}
+
+	/**
+	 * Reads a movetext token, move numbers are dropped
+	 *
+	 * @return result if the token terminates the game, null otherwise
+	 */
+	private String readMoveToken(List<String> moves) throws IOException {
+		StringBuilder text = this.token;
+		text.setLength(0);
+		int symbol;
+		while ((symbol = peek()) != END && !Character.isWhitespace(symbol) && "{}()[];$".indexOf(symbol) < 0) {
+			text.append((char) next());
+		}
+		String value = text.toString();
+		if (value.equals(WHITE_WINS) || value.equals(BLACK_WINS) || value.equals(DRAW)
+				|| value.equals(UNKNOWN_RESULT)) {
+			return value;
+		}
+		int start = 0;
+		while (start < value.length() && Character.isDigit(value.charAt(start))) {
+			start++;
+		}
+		if (start < value.length() && value.charAt(start) == '.') {
+			while (start < value.length() && value.charAt(start) == '.') {
+				start++;
+			}
+		} else {
+			start = 0;
+		}
+		if (start < value.length()) {
+			moves.add(value.substring(start));
+		}
+		return null;
+	}
+
+	private void readTag(Map<String, String> tags) throws IOException {
+		StringBuilder name = new StringBuilder();
+		StringBuilder value = new StringBuilder();
+		int symbol;
+		while ((symbol = peek()) != END && Character.isWhitespace(symbol)) {
+			next();
+		}
+		while ((symbol = peek()) != END && !Character.isWhitespace(symbol) && symbol != '"' && symbol != ']') {
+			name.append((char) next());
+		}
+		while ((symbol = peek()) != END && symbol != '"' && symbol != ']') {
+			next();
+		}
+		if (symbol == '"') {
+			next();
+			while ((symbol = next()) != END && symbol != '"') {
+				if (symbol == '\\') {
+					symbol = next();
+				}
+				if (symbol != END) {
+					value.append((char) symbol);
+				}
+			}
+		}
+		skipUntil(']');
+		if (name.length() > 0) {
+			tags.put(name.toString(), value.toString());
+		}
+	}
+
+	private void skipVariation() throws IOException {
+		int depth = 0;
+		int symbol;
+		while ((symbol = next()) != END) {
+			if (symbol == '(') {
+				depth++;
+			} else if (symbol == ')') {
+				if (--depth == 0) {
+					return;
+				}
+			} else if (symbol == '{') {
+				skipUntil('}');
+			} else if (symbol == ';') {
+				skipUntil('\n');
+			}
+		}
+	}
+
+	private void skipUntil(char terminator) throws IOException {
+		int symbol;
+		while ((symbol = next()) != END && symbol != terminator) {
+			// skipped
+		}
+	}
+
+	private boolean isLineStart() {
+		return this.position == 0 || this.buffer[this.position - 1] == '\n';
+	}
+
+	private int peek() throws IOException {
+		if (this.position == this.limit && !fill()) {
+			return END;
+		}
+		return this.buffer[this.position];
+	}
+
+	private int next() throws IOException {
+		if (this.position == this.limit && !fill()) {
+			return END;
+		}
+		return this.buffer[this.position++];
+	}
+
+	private boolean fill() throws IOException {
+		int read = this.reader != null ? this.reader.read(this.buffer, 0, this.buffer.length) : fillFromChannel();
+		if (read <= 0) {
+			return false;
+		}
+		this.position = 0;
+		this.limit = read;
+		return true;
+	}
+
+	private int fillFromChannel() throws IOException {
+		this.byteBuffer.clear();
+		int read;
+		do {
+			read = this.channel.read(this.byteBuffer);
+		} while (read == 0);
+		this.byteBuffer.flip();
+		int count = this.byteBuffer.remaining();
+		for (int i = 0; i < count; i++) {
+			this.buffer[i] = (char) (this.byteBuffer.get(i) & 0xFF);
+		}
+		return read < 0 ? -1 : count;
+	}
+}
@@ -0,0 +1,87 @@
+package com.capgemini.chess.algorithms.search;
+
+import com.capgemini.chess.algorithms.data.PieceSquareTables;
+import com.capgemini.chess.algorithms.data.enums.Color;
+import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.data.generated.Board;
+
+/**
+ * Static evaluation of positions used by the search: material and
+ * piece-square values tapered between middlegame and endgame by the game
+ * phase, together with the pawn structure. Piece scores are maintained
+ * incrementally by {@link Board}, so the evaluation does not visit pieces;
+ * pawn structure scores are cached in a {@link PawnHashTable} keyed by
+ * {@link Board#getPawnKey()}.
+ *
+ */
+public class Evaluator {
+
+	private final PawnHashTable pawnHashTable;
+
+	public Evaluator() {
+		this(new PawnHashTable());
+	}
+
+	public Evaluator(PawnHashTable pawnHashTable) {
+		this.pawnHashTable = pawnHashTable;
+	}
+
+	/**
+	 * Evaluates position from the point of view of given side
+	 * 
+	 * @param board
+	 *            evaluated board
+	 * @param color
+	 *            side to move
+	 * @return score in centipawns, positive if the side is better
+	 */
+	public int evaluate(Board board, Color color) {
+		long pawnKey = board.getPawnKey();
+		int pawnScore = this.pawnHashTable.probe(pawnKey);
+		if (pawnScore == PawnHashTable.NO_ENTRY) {
+			pawnScore = evaluatePawns(board);
+			this.pawnHashTable.store(pawnKey, pawnScore);
+		}
+		int score = PieceSquareTables.taper(board.getMiddlegameScore() + PawnStructure.getMiddlegameScore(pawnScore),
+				board.getEndgameScore() + PawnStructure.getEndgameScore(pawnScore), board.getPhase());
+		return color == Color.WHITE ? score : -score;
+	}
+
+	/**
+	 * Evaluates position like {@link #evaluate(Board, Color)}, but sums values
+	 * of all pieces on the board instead of using the incremental scores and
+	 * does not use the pawn hash table. Used to verify the incremental update.
+	 * 
+	 * @param board
+	 *            evaluated board
+	 * @param color
+	 *            side to move
+	 * @return score in centipawns, positive if the side is better
+	 */
+	public int evaluateFromScratch(Board board, Color color) {
+		int middlegameScore = 0;
+		int endgameScore = 0;
+		int phase = 0;
+		for (int square = 0; square < Board.SIZE * Board.SIZE; square++) {
+			Piece piece = board.getPieceAt(square);
+			if (piece != null) {
+				middlegameScore += PieceSquareTables.getMiddlegameValue(piece, square);
+				endgameScore += PieceSquareTables.getEndgameValue(piece, square);
+				phase += PieceSquareTables.getPhaseWeight(piece);
+			}
+		}
+		int pawnScore = evaluatePawns(board);
+		int score = PieceSquareTables.taper(middlegameScore + PawnStructure.getMiddlegameScore(pawnScore),
+				endgameScore + PawnStructure.getEndgameScore(pawnScore), phase);
+		return color == Color.WHITE ? score : -score;
+	}
+
+	public PawnHashTable getPawnHashTable() {
+		return this.pawnHashTable;
+	}
+
+	private static int evaluatePawns(Board board) {
+		return PawnStructure.evaluate(board.getPieceBitboard(Piece.WHITE_PAWN),
+				board.getPieceBitboard(Piece.BLACK_PAWN));
+	}
+}
@@ -0,0 +1,270 @@
+package com.capgemini.chess.algorithms.search;
+
+import com.capgemini.chess.algorithms.data.PackedMove;
+import com.capgemini.chess.algorithms.data.PieceSquareTables;
+import com.capgemini.chess.algorithms.data.enums.MoveType;
+import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.data.enums.PieceType;
+import com.capgemini.chess.algorithms.data.generated.Board;
+import com.capgemini.chess.algorithms.implementation.BoardManager;
+
+/**
+ * Orders moves of the search so moves likely to cause a cutoff are tried
+ * first: the hash move, then captures and promotions by the most valuable
+ * victim and the least valuable attacker (MVV-LVA), then killer moves of the
+ * ply and finally quiet moves by the history heuristic. Killers are the last
+ * two quiet moves which caused a cutoff at the ply, history is a butterfly
+ * table of cutoffs of quiet moves indexed by 'from' and 'to' squares.
+ * <p>
+ * Moves are sorted in place in the move buffer of the search, scores are kept
+ * in preallocated buffers, so ordering does not allocate. The object belongs
+ * to one search thread.
+ *
+ */
+public class MoveOrdering {
+
+	private static final int SQUARES = Board.SIZE * Board.SIZE;
+
+	private static final int HASH_MOVE_SCORE = 1 << 30;
+	private static final int TACTICAL_SCORE = 1 << 28;
+	private static final int KILLER_SCORE = 1 << 27;
+	private static final int HISTORY_LIMIT = 1 << 20;
+
+	// value ranks indexed by PieceType ordinal, from 1 for pawns to 6 for kings
+	private static final int[] PIECE_RANKS = new int[PieceType.values().length];
+	private static final int[][] MVV_LVA = new int[PieceType.values().length][PieceType.values().length];
+
+	static {
+		for (PieceType type : PieceType.values()) {
+			for (PieceType other : PieceType.values()) {
+				if (PieceSquareTables.getPieceValue(other) <= PieceSquareTables.getPieceValue(type)) {
+					PIECE_RANKS[type.ordinal()]++;
+				}
+			}
+		}
+		for (PieceType victim : PieceType.values()) {
+			for (PieceType attacker : PieceType.values()) {
+				MVV_LVA[victim.ordinal()][attacker.ordinal()] = PIECE_RANKS[victim.ordinal()] * 8
+						+ 7 - PIECE_RANKS[attacker.ordinal()];
+			}
+		}
+	}
+
+	private final boolean heuristicsEnabled;
+	private final int[][] scoreBuffers = new int[Search.MAX_PLY][BoardManager.MAX_MOVES];
+	private final int[][] killers = new int[Search.MAX_PLY][2];
+	private final int[] history = new int[SQUARES * SQUARES];
+
+	public MoveOrdering() {
+		this(true);
+	}
+
+	private MoveOrdering(boolean heuristicsEnabled) {
+		this.heuristicsEnabled = heuristicsEnabled;
+	}
+
+	/**
+	 * Creates ordering which only puts the hash move first and keeps the
+	 * order of the move generator otherwise, used to measure gains of the
+	 * heuristics. Captures of the quiescence search are still ordered by
+	 * MVV-LVA, without it the quiescence search explodes.
+	 *
+	 * @return move ordering without heuristics
+	 */
+	public static MoveOrdering hashMoveOnly() {
+		return new MoveOrdering(false);
+	}
+
+	/**
+	 * Prepares for a new search: clears killers and halves history scores,
+	 * so cutoffs of the previous search still count but less
+	 */
+	public void newSearch() {
+		for (int[] plyKillers : this.killers) {
+			plyKillers[0] = Search.NO_MOVE;
+			plyKillers[1] = Search.NO_MOVE;
+		}
+		ageHistory();
+	}
+
+	/**
+	 * Sorts moves of a node, best first
+	 *
+	 * @param board
+	 *            board before the moves
+	 * @param moves
+	 *            move buffer
+	 * @param count
+	 *            number of moves in the buffer
+	 * @param ply
+	 *            distance from the root
+	 * @param hashMove
+	 *            move from the transposition table or {@link Search#NO_MOVE}
+	 */
+	public void orderMoves(Board board, int[] moves, int count, int ply, int hashMove) {
+		if (!this.heuristicsEnabled) {
+			moveToFront(moves, count, hashMove);
+			return;
+		}
+		int[] scores = this.scoreBuffers[ply];
+		int[] plyKillers = this.killers[ply];
+		for (int i = 0; i < count; i++) {
+			int move = moves[i];
+			if (move == hashMove) {
+				scores[i] = HASH_MOVE_SCORE;
+			} else if (isTactical(board, move)) {
+				scores[i] = TACTICAL_SCORE + getTacticalScore(board, move);
+			} else if (move == plyKillers[0]) {
+				scores[i] = KILLER_SCORE + 1;
+			} else if (move == plyKillers[1]) {
+				scores[i] = KILLER_SCORE;
+			} else {
+				scores[i] = this.history[getHistoryIndex(move)];
+			}
+		}
+		sort(moves, scores, count);
+	}
+
+	/**
+	 * Sorts captures and promotions of the quiescence search by MVV-LVA
+	 *
+	 * @param board
+	 *            board before the moves
+	 * @param moves
+	 *            move buffer with tactical moves only
+	 * @param count
+	 *            number of moves in the buffer
+	 * @param ply
+	 *            distance from the root
+	 */
+	public void orderTacticalMoves(Board board, int[] moves, int count, int ply) {
+		int[] scores = this.scoreBuffers[ply];
+		for (int i = 0; i < count; i++) {
+			scores[i] = getTacticalScore(board, moves[i]);
+		}
+		sort(moves, scores, count);
+	}
+
+	/**
+	 * Records a move which caused a beta cutoff. Only quiet moves update
+	 * killers and history, captures are ordered well by MVV-LVA.
+	 *
+	 * @param board
+	 *            board before the move
+	 * @param move
+	 *            packed move
+	 * @param ply
+	 *            distance from the root
+	 * @param depth
+	 *            remaining depth of the node
+	 */
+	public void recordCutoff(Board board, int move, int ply, int depth) {
+		if (!this.heuristicsEnabled || isTactical(board, move)) {
+			return;
+		}
+		int[] plyKillers = this.killers[ply];
+		if (plyKillers[0] != move) {
+			plyKillers[1] = plyKillers[0];
+			plyKillers[0] = move;
+		}
+		int index = getHistoryIndex(move);
+		this.history[index] += depth * depth;
+		if (this.history[index] > HISTORY_LIMIT) {
+			ageHistory();
+		}
+	}
+
+	/**
+	 * Gets killer move of the ply
+	 *
+	 * @param ply
+	 *            distance from the root
+	 * @param slot
+	 *            0 for the most recent killer, 1 for the older one
+	 * @return packed move or {@link Search#NO_MOVE}
+	 */
+	public int getKiller(int ply, int slot) {
+		return this.killers[ply][slot];
+	}
+
+	/**
+	 * Gets history score of the move
+	 *
+	 * @param move
+	 *            packed move
+	 * @return sum of squared depths of cutoffs, halved on every aging
+	 */
+	public int getHistory(int move) {
+		return this.history[getHistoryIndex(move)];
+	}
+
+	/**
+	 * Checks whether the move is a capture or a promotion
+	 *
+	 * @param board
+	 *            board before the move
+	 * @param move
+	 *            packed move
+	 * @return true for captures, en passant included, and promotions
+	 */
+	public static boolean isTactical(Board board, int move) {
+		MoveType type = PackedMove.getType(move);
+		return type == MoveType.CAPTURE || type == MoveType.EN_PASSANT
+				|| PackedMove.isPromotion(board.getPieceAt(PackedMove.getFrom(move)), PackedMove.getTo(move));
+	}
+
+	private static int getTacticalScore(Board board, int move) {
+		Piece attacker = board.getPieceAt(PackedMove.getFrom(move));
+		int score = 0;
+		MoveType type = PackedMove.getType(move);
+		if (type == MoveType.CAPTURE) {
+			score = MVV_LVA[board.getPieceAt(PackedMove.getTo(move)).getType().ordinal()][attacker.getType()
+					.ordinal()];
+		} else if (type == MoveType.EN_PASSANT) {
+			score = MVV_LVA[PieceType.PAWN.ordinal()][PieceType.PAWN.ordinal()];
+		}
+		if (PackedMove.isPromotion(attacker, PackedMove.getTo(move))) {
+			score += PIECE_RANKS[PackedMove.getPromotion(move).ordinal()] * 8;
+		}
+		return score;
+	}
+
+	private void ageHistory() {
+		for (int i = 0; i < this.history.length; i++) {
+			this.history[i] >>= 1;
+		}
+	}
+
+	/**
+	 * Insertion sort by descending score, move lists are short and often
+	 * nearly sorted
+	 */
+	private static void sort(int[] moves, int[] scores, int count) {
+		for (int i = 1; i < count; i++) {
+			int move = moves[i];
+			int score = scores[i];
+			int j = i - 1;
+			while (j >= 0 && scores[j] < score) {
+				moves[j + 1] = moves[j];
+				scores[j + 1] = scores[j];
+				j--;
+			}
+			moves[j + 1] = move;
+			scores[j + 1] = score;
+		}
+	}
+
+	private static void moveToFront(int[] moves, int count, int move) {
+		for (int i = 0; i < count; i++) {
+			if (moves[i] == move) {
+				System.arraycopy(moves, 0, moves, 1, i);
+				moves[0] = move;
+				return;
+			}
+		}
+	}
+
+	private static int getHistoryIndex(int move) {
+		return PackedMove.getFrom(move) * SQUARES + PackedMove.getTo(move);
+	}
+}
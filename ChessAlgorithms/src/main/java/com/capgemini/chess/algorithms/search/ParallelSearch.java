@@ -0,0 +1,150 @@
+package com.capgemini.chess.algorithms.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.capgemini.chess.algorithms.data.PackedMove;
+import com.capgemini.chess.algorithms.data.generated.Board;
+import com.capgemini.chess.algorithms.implementation.BoardManager;
+import com.capgemini.chess.algorithms.tablebase.Tablebase;
+
+/**
+ * Parallel search (Lazy SMP). All threads search the same root position on
+ * their own copies of the board and share one {@link TranspositionTable}.
+ * The result of the main thread, which runs in the calling thread, is
+ * returned; helper threads are stopped as soon as it finishes. Node counts
+ * of all threads are summed in the result.
+ *
+ */
+public class ParallelSearch implements AutoCloseable {
+
+	private final int threadCount;
+	private final TranspositionTable transpositionTable;
+	private final ExecutorService helperExecutor;
+	private volatile Tablebase tablebase;
+
+	/**
+	 * Creates parallel search using all available processors
+	 *
+	 * @param transpositionTable
+	 *            table shared by all threads
+	 */
+	public ParallelSearch(TranspositionTable transpositionTable) {
+		this(Runtime.getRuntime().availableProcessors(), transpositionTable);
+	}
+
+	/**
+	 * Creates parallel search
+	 *
+	 * @param threadCount
+	 *            number of searching threads including the calling thread, at
+	 *            least 1
+	 * @param transpositionTable
+	 *            table shared by all threads
+	 */
+	public ParallelSearch(int threadCount, TranspositionTable transpositionTable) {
+		if (threadCount < 1) {
+			throw new IllegalArgumentException("Invalid thread count: " + threadCount);
+		}
+		this.threadCount = threadCount;
+		this.transpositionTable = transpositionTable;
+		this.helperExecutor = threadCount > 1 ? Executors.newFixedThreadPool(threadCount - 1, createThreadFactory())
+				: null;
+	}
+
+	/**
+	 * Searches for the best move of the side to move. The board is not
+	 * changed.
+	 *
+	 * @param board
+	 *            searched position
+	 * @param limits
+	 *            search limits, helper threads are limited by time only
+	 * @return best move with its score and search statistics of all threads
+	 */
+	public SearchResult search(Board board, SearchLimits limits) {
+		long start = System.nanoTime();
+		this.transpositionTable.newSearch();
+		AtomicBoolean stopSignal = new AtomicBoolean();
+		SearchLimits helperLimits = new SearchLimits(Search.MAX_DEPTH, limits.getMaxTimeMillis(), 0);
+
+		List<Future<SearchResult>> helperResults = new ArrayList<>(this.threadCount - 1);
+		for (int i = 1; i < this.threadCount; i++) {
+			int threadIndex = i;
+			Search helper = createSearch(board);
+			helperResults.add(this.helperExecutor.submit(() -> helper.search(helperLimits, threadIndex, stopSignal)));
+		}
+		SearchResult mainResult;
+		try {
+			mainResult = createSearch(board).search(limits, 0, stopSignal);
+		} finally {
+			stopSignal.set(true);
+		}
+
+		long nodes = mainResult.getNodes();
+		for (Future<SearchResult> helperResult : helperResults) {
+			nodes += getResult(helperResult).getNodes();
+		}
+		int bestMove = mainResult.getPackedBestMove();
+		return new SearchResult(bestMove,
+				bestMove == Search.NO_MOVE ? null : board.getPieceAt(PackedMove.getFrom(bestMove)),
+				mainResult.getScore(), mainResult.getDepth(), nodes, System.nanoTime() - start);
+	}
+
+	public int getThreadCount() {
+		return this.threadCount;
+	}
+
+	/**
+	 * Sets endgame tablebases probed by all threads
+	 * 
+	 * @param tablebase
+	 *            tablebases or null to search without them
+	 */
+	public void setTablebase(Tablebase tablebase) {
+		this.tablebase = tablebase;
+	}
+
+	/**
+	 * Stops helper threads
+	 */
+	@Override
+	public void close() {
+		if (this.helperExecutor != null) {
+			this.helperExecutor.shutdownNow();
+		}
+	}
+
+	private Search createSearch(Board board) {
+		Search search = new Search(new BoardManager(new Board(board)), this.transpositionTable);
+		search.setTablebase(this.tablebase);
+		return search;
+	}
+
+	private static SearchResult getResult(Future<SearchResult> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for search threads", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Search thread failed", e.getCause());
+		}
+	}
+
+	private static ThreadFactory createThreadFactory() {
+		AtomicInteger threadNumber = new AtomicInteger(1);
+		return runnable -> {
+			Thread thread = new Thread(runnable, "search-helper-" + threadNumber.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+}
@@ -0,0 +1,117 @@
+package com.capgemini.chess.algorithms.search;
+
+import java.util.Arrays;
+
+/**
+ * Direct-mapped cache of pawn structure scores keyed by
+ * {@link com.capgemini.chess.algorithms.data.generated.Board#getPawnKey()}.
+ * Pawn structure changes rarely during the search, so most evaluations find
+ * their score here. A new entry always replaces the old one. The table is not
+ * thread-safe, every search keeps its own.
+ * <p>
+ * Empty slots hold key 0 and score 0, which is the correct score of the
+ * position without pawns, the only one with key 0.
+ *
+ */
+public class PawnHashTable {
+
+	public static final int DEFAULT_CAPACITY = 1 << 14;
+
+	/**
+	 * Value returned by {@link #probe(long)} when the structure is not found,
+	 * packed scores never reach it
+	 */
+	public static final int NO_ENTRY = Integer.MIN_VALUE;
+
+	private final long[] keys;
+	private final int[] scores;
+	private final int indexMask;
+	private long probes;
+	private long hits;
+
+	public PawnHashTable() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates table
+	 *
+	 * @param capacity
+	 *            number of entries, a power of two
+	 */
+	public PawnHashTable(int capacity) {
+		if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+			throw new IllegalArgumentException("Invalid pawn hash table capacity: " + capacity);
+		}
+		this.keys = new long[capacity];
+		this.scores = new int[capacity];
+		this.indexMask = capacity - 1;
+	}
+
+	/**
+	 * Looks up the pawn structure
+	 *
+	 * @param pawnKey
+	 *            Zobrist key of pawns
+	 * @return packed score, see {@link PawnStructure}, or {@link #NO_ENTRY}
+	 */
+	public int probe(long pawnKey) {
+		int index = getIndex(pawnKey);
+		this.probes++;
+		if (this.keys[index] != pawnKey) {
+			return NO_ENTRY;
+		}
+		this.hits++;
+		return this.scores[index];
+	}
+
+	/**
+	 * Stores score of the pawn structure
+	 *
+	 * @param pawnKey
+	 *            Zobrist key of pawns
+	 * @param score
+	 *            packed score, see {@link PawnStructure}
+	 */
+	public void store(long pawnKey, int score) {
+		int index = getIndex(pawnKey);
+		this.keys[index] = pawnKey;
+		this.scores[index] = score;
+	}
+
+	public void clear() {
+		Arrays.fill(this.keys, 0L);
+		Arrays.fill(this.scores, 0);
+		resetStatistics();
+	}
+
+	public void resetStatistics() {
+		this.probes = 0;
+		this.hits = 0;
+	}
+
+	public int getCapacity() {
+		return this.indexMask + 1;
+	}
+
+	public long getProbes() {
+		return this.probes;
+	}
+
+	public long getHits() {
+		return this.hits;
+	}
+
+	/**
+	 * Gets fraction of probes which found their structure
+	 *
+	 * @return hit rate from 0 to 1, 0 before the first probe
+	 */
+	public double getHitRate() {
+		return this.probes == 0 ? 0 : (double) this.hits / this.probes;
+	}
+
+	private int getIndex(long pawnKey) {
+		return (int) (pawnKey ^ (pawnKey >>> 32)) & this.indexMask;
+	}
+}
@@ -0,0 +1,115 @@
+package com.capgemini.chess.algorithms.search;
+
+import com.capgemini.chess.algorithms.data.Bitboards;
+import com.capgemini.chess.algorithms.data.enums.Color;
+import com.capgemini.chess.algorithms.data.generated.Board;
+
+/**
+ * Pawn structure evaluation: doubled, isolated and passed pawns. Scores
+ * depend on pawns only and are cached in {@link PawnHashTable}. A score is
+ * packed into one <code>int</code> as
+ * <code>middlegame * 65536 + endgame</code>, both parts from white's point of
+ * view.
+ *
+ */
+public final class PawnStructure {
+
+	private static final int DOUBLED_MIDDLEGAME = -10;
+	private static final int DOUBLED_ENDGAME = -20;
+	private static final int ISOLATED_MIDDLEGAME = -10;
+	private static final int ISOLATED_ENDGAME = -15;
+	// indexed by the rank counted from the side's own first rank
+	private static final int[] PASSED_MIDDLEGAME = { 0, 5, 10, 15, 25, 40, 60, 0 };
+	private static final int[] PASSED_ENDGAME = { 0, 10, 20, 35, 60, 90, 130, 0 };
+
+	private static final long[] FILE_MASKS = new long[Board.SIZE];
+	private static final long[] ADJACENT_FILE_MASKS = new long[Board.SIZE];
+	private static final long[][] PASSED_MASKS = new long[Color.values().length][Board.SIZE * Board.SIZE];
+
+	static {
+		for (int x = 0; x < Board.SIZE; x++) {
+			for (int y = 0; y < Board.SIZE; y++) {
+				FILE_MASKS[x] |= Bitboards.bit(Bitboards.square(x, y));
+			}
+		}
+		for (int x = 0; x < Board.SIZE; x++) {
+			ADJACENT_FILE_MASKS[x] = (x > 0 ? FILE_MASKS[x - 1] : 0L) | (x < Board.SIZE - 1 ? FILE_MASKS[x + 1] : 0L);
+		}
+		for (int square = 0; square < Board.SIZE * Board.SIZE; square++) {
+			int x = Bitboards.getX(square);
+			int y = Bitboards.getY(square);
+			long files = FILE_MASKS[x] | ADJACENT_FILE_MASKS[x];
+			for (int rank = 0; rank < Board.SIZE; rank++) {
+				long rankMask = Bitboards.bit(Bitboards.square(0, rank)) * 0xFFL;
+				if (rank > y) {
+					PASSED_MASKS[Color.WHITE.ordinal()][square] |= files & rankMask;
+				} else if (rank < y) {
+					PASSED_MASKS[Color.BLACK.ordinal()][square] |= files & rankMask;
+				}
+			}
+		}
+	}
+
+	private PawnStructure() {
+	}
+
+	/**
+	 * Evaluates pawn structure
+	 *
+	 * @param whitePawns
+	 *            bitboard of white pawns
+	 * @param blackPawns
+	 *            bitboard of black pawns
+	 * @return packed score from white's point of view
+	 */
+	public static int evaluate(long whitePawns, long blackPawns) {
+		return evaluate(whitePawns, blackPawns, Color.WHITE) - evaluate(blackPawns, whitePawns, Color.BLACK);
+	}
+
+	/**
+	 * Packs middlegame and endgame scores into one value
+	 *
+	 * @param middlegameScore
+	 *            middlegame score
+	 * @param endgameScore
+	 *            endgame score
+	 * @return packed score
+	 */
+	public static int pack(int middlegameScore, int endgameScore) {
+		return (middlegameScore << 16) + endgameScore;
+	}
+
+	public static int getMiddlegameScore(int score) {
+		return (score + 0x8000) >> 16;
+	}
+
+	public static int getEndgameScore(int score) {
+		return (short) score;
+	}
+
+	private static int evaluate(long ownPawns, long enemyPawns, Color color) {
+		int middlegameScore = 0;
+		int endgameScore = 0;
+		for (int x = 0; x < Board.SIZE; x++) {
+			int count = Long.bitCount(ownPawns & FILE_MASKS[x]);
+			if (count > 1) {
+				middlegameScore += (count - 1) * DOUBLED_MIDDLEGAME;
+				endgameScore += (count - 1) * DOUBLED_ENDGAME;
+			}
+		}
+		for (long pawns = ownPawns; pawns != 0; pawns &= pawns - 1) {
+			int square = Long.numberOfTrailingZeros(pawns);
+			int x = Bitboards.getX(square);
+			if ((ownPawns & ADJACENT_FILE_MASKS[x]) == 0) {
+				middlegameScore += ISOLATED_MIDDLEGAME;
+				endgameScore += ISOLATED_ENDGAME;
+			}
+			if ((enemyPawns & PASSED_MASKS[color.ordinal()][square]) == 0) {
+				int rank = color == Color.WHITE ? Bitboards.getY(square) : Board.SIZE - 1 - Bitboards.getY(square);
+				middlegameScore += PASSED_MIDDLEGAME[rank];
+				endgameScore += PASSED_ENDGAME[rank];
+			}
+		}
+		return pack(middlegameScore, endgameScore);
+	}
+}
@@ -0,0 +1,148 @@
+package com.capgemini.chess.algorithms.search;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.capgemini.chess.algorithms.data.Move;
+import com.capgemini.chess.algorithms.data.generated.Board;
+import com.capgemini.chess.algorithms.implementation.BoardManager;
+
+/**
+ * Pondering search started by {@link PonderingService}. When the opponent
+ * has moved, the game calls {@link #stop(Board)} with its board: the search
+ * is stopped and, if the expected move was played, its result is returned.
+ * A task started for the board manager of the game is its
+ * {@link BoardManager.MoveListener}, so the search is already signalled to
+ * stop when the opponent's move is performed. A task stopped before a thread
+ * of the executor picked it up is completed at once without a result and
+ * its search never starts.
+ *
+ */
+public class PonderTask implements BoardManager.MoveListener {
+
+	private final int expectedMove;
+	private final long positionKey;
+	private final AtomicBoolean stopSignal = new AtomicBoolean();
+	private final AtomicBoolean started = new AtomicBoolean();
+	private volatile BoardManager gameManager;
+	private final CountDownLatch done = new CountDownLatch(1);
+	private volatile SearchResult result;
+	private volatile Throwable failure;
+
+	PonderTask(int expectedMove, long positionKey) {
+		this.expectedMove = expectedMove;
+		this.positionKey = positionKey;
+	}
+
+	/**
+	 * Gets the expected move of the opponent
+	 *
+	 * @return packed move
+	 */
+	public int getExpectedMove() {
+		return this.expectedMove;
+	}
+
+	/**
+	 * Gets Zobrist key of the searched position, after the expected move
+	 *
+	 * @return position key
+	 */
+	public long getPositionKey() {
+		return this.positionKey;
+	}
+
+	/**
+	 * Checks whether the search has finished, by reaching its limits or
+	 * after being stopped
+	 *
+	 * @return true if the search has finished
+	 */
+	public boolean isDone() {
+		return this.done.getCount() == 0;
+	}
+
+	/**
+	 * Stops the search after the opponent's move. If the current position is
+	 * the searched one and the search has started, waits until it returns the
+	 * result of its last completed iteration; otherwise returns at once and a
+	 * running search finishes in the background.
+	 *
+	 * @param board
+	 *            board of the game after the opponent's move
+	 * @return result of the search or null if another move was played or no
+	 *         iteration was completed
+	 */
+	public SearchResult stop(Board board) {
+		cancel();
+		if (board.getZobristKey() != this.positionKey) {
+			return null;
+		}
+		try {
+			this.done.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for pondering", e);
+		}
+		if (this.failure != null) {
+			throw new IllegalStateException("Pondering failed", this.failure);
+		}
+		SearchResult searchResult = this.result;
+		return searchResult != null && searchResult.getDepth() > 0 ? searchResult : null;
+	}
+
+	/**
+	 * Stops the search without waiting for it, e.g. when the game ends; a
+	 * search which has not started yet never starts
+	 */
+	public void cancel() {
+		this.stopSignal.set(true);
+		detach();
+		if (this.started.compareAndSet(false, true)) {
+			complete(null, null);
+		}
+	}
+
+	/**
+	 * Stops the search without waiting for it when a move is performed on the
+	 * board of the game; the result is still returned by {@link #stop(Board)}
+	 */
+	@Override
+	public void movePerformed(Move move, Board board) {
+		cancel();
+	}
+
+	void attach(BoardManager boardManager) {
+		this.gameManager = boardManager;
+		boardManager.setMoveListener(this);
+	}
+
+	/**
+	 * Marks the task as started by a thread of the executor
+	 *
+	 * @return false if the task was cancelled before
+	 */
+	boolean tryStart() {
+		return this.started.compareAndSet(false, true);
+	}
+
+	AtomicBoolean getStopSignal() {
+		return this.stopSignal;
+	}
+
+	private void detach() {
+		BoardManager boardManager = this.gameManager;
+		if (boardManager != null) {
+			this.gameManager = null;
+			if (boardManager.getMoveListener() == this) {
+				boardManager.setMoveListener(null);
+			}
+		}
+	}
+
+	void complete(SearchResult searchResult, Throwable searchFailure) {
+		this.result = searchResult;
+		this.failure = searchFailure;
+		this.done.countDown();
+	}
+}
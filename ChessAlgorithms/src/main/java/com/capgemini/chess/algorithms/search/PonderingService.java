@@ -0,0 +1,207 @@
+package com.capgemini.chess.algorithms.search;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.capgemini.chess.algorithms.data.generated.Board;
+import com.capgemini.chess.algorithms.implementation.BoardManager;
+
+/**
+ * Background analysis of many games between their moves. After the engine
+ * has moved, the position after the opponent's expected reply is searched
+ * while the opponent thinks; if the reply is played, the result of the
+ * search is used instead of starting a new one, otherwise the search is
+ * stopped. See {@link PonderTask}. Tasks started for the board manager of a
+ * game are stopped cooperatively as soon as a move is performed on it.
+ * <p>
+ * Searches run on the given executor and stop cooperatively, so a task never
+ * holds a thread after it is stopped. Boards are copied when pondering
+ * starts and the search objects, which hold most of the memory, exist only
+ * while a task runs, so thousands of games can wait in the queue of a small
+ * pool; a task stopped while it waits is completed at once. All searches share one {@link TranspositionTable}, usually the one
+ * of the engine, so even an interrupted or mispredicted search helps the
+ * next one.
+ *
+ */
+public class PonderingService implements AutoCloseable {
+
+	private final TranspositionTable transpositionTable;
+	private final Executor executor;
+	private final ExecutorService ownExecutor;
+	private final Set<PonderTask> tasks = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Creates service running searches on a pool of daemon threads, one per
+	 * available processor
+	 *
+	 * @param transpositionTable
+	 *            table shared by all searches
+	 */
+	public PonderingService(TranspositionTable transpositionTable) {
+		this.transpositionTable = transpositionTable;
+		this.ownExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+				createThreadFactory());
+		this.executor = this.ownExecutor;
+	}
+
+	/**
+	 * Creates service running searches on given executor, which is not shut
+	 * down by {@link #close()}
+	 *
+	 * @param transpositionTable
+	 *            table shared by all searches
+	 * @param executor
+	 *            executor of searches
+	 */
+	public PonderingService(TranspositionTable transpositionTable, Executor executor) {
+		this.transpositionTable = transpositionTable;
+		this.executor = executor;
+		this.ownExecutor = null;
+	}
+
+	/**
+	 * Starts pondering on the reply expected by the last search of the
+	 * position, taken from the transposition table
+	 *
+	 * @param board
+	 *            position with the opponent to move, not changed
+	 * @param limits
+	 *            limits of the pondering search
+	 * @return running task or null if no legal reply is known
+	 */
+	public PonderTask ponder(Board board, SearchLimits limits) {
+		int expectedMove = TranspositionTable.getMove(this.transpositionTable.probe(board.getZobristKey()));
+		if (expectedMove == Search.NO_MOVE) {
+			return null;
+		}
+		return ponder(board, expectedMove, limits);
+	}
+
+	/**
+	 * Starts pondering on the expected reply
+	 *
+	 * @param board
+	 *            position with the opponent to move, not changed
+	 * @param expectedMove
+	 *            move of the opponent, packed
+	 * @param limits
+	 *            limits of the pondering search
+	 * @return running task or null if the move is not legal
+	 */
+	public PonderTask ponder(Board board, int expectedMove, SearchLimits limits) {
+		BoardManager boardManager = new BoardManager(new Board(board));
+		int[] moves = new int[BoardManager.MAX_MOVES];
+		int count = boardManager.generateLegalMoves(board.getSideToMove(), moves);
+		for (int i = 0; i < count; i++) {
+			if (moves[i] == expectedMove) {
+				return start(boardManager, expectedMove, limits);
+			}
+		}
+		// e.g. a move of another position with the same table index
+		return null;
+	}
+
+	/**
+	 * Starts pondering on the reply expected by the last search of the
+	 * position of the game, the search is stopped when the next move is
+	 * performed by the board manager of the game
+	 *
+	 * @param gameManager
+	 *            board manager of the game with the opponent to move, not
+	 *            changed except for its move listener
+	 * @param limits
+	 *            limits of the pondering search
+	 * @return running task or null if no legal reply is known
+	 */
+	public PonderTask ponder(BoardManager gameManager, SearchLimits limits) {
+		return attach(gameManager, ponder(gameManager.getBoard(), limits));
+	}
+
+	/**
+	 * Starts pondering on the expected reply in the position of the game, the
+	 * search is stopped when the next move is performed by the board manager
+	 * of the game
+	 *
+	 * @param gameManager
+	 *            board manager of the game with the opponent to move, not
+	 *            changed except for its move listener
+	 * @param expectedMove
+	 *            move of the opponent, packed
+	 * @param limits
+	 *            limits of the pondering search
+	 * @return running task or null if the move is not legal
+	 */
+	public PonderTask ponder(BoardManager gameManager, int expectedMove, SearchLimits limits) {
+		return attach(gameManager, ponder(gameManager.getBoard(), expectedMove, limits));
+	}
+
+	/**
+	 * Stops all tasks of the service, waiting tasks are completed without a
+	 * result, and stops threads of the service if it created them
+	 */
+	@Override
+	public void close() {
+		for (PonderTask task : this.tasks) {
+			task.cancel();
+		}
+		this.tasks.clear();
+		if (this.ownExecutor != null) {
+			this.ownExecutor.shutdownNow();
+		}
+	}
+
+	private static PonderTask attach(BoardManager gameManager, PonderTask task) {
+		if (task != null) {
+			task.attach(gameManager);
+		}
+		return task;
+	}
+
+	private PonderTask start(BoardManager boardManager, int expectedMove, SearchLimits limits) {
+		boardManager.makeMove(expectedMove);
+		PonderTask task = new PonderTask(expectedMove, boardManager.getBoard().getZobristKey());
+		this.tasks.add(task);
+		try {
+			this.executor.execute(() -> {
+				try {
+					if (task.tryStart()) {
+						run(task, boardManager, limits);
+					}
+				} finally {
+					this.tasks.remove(task);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			this.tasks.remove(task);
+			throw e;
+		}
+		return task;
+	}
+
+	private void run(PonderTask task, BoardManager boardManager, SearchLimits limits) {
+		SearchResult result = null;
+		Throwable failure = null;
+		try {
+			Search search = new Search(boardManager, this.transpositionTable);
+			result = search.search(limits, 0, task.getStopSignal());
+		} catch (RuntimeException | Error e) {
+			failure = e;
+		}
+		task.complete(result, failure);
+	}
+
+	private static ThreadFactory createThreadFactory() {
+		AtomicInteger threadNumber = new AtomicInteger(1);
+		return runnable -> {
+			Thread thread = new Thread(runnable, "ponder-" + threadNumber.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+}
@@ -0,0 +1,405 @@
+package com.capgemini.chess.algorithms.search;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.capgemini.chess.algorithms.data.PackedMove;
+import com.capgemini.chess.algorithms.data.enums.Color;
+import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.data.generated.Board;
+import com.capgemini.chess.algorithms.implementation.BoardManager;
+import com.capgemini.chess.algorithms.tablebase.Tablebase;
+
+/**
+ * Chess engine choosing a move for the side to move. Negamax alpha-beta
+ * search with iterative deepening and quiescence search of captures, limited
+ * by depth, time and number of nodes. Results are cached in a
+ * {@link TranspositionTable}, which can be shared with other searches, and
+ * moves are tried in the order given by {@link MoveOrdering}. Moves are made
+ * and taken back on the board of the board manager, which is left unchanged
+ * after the search. Positions below the root which are found in endgame
+ * tablebases, if set, get exact scores without being searched.
+ *
+ */
+public class Search {
+
+	public static final int MAX_DEPTH = 64;
+	public static final int MAX_PLY = 128;
+	public static final int MATE_SCORE = 32000;
+	public static final int INFINITE_SCORE = 32001;
+	public static final int DRAW_SCORE = 0;
+
+	/**
+	 * Value which never represents a legal move ('from' and 'to' fields are
+	 * equal)
+	 */
+	public static final int NO_MOVE = 0;
+
+	private static final int TIME_CHECK_INTERVAL = 1024;
+
+	private final BoardManager boardManager;
+	private final Board board;
+	private final Evaluator evaluator = new Evaluator();
+	private final TranspositionTable transpositionTable;
+	private final MoveOrdering moveOrdering;
+	private final int[][] moveBuffers = new int[MAX_PLY][BoardManager.MAX_MOVES];
+	private Tablebase tablebase;
+
+	// flag of searches started by search(SearchLimits), the checked signal is
+	// replaced only by searches sharing a signal with other threads
+	private final AtomicBoolean ownStopSignal = new AtomicBoolean();
+	private volatile AtomicBoolean stopSignal = this.ownStopSignal;
+	private long nodes;
+	private long maxNodes;
+	private long deadline;
+
+	public Search(BoardManager boardManager) {
+		this(boardManager, new TranspositionTable());
+	}
+
+	public Search(BoardManager boardManager, TranspositionTable transpositionTable) {
+		this(boardManager, transpositionTable, new MoveOrdering());
+	}
+
+	public Search(BoardManager boardManager, TranspositionTable transpositionTable, MoveOrdering moveOrdering) {
+		this.boardManager = boardManager;
+		this.board = boardManager.getBoard();
+		this.transpositionTable = transpositionTable;
+		this.moveOrdering = moveOrdering;
+	}
+
+	/**
+	 * Searches for the best move of the side to move. Every iteration of
+	 * iterative deepening searches one ply deeper, result of an iteration
+	 * interrupted by a limit is dropped.
+	 *
+	 * @param limits
+	 *            search limits
+	 * @return best move with its score and search statistics
+	 */
+	public SearchResult search(SearchLimits limits) {
+		this.transpositionTable.newSearch();
+		this.ownStopSignal.set(false);
+		return search(limits, 0, this.ownStopSignal);
+	}
+
+	/**
+	 * Searches as one of threads of a parallel search. Helper threads (index
+	 * greater than 0) start from the second iteration every other thread and
+	 * search root moves in a rotated order, so threads do not repeat the same
+	 * work and fill the shared transposition table for each other.
+	 *
+	 * @param limits
+	 *            search limits
+	 * @param threadIndex
+	 *            index of the thread, 0 for the main thread
+	 * @param stopSignal
+	 *            flag shared by all threads of the search, set when any of
+	 *            them should stop
+	 * @return best move with its score and search statistics
+	 */
+	SearchResult search(SearchLimits limits, int threadIndex, AtomicBoolean stopSignal) {
+		long start = System.nanoTime();
+		this.stopSignal = stopSignal;
+		this.nodes = 0;
+		this.maxNodes = limits.getMaxNodes();
+		this.deadline = limits.getMaxTimeMillis() > 0 ? start + limits.getMaxTimeMillis() * 1000000L : Long.MAX_VALUE;
+		this.moveOrdering.newSearch();
+
+		Color color = getNextMoveColor();
+		int[] rootMoves = new int[BoardManager.MAX_MOVES];
+		int count = this.boardManager.generateLegalMoves(color, rootMoves);
+		if (count == 0) {
+			int score = this.boardManager.isKingInCheck(color) ? -MATE_SCORE : DRAW_SCORE;
+			return new SearchResult(NO_MOVE, null, score, 0, 0, System.nanoTime() - start);
+		}
+
+		this.moveOrdering.orderMoves(this.board, rootMoves, count, 0,
+				TranspositionTable.getMove(this.transpositionTable.probe(this.board.getZobristKey())));
+		int bestMove = rootMoves[0];
+		int bestScore = this.evaluator.evaluate(this.board, color);
+		int completedDepth = 0;
+		int maxDepth = limits.getMaxDepth() > 0 ? Math.min(limits.getMaxDepth(), MAX_DEPTH) : MAX_DEPTH;
+		int firstDepth = 1;
+		if (threadIndex > 0) {
+			firstDepth += threadIndex % 2;
+			rotate(rootMoves, count, threadIndex % count);
+		}
+		for (int depth = firstDepth; depth <= maxDepth; depth++) {
+			int alpha = -INFINITE_SCORE;
+			int iterationBestMove = NO_MOVE;
+			for (int i = 0; i < count; i++) {
+				this.boardManager.makeMove(rootMoves[i]);
+				int score = -negamax(depth - 1, 1, -INFINITE_SCORE, -alpha);
+				this.boardManager.unmakeMove();
+				if (this.stopSignal.get()) {
+					break;
+				}
+				if (score > alpha) {
+					alpha = score;
+					iterationBestMove = rootMoves[i];
+				}
+			}
+			if (this.stopSignal.get()) {
+				// moves of the first iteration are not ordered yet, so the
+				// best of already searched moves is still better than none
+				if (completedDepth == 0 && iterationBestMove != NO_MOVE) {
+					bestMove = iterationBestMove;
+					bestScore = alpha;
+				}
+				break;
+			}
+			bestMove = iterationBestMove;
+			bestScore = alpha;
+			completedDepth = depth;
+			moveToFront(rootMoves, count, bestMove);
+			this.transpositionTable.store(this.board.getZobristKey(), bestMove, bestScore, depth,
+					TranspositionTable.EXACT);
+			if (Math.abs(bestScore) >= MATE_SCORE - MAX_PLY) {
+				break;
+			}
+		}
+
+		Piece movedPiece = this.board.getPieceAt(PackedMove.getFrom(bestMove));
+		return new SearchResult(bestMove, movedPiece, bestScore, completedDepth, this.nodes,
+				System.nanoTime() - start);
+	}
+
+	/**
+	 * Stops the running search. The search returns the result of the last
+	 * completed iteration. A search sharing its stop signal with other
+	 * threads stops them as well.
+	 */
+	public void stop() {
+		this.ownStopSignal.set(true);
+		this.stopSignal.set(true);
+	}
+
+	/**
+	 * Gets pawn structure cache of the evaluation, its statistics cover all
+	 * searches of this object
+	 * 
+	 * @return pawn hash table
+	 */
+	public PawnHashTable getPawnHashTable() {
+		return this.evaluator.getPawnHashTable();
+	}
+
+	/**
+	 * Sets endgame tablebases probed during the search
+	 * 
+	 * @param tablebase
+	 *            tablebases or null to search without them
+	 */
+	public void setTablebase(Tablebase tablebase) {
+		this.tablebase = tablebase;
+	}
+
+	private int negamax(int depth, int ply, int alpha, int beta) {
+		if (depth <= 0) {
+			return quiescence(ply, alpha, beta);
+		}
+		if (isLimitReached()) {
+			return DRAW_SCORE;
+		}
+		if (this.boardManager.checkThreefoldRepetitionRule() || this.boardManager.checkFiftyMoveRule()) {
+			return DRAW_SCORE;
+		}
+		if (this.tablebase != null) {
+			int tablebaseEntry = this.boardManager.probeTablebase(this.tablebase);
+			if (tablebaseEntry != Tablebase.UNKNOWN) {
+				return toTablebaseScore(tablebaseEntry, ply);
+			}
+		}
+
+		long key = this.board.getZobristKey();
+		long entry = this.transpositionTable.probe(key);
+		int hashMove = NO_MOVE;
+		if (entry != TranspositionTable.NO_ENTRY) {
+			hashMove = TranspositionTable.getMove(entry);
+			if (TranspositionTable.getDepth(entry) >= depth) {
+				int score = fromTableScore(TranspositionTable.getScore(entry), ply);
+				int bound = TranspositionTable.getBound(entry);
+				if (bound == TranspositionTable.EXACT || (bound == TranspositionTable.LOWER_BOUND && score >= beta)
+						|| (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+					return score;
+				}
+			}
+		}
+
+		Color color = getNextMoveColor();
+		int[] moves = this.moveBuffers[ply];
+		int count = this.boardManager.generateLegalMoves(color, moves);
+		if (count == 0) {
+			return this.boardManager.isKingInCheck(color) ? -MATE_SCORE + ply : DRAW_SCORE;
+		}
+		if (ply >= MAX_PLY - 1) {
+			return this.evaluator.evaluate(this.board, color);
+		}
+		this.moveOrdering.orderMoves(this.board, moves, count, ply, hashMove);
+
+		int originalAlpha = alpha;
+		int bestScore = -INFINITE_SCORE;
+		int bestMove = NO_MOVE;
+		for (int i = 0; i < count; i++) {
+			this.boardManager.makeMove(moves[i]);
+			int score = -negamax(depth - 1, ply + 1, -beta, -alpha);
+			this.boardManager.unmakeMove();
+			if (this.stopSignal.get()) {
+				return DRAW_SCORE;
+			}
+			if (score > bestScore) {
+				bestScore = score;
+				bestMove = moves[i];
+				if (score > alpha) {
+					alpha = score;
+					if (score >= beta) {
+						this.moveOrdering.recordCutoff(this.board, bestMove, ply, depth);
+						break;
+					}
+				}
+			}
+		}
+
+		int bound = TranspositionTable.EXACT;
+		if (bestScore <= originalAlpha) {
+			bound = TranspositionTable.UPPER_BOUND;
+			bestMove = NO_MOVE;
+		} else if (bestScore >= beta) {
+			bound = TranspositionTable.LOWER_BOUND;
+		}
+		this.transpositionTable.store(key, bestMove, toTableScore(bestScore, ply), depth, bound);
+		return bestScore;
+	}
+
+	/**
+	 * Converts mate score relative to the root to the score relative to the
+	 * position, so it stays valid when the position is reached at another
+	 * ply
+	 */
+	private static int toTableScore(int score, int ply) {
+		if (score >= MATE_SCORE - MAX_PLY) {
+			return score + ply;
+		}
+		if (score <= -MATE_SCORE + MAX_PLY) {
+			return score - ply;
+		}
+		return score;
+	}
+
+	private static int fromTableScore(int score, int ply) {
+		if (score >= MATE_SCORE - MAX_PLY) {
+			return score - ply;
+		}
+		if (score <= -MATE_SCORE + MAX_PLY) {
+			return score + ply;
+		}
+		return score;
+	}
+
+	/**
+	 * Converts tablebase entry to a mate score relative to the root, a win in
+	 * n moves is a mate after 2n - 1 plies, a loss in n moves after 2n plies
+	 */
+	private static int toTablebaseScore(int tablebaseEntry, int ply) {
+		int moves = Tablebase.getDistanceToMate(tablebaseEntry);
+		switch (Tablebase.getResult(tablebaseEntry)) {
+		case Tablebase.WIN:
+			return MATE_SCORE - ply - (2 * moves - 1);
+		case Tablebase.LOSS:
+			return -MATE_SCORE + ply + 2 * moves;
+		default:
+			return DRAW_SCORE;
+		}
+	}
+
+	/**
+	 * Searches captures and promotions only, until the position is quiet, so
+	 * the static evaluation is not taken in the middle of an exchange.
+	 * Captures losing material by static exchange evaluation are skipped.
+	 */
+	private int quiescence(int ply, int alpha, int beta) {
+		if (isLimitReached()) {
+			return DRAW_SCORE;
+		}
+		Color color = getNextMoveColor();
+		int standPat = this.evaluator.evaluate(this.board, color);
+		if (standPat >= beta || ply >= MAX_PLY - 1) {
+			return standPat;
+		}
+		if (standPat > alpha) {
+			alpha = standPat;
+		}
+
+		int[] moves = this.moveBuffers[ply];
+		int count = selectTacticalMoves(moves, this.boardManager.generateLegalMoves(color, moves));
+		this.moveOrdering.orderTacticalMoves(this.board, moves, count, ply);
+		int bestScore = standPat;
+		for (int i = 0; i < count; i++) {
+			if (this.boardManager.staticExchange(moves[i]) < 0) {
+				continue;
+			}
+			this.boardManager.makeMove(moves[i]);
+			int score = -quiescence(ply + 1, -beta, -alpha);
+			this.boardManager.unmakeMove();
+			if (this.stopSignal.get()) {
+				return DRAW_SCORE;
+			}
+			if (score > bestScore) {
+				bestScore = score;
+				if (score > alpha) {
+					alpha = score;
+					if (score >= beta) {
+						break;
+					}
+				}
+			}
+		}
+		return bestScore;
+	}
+
+	private int selectTacticalMoves(int[] moves, int count) {
+		int tacticalCount = 0;
+		for (int i = 0; i < count; i++) {
+			if (MoveOrdering.isTactical(this.board, moves[i])) {
+				moves[tacticalCount++] = moves[i];
+			}
+		}
+		return tacticalCount;
+	}
+
+	/**
+	 * Counts the node and checks search limits, the clock is read only every
+	 * {@link #TIME_CHECK_INTERVAL} nodes.
+	 */
+	private boolean isLimitReached() {
+		this.nodes++;
+		if (this.maxNodes > 0 && this.nodes >= this.maxNodes) {
+			this.stopSignal.set(true);
+		} else if (this.nodes % TIME_CHECK_INTERVAL == 0 && System.nanoTime() > this.deadline) {
+			this.stopSignal.set(true);
+		}
+		return this.stopSignal.get();
+	}
+
+	private static void moveToFront(int[] moves, int count, int move) {
+		for (int i = 0; i < count; i++) {
+			if (moves[i] == move) {
+				System.arraycopy(moves, 0, moves, 1, i);
+				moves[0] = move;
+				return;
+			}
+		}
+	}
+
+	private static void rotate(int[] moves, int count, int distance) {
+		int[] rotated = new int[count];
+		for (int i = 0; i < count; i++) {
+			rotated[i] = moves[(i + distance) % count];
+		}
+		System.arraycopy(rotated, 0, moves, 0, count);
+	}
+
+	private Color getNextMoveColor() {
+		return this.board.getSideToMove();
+	}
+}
@@ -0,0 +1,51 @@
+package com.capgemini.chess.algorithms.search;
+
+/**
+ * Limits of a single search. The search stops at whichever limit is reached
+ * first, a limit equal to 0 means no limit.
+ *
+ */
+public class SearchLimits {
+
+	private int maxDepth = Search.MAX_DEPTH;
+	private long maxTimeMillis;
+	private long maxNodes;
+
+	public SearchLimits() {
+	}
+
+	public SearchLimits(int maxDepth, long maxTimeMillis, long maxNodes) {
+		this.maxDepth = maxDepth;
+		this.maxTimeMillis = maxTimeMillis;
+		this.maxNodes = maxNodes;
+	}
+
+	/**
+	 * Maximal depth of iterative deepening, in plies
+	 * 
+	 * @return maximal depth
+	 */
+	public int getMaxDepth() {
+		return maxDepth;
+	}
+
+	public void setMaxDepth(int maxDepth) {
+		this.maxDepth = maxDepth;
+	}
+
+	public long getMaxTimeMillis() {
+		return maxTimeMillis;
+	}
+
+	public void setMaxTimeMillis(long maxTimeMillis) {
+		this.maxTimeMillis = maxTimeMillis;
+	}
+
+	public long getMaxNodes() {
+		return maxNodes;
+	}
+
+	public void setMaxNodes(long maxNodes) {
+		this.maxNodes = maxNodes;
+	}
+}
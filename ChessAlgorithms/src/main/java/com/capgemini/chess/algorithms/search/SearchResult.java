@@ -0,0 +1,81 @@
+package com.capgemini.chess.algorithms.search;
+
+import com.capgemini.chess.algorithms.data.Move;
+import com.capgemini.chess.algorithms.data.PackedMove;
+import com.capgemini.chess.algorithms.data.enums.Piece;
+
+/**
+ * Result of a search: the best move found in the last completed iteration,
+ * its score and search statistics.
+ *
+ */
+public class SearchResult {
+
+	private final int bestMove;
+	private final Piece movedPiece;
+	private final int score;
+	private final int depth;
+	private final long nodes;
+	private final long nanos;
+
+	public SearchResult(int bestMove, Piece movedPiece, int score, int depth, long nodes, long nanos) {
+		this.bestMove = bestMove;
+		this.movedPiece = movedPiece;
+		this.score = score;
+		this.depth = depth;
+		this.nodes = nodes;
+		this.nanos = nanos;
+	}
+
+	/**
+	 * Gets the best move
+	 * 
+	 * @return best move, null if the side to move has no legal move
+	 */
+	public Move getBestMove() {
+		if (bestMove == Search.NO_MOVE) {
+			return null;
+		}
+		return PackedMove.toMove(bestMove, movedPiece);
+	}
+
+	/**
+	 * Gets the best move packed as described in {@link PackedMove}
+	 * 
+	 * @return packed best move or {@link Search#NO_MOVE}
+	 */
+	public int getPackedBestMove() {
+		return bestMove;
+	}
+
+	/**
+	 * Score of the best move in centipawns from the point of view of the side
+	 * to move. Mate scores are close to {@link Search#MATE_SCORE}.
+	 * 
+	 * @return score
+	 */
+	public int getScore() {
+		return score;
+	}
+
+	/**
+	 * Depth of the last completed iteration
+	 * 
+	 * @return depth in plies
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	public long getNodes() {
+		return nodes;
+	}
+
+	public long getNanos() {
+		return nanos;
+	}
+
+	public long getNodesPerSecond() {
+		return nanos > 0 ? nodes * 1000000000L / nanos : 0;
+	}
+}
@@ -0,0 +1,163 @@
+package com.capgemini.chess.algorithms.search;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size transposition table kept in a flat <code>long</code> array, two
+ * longs per entry: the position key XOR-ed with the entry data, and the data
+ * itself. The table is shared by search threads without synchronization. A
+ * torn entry, written by two threads at once, fails the XOR verification and
+ * is treated as a miss.
+ * <p>
+ * Entry data holds the best move in bits 0-15, the score (offset by 32768) in
+ * bits 16-31, the depth in bits 32-39, the bound type in bits 40-41 and the
+ * search generation in bits 42-49. An entry is replaced by a search of at
+ * least the same depth, by the same position or by any entry of a newer
+ * search.
+ *
+ */
+public class TranspositionTable {
+
+	public static final int DEFAULT_SIZE_MB = 16;
+
+	/**
+	 * Value returned by {@link #probe(long)} when the position is not found,
+	 * stored entries are never 0 because their bound type is not 0
+	 */
+	public static final long NO_ENTRY = 0L;
+
+	public static final int EXACT = 1;
+	public static final int LOWER_BOUND = 2;
+	public static final int UPPER_BOUND = 3;
+
+	private static final int ENTRY_LONGS = 2;
+	private static final int ENTRY_BYTES = ENTRY_LONGS * Long.BYTES;
+	private static final int MAX_SIZE_MB = 1 << 14;
+
+	private static final int MOVE_MASK = 0xFFFF;
+	private static final int SCORE_SHIFT = 16;
+	private static final int SCORE_OFFSET = 1 << 15;
+	private static final int DEPTH_SHIFT = 32;
+	private static final int DEPTH_MASK = 0xFF;
+	private static final int BOUND_SHIFT = 40;
+	private static final int BOUND_MASK = 3;
+	private static final int GENERATION_SHIFT = 42;
+	private static final int GENERATION_MASK = 0xFF;
+
+	private final long[] entries;
+	private final int indexMask;
+	private volatile int generation;
+
+	public TranspositionTable() {
+		this(DEFAULT_SIZE_MB);
+	}
+
+	/**
+	 * Creates table using at most given amount of memory. The number of
+	 * entries is the largest power of two which fits in the budget.
+	 *
+	 * @param sizeMb
+	 *            memory budget in megabytes, from 1 to 16384
+	 */
+	public TranspositionTable(int sizeMb) {
+		if (sizeMb < 1 || sizeMb > MAX_SIZE_MB) {
+			throw new IllegalArgumentException("Invalid transposition table size: " + sizeMb + " MB");
+		}
+		long maxEntries = ((long) sizeMb << 20) / ENTRY_BYTES;
+		int capacity = Integer.highestOneBit((int) Math.min(maxEntries, Integer.MAX_VALUE / ENTRY_LONGS));
+		this.entries = new long[capacity * ENTRY_LONGS];
+		this.indexMask = capacity - 1;
+	}
+
+	/**
+	 * Looks up the position
+	 *
+	 * @param key
+	 *            Zobrist key of the position
+	 * @return entry data or {@link #NO_ENTRY}
+	 */
+	public long probe(long key) {
+		int index = getIndex(key);
+		long data = this.entries[index + 1];
+		if ((this.entries[index] ^ data) != key) {
+			return NO_ENTRY;
+		}
+		return data;
+	}
+
+	/**
+	 * Stores search result of the position
+	 *
+	 * @param key
+	 *            Zobrist key of the position
+	 * @param move
+	 *            packed best move or {@link Search#NO_MOVE}
+	 * @param score
+	 *            score, mate scores relative to the position
+	 * @param depth
+	 *            searched depth
+	 * @param bound
+	 *            {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}
+	 */
+	public void store(long key, int move, int score, int depth, int bound) {
+		int index = getIndex(key);
+		long storedData = this.entries[index + 1];
+		boolean samePosition = (this.entries[index] ^ storedData) == key;
+		if (storedData != NO_ENTRY && !samePosition && getGeneration(storedData) == this.generation
+				&& getDepth(storedData) > depth) {
+			return;
+		}
+		if (samePosition && move == Search.NO_MOVE) {
+			move = getMove(storedData);
+		}
+		long data = (move & MOVE_MASK) | ((long) (score + SCORE_OFFSET) << SCORE_SHIFT)
+				| ((long) Math.min(depth, DEPTH_MASK) << DEPTH_SHIFT) | ((long) bound << BOUND_SHIFT)
+				| ((long) this.generation << GENERATION_SHIFT);
+		this.entries[index] = key ^ data;
+		this.entries[index + 1] = data;
+	}
+
+	/**
+	 * Starts a new search, entries of previous searches are replaced first
+	 */
+	public void newSearch() {
+		this.generation = (this.generation + 1) & GENERATION_MASK;
+	}
+
+	public void clear() {
+		Arrays.fill(this.entries, 0L);
+		this.generation = 0;
+	}
+
+	public int getCapacity() {
+		return this.indexMask + 1;
+	}
+
+	public long getMemoryBytes() {
+		return (long) this.entries.length * Long.BYTES;
+	}
+
+	public static int getMove(long data) {
+		return (int) data & MOVE_MASK;
+	}
+
+	public static int getScore(long data) {
+		return ((int) (data >>> SCORE_SHIFT) & 0xFFFF) - SCORE_OFFSET;
+	}
+
+	public static int getDepth(long data) {
+		return (int) (data >>> DEPTH_SHIFT) & DEPTH_MASK;
+	}
+
+	public static int getBound(long data) {
+		return (int) (data >>> BOUND_SHIFT) & BOUND_MASK;
+	}
+
+	private static int getGeneration(long data) {
+		return (int) (data >>> GENERATION_SHIFT) & GENERATION_MASK;
+	}
+
+	private int getIndex(long key) {
+		return ((int) (key ^ (key >>> 32)) & this.indexMask) * ENTRY_LONGS;
+	}
+}
@@ -0,0 +1,376 @@
+package com.capgemini.chess.algorithms.tablebase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.capgemini.chess.algorithms.data.Bitboards;
+import com.capgemini.chess.algorithms.data.generated.Board;
+
+/**
+ * Material signature of a tablebase and indexing of its positions. Pieces are
+ * coded as {@link #KING}, {@link #QUEEN}, {@link #ROOK}, {@link #BISHOP},
+ * {@link #KNIGHT} or {@link #PAWN}, with {@link #BLACK} added for black
+ * pieces. Tables are kept for the stronger side playing white; the weaker one
+ * is probed with colors swapped and the board mirrored.
+ * <p>
+ * A position index is made of the side to move, the white king square and
+ * squares of other pieces (white ones first, then the black king, then black
+ * ones, each in the order of codes). Symmetric positions are stored once: the
+ * white king is moved to the a1-d1-d4 triangle by mirroring and rotating the
+ * board when there are no pawns, or to files a-d by mirroring it otherwise.
+ * Indexes of non-canonical positions stay unused.
+ *
+ */
+final class Material {
+
+	static final int KING = 0;
+	static final int QUEEN = 1;
+	static final int ROOK = 2;
+	static final int BISHOP = 3;
+	static final int KNIGHT = 4;
+	static final int PAWN = 5;
+	static final int BLACK = 8;
+	static final int TYPE_MASK = 7;
+
+	static final int WHITE_TO_MOVE = 0;
+	static final int BLACK_TO_MOVE = 1;
+
+	static final int MAX_PIECES = 4;
+
+	/**
+	 * Number of side material codes, a side has up to two pieces besides the
+	 * king
+	 */
+	static final int SIDE_CODES = 36;
+	static final int KEYS = SIDE_CODES * SIDE_CODES;
+
+	/**
+	 * Result of {@link #locate} for positions with kings only
+	 */
+	static final long KINGS_ONLY = -2L;
+
+	/**
+	 * Result of {@link #locate} for positions without a table
+	 */
+	static final long NOT_AVAILABLE = -1L;
+
+	private static final int SQUARES = Board.SIZE * Board.SIZE;
+	private static final char[] LETTERS = { 'K', 'Q', 'R', 'B', 'N', 'P' };
+	private static final int[][] TRANSFORMS = new int[8][SQUARES];
+	private static final int[] TRIANGLE = new int[SQUARES];
+	private static final int[] HALF_BOARD = new int[SQUARES];
+	private static final Material[] MATERIALS = new Material[KEYS];
+
+	static {
+		int triangleSize = 0;
+		int halfBoardSize = 0;
+		for (int square = 0; square < SQUARES; square++) {
+			int x = Bitboards.getX(square);
+			int y = Bitboards.getY(square);
+			for (int transform = 0; transform < TRANSFORMS.length; transform++) {
+				int transformedX = (transform & 4) != 0 ? y : x;
+				int transformedY = (transform & 4) != 0 ? x : y;
+				if ((transform & 1) != 0) {
+					transformedX = Board.SIZE - 1 - transformedX;
+				}
+				if ((transform & 2) != 0) {
+					transformedY = Board.SIZE - 1 - transformedY;
+				}
+				TRANSFORMS[transform][square] = Bitboards.square(transformedX, transformedY);
+			}
+			TRIANGLE[square] = x < Board.SIZE / 2 && y <= x ? triangleSize++ : -1;
+			HALF_BOARD[square] = x < Board.SIZE / 2 ? halfBoardSize++ : -1;
+		}
+		for (Material material : list(MAX_PIECES)) {
+			MATERIALS[material.key] = material;
+		}
+	}
+
+	private final int key;
+	private final int[] pieces;
+	private final boolean hasPawns;
+	private final int[] region;
+	private final int[] regionSquares;
+	private final int transformCount;
+	private final int size;
+
+	private Material(int whiteCode, int blackCode) {
+		this.key = whiteCode * SIDE_CODES + blackCode;
+		int[] whiteExtras = decodeSide(whiteCode);
+		int[] blackExtras = decodeSide(blackCode);
+		this.pieces = new int[2 + whiteExtras.length + blackExtras.length];
+		int count = 0;
+		this.pieces[count++] = KING;
+		for (int extra : whiteExtras) {
+			this.pieces[count++] = extra;
+		}
+		this.pieces[count++] = KING | BLACK;
+		for (int extra : blackExtras) {
+			this.pieces[count++] = extra | BLACK;
+		}
+		boolean pawns = false;
+		for (int piece : this.pieces) {
+			pawns |= (piece & TYPE_MASK) == PAWN;
+		}
+		this.hasPawns = pawns;
+		this.region = pawns ? HALF_BOARD : TRIANGLE;
+		this.transformCount = pawns ? 2 : TRANSFORMS.length;
+		int regionSize = 0;
+		for (int index : this.region) {
+			regionSize += index >= 0 ? 1 : 0;
+		}
+		this.regionSquares = new int[regionSize];
+		for (int square = 0; square < SQUARES; square++) {
+			if (this.region[square] >= 0) {
+				this.regionSquares[this.region[square]] = square;
+			}
+		}
+		int positions = 2 * regionSize;
+		for (int i = 1; i < this.pieces.length; i++) {
+			positions *= SQUARES;
+		}
+		this.size = positions;
+	}
+
+	/**
+	 * Lists material signatures of tables with up to given number of pieces,
+	 * kings included, in the order of generation: every table comes after
+	 * tables reached from it by captures and promotions
+	 */
+	static List<Material> list(int maxPieces) {
+		List<Material> materials = new ArrayList<>();
+		for (int pieceCount = 3; pieceCount <= Math.min(maxPieces, MAX_PIECES); pieceCount++) {
+			for (int pawnCount = 0; pawnCount <= pieceCount - 2; pawnCount++) {
+				for (int whiteCode = 0; whiteCode < SIDE_CODES; whiteCode++) {
+					for (int blackCode = 0; blackCode < SIDE_CODES; blackCode++) {
+						if (isCanonicalSide(whiteCode) && isCanonicalSide(blackCode)
+								&& countExtras(whiteCode) + countExtras(blackCode) == pieceCount - 2
+								&& countPawns(whiteCode) + countPawns(blackCode) == pawnCount
+								&& isStronger(whiteCode, blackCode)) {
+							materials.add(new Material(whiteCode, blackCode));
+						}
+					}
+				}
+			}
+		}
+		return materials;
+	}
+
+	static Material get(int key) {
+		return MATERIALS[key];
+	}
+
+	/**
+	 * Finds table and index of a position without allocation, pieces and
+	 * squares are reordered in place into the order of the table
+	 *
+	 * @param pieces
+	 *            piece codes, reordered
+	 * @param squares
+	 *            piece squares, reordered and mirrored if the colors of the
+	 *            table are swapped
+	 * @param count
+	 *            number of pieces
+	 * @param sideToMove
+	 *            {@link #WHITE_TO_MOVE} or {@link #BLACK_TO_MOVE}
+	 * @param available
+	 *            available tables by key
+	 * @return table key in the upper 32 bits and position index in the lower
+	 *         ones, {@link #KINGS_ONLY} or {@link #NOT_AVAILABLE}
+	 */
+	static long locate(int[] pieces, int[] squares, int count, int sideToMove, boolean[] available) {
+		if (count == 2) {
+			return KINGS_ONLY;
+		}
+		if (count > MAX_PIECES) {
+			return NOT_AVAILABLE;
+		}
+		int whiteCode = 0;
+		int blackCode = 0;
+		for (int i = 0; i < count; i++) {
+			int type = pieces[i] & TYPE_MASK;
+			if (type != KING) {
+				if ((pieces[i] & BLACK) == 0) {
+					whiteCode = addToSide(whiteCode, type);
+				} else {
+					blackCode = addToSide(blackCode, type);
+				}
+			}
+		}
+		boolean flip;
+		if (available[whiteCode * SIDE_CODES + blackCode]) {
+			flip = false;
+		} else if (available[blackCode * SIDE_CODES + whiteCode]) {
+			flip = true;
+		} else {
+			return NOT_AVAILABLE;
+		}
+		Material material = MATERIALS[flip ? blackCode * SIDE_CODES + whiteCode : whiteCode * SIDE_CODES + blackCode];
+		for (int slot = 0; slot < count; slot++) {
+			int wanted = material.pieces[slot] ^ (flip ? BLACK : 0);
+			for (int i = slot; i < count; i++) {
+				if (pieces[i] == wanted) {
+					int square = squares[i];
+					pieces[i] = pieces[slot];
+					squares[i] = squares[slot];
+					pieces[slot] = wanted;
+					squares[slot] = flip ? square ^ (SQUARES - Board.SIZE) : square;
+					break;
+				}
+			}
+		}
+		int index = material.canonicalIndex(squares, flip ? 1 - sideToMove : sideToMove);
+		return ((long) material.key << 32) | index;
+	}
+
+	int getKey() {
+		return this.key;
+	}
+
+	int getPieceCount() {
+		return this.pieces.length;
+	}
+
+	int getPiece(int slot) {
+		return this.pieces[slot];
+	}
+
+	boolean hasPawns() {
+		return this.hasPawns;
+	}
+
+	/**
+	 * Gets number of positions of the table, unused ones included
+	 *
+	 * @return table size in bytes
+	 */
+	int getSize() {
+		return this.size;
+	}
+
+	/**
+	 * Gets name of the table, e.g. <code>KRKP</code>
+	 *
+	 * @return name
+	 */
+	String getName() {
+		StringBuilder name = new StringBuilder();
+		for (int piece : this.pieces) {
+			name.append(LETTERS[piece & TYPE_MASK]);
+		}
+		return name.toString();
+	}
+
+	/**
+	 * Calculates index of the position with squares given in the order of
+	 * pieces, the white king has to be in the canonical region
+	 */
+	int index(int[] squares, int sideToMove) {
+		int index = sideToMove * this.regionSquares.length + this.region[squares[0]];
+		for (int i = 1; i < this.pieces.length; i++) {
+			index = index * SQUARES + squares[i];
+		}
+		return index;
+	}
+
+	/**
+	 * Calculates index of the canonical form of the position
+	 *
+	 * @param squares
+	 *            squares in the order of pieces, not changed
+	 * @param sideToMove
+	 *            side to move
+	 * @return the lowest index among symmetric positions
+	 */
+	int canonicalIndex(int[] squares, int sideToMove) {
+		int best = Integer.MAX_VALUE;
+		for (int transform = 0; transform < this.transformCount; transform++) {
+			int[] mapping = TRANSFORMS[transform];
+			int kingRegion = this.region[mapping[squares[0]]];
+			if (kingRegion < 0) {
+				continue;
+			}
+			int index = sideToMove * this.regionSquares.length + kingRegion;
+			for (int i = 1; i < this.pieces.length; i++) {
+				index = index * SQUARES + mapping[squares[i]];
+			}
+			best = Math.min(best, index);
+		}
+		return best;
+	}
+
+	/**
+	 * Decodes position index
+	 *
+	 * @param index
+	 *            position index
+	 * @param squares
+	 *            array for squares in the order of pieces
+	 * @return side to move
+	 */
+	int decode(int index, int[] squares) {
+		for (int i = this.pieces.length - 1; i > 0; i--) {
+			squares[i] = index % SQUARES;
+			index /= SQUARES;
+		}
+		squares[0] = this.regionSquares[index % this.regionSquares.length];
+		return index / this.regionSquares.length;
+	}
+
+	private static int addToSide(int sideCode, int type) {
+		if (sideCode == 0) {
+			return type * 6;
+		}
+		int first = sideCode / 6;
+		return Math.min(first, type) * 6 + Math.max(first, type);
+	}
+
+	/**
+	 * Side codes are <code>first * 6 + second</code> with extra pieces sorted
+	 * by code, a missing piece is 0 and comes second
+	 */
+	private static boolean isCanonicalSide(int sideCode) {
+		int first = sideCode / 6;
+		int second = sideCode % 6;
+		return (first == 0 && second == 0) || (first != 0 && (second == 0 || first <= second));
+	}
+
+	private static int[] decodeSide(int sideCode) {
+		int first = sideCode / 6;
+		int second = sideCode % 6;
+		if (first == 0) {
+			return new int[0];
+		}
+		return second == 0 ? new int[] { first } : new int[] { first, second };
+	}
+
+	private static int countExtras(int sideCode) {
+		return decodeSide(sideCode).length;
+	}
+
+	private static int countPawns(int sideCode) {
+		int pawns = 0;
+		for (int extra : decodeSide(sideCode)) {
+			pawns += extra == PAWN ? 1 : 0;
+		}
+		return pawns;
+	}
+
+	/**
+	 * Checks whether the first side is the one stored as white: the side with
+	 * more pieces, or with stronger pieces (lower codes) when counts are equal
+	 */
+	private static boolean isStronger(int whiteCode, int blackCode) {
+		int[] white = decodeSide(whiteCode);
+		int[] black = decodeSide(blackCode);
+		if (white.length != black.length) {
+			return white.length > black.length;
+		}
+		for (int i = 0; i < white.length; i++) {
+			if (white[i] != black[i]) {
+				return white[i] < black[i];
+			}
+		}
+		return true;
+	}
+}
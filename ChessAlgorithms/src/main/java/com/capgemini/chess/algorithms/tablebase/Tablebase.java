@@ -0,0 +1,188 @@
+package com.capgemini.chess.algorithms.tablebase;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.capgemini.chess.algorithms.data.enums.Color;
+import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.data.generated.Board;
+
+/**
+ * Endgame tablebases read from memory-mapped files written by
+ * {@link TablebaseGenerator}. Every position of a table takes one byte: the
+ * result for the side to move ({@link #DRAW}, {@link #WIN} or {@link #LOSS})
+ * in the lower 2 bits and the distance to mate in moves in the upper 6 bits.
+ * <p>
+ * Castling rights and en passant captures are not taken into account, so
+ * probes of positions where they are possible may be inexact. Probing does
+ * not change any state and can be shared by search threads.
+ *
+ */
+public class Tablebase implements AutoCloseable {
+
+	public static final String FILE_EXTENSION = ".tb";
+
+	/**
+	 * Value returned by {@link #probe(Board, Color)} when there is no table
+	 * for the position
+	 */
+	public static final int UNKNOWN = -1;
+
+	/**
+	 * Maximal number of pieces, kings included, of a table
+	 */
+	public static final int MAX_PIECES = Material.MAX_PIECES;
+
+	public static final int DRAW = 0;
+	public static final int WIN = 1;
+	public static final int LOSS = 2;
+
+	/**
+	 * Result of indexes which do not encode a legal canonical position
+	 */
+	static final int UNUSED = 3;
+
+	private static final int RESULT_MASK = 3;
+	private static final int DISTANCE_SHIFT = 2;
+	private static final int[] CODES_BY_TYPE = { Material.KING, Material.QUEEN, Material.BISHOP, Material.KNIGHT,
+			Material.ROOK, Material.PAWN };
+
+	private final ByteBuffer[] tables = new ByteBuffer[Material.KEYS];
+	private final boolean[] available = new boolean[Material.KEYS];
+	private int maxPieces;
+
+	/**
+	 * Maps all tables found in the directory
+	 *
+	 * @param directory
+	 *            directory with table files
+	 * @throws IOException
+	 *             if a table cannot be read or has invalid size
+	 */
+	public Tablebase(Path directory) throws IOException {
+		for (Material material : Material.list(Material.MAX_PIECES)) {
+			Path path = directory.resolve(material.getName() + FILE_EXTENSION);
+			if (!Files.isRegularFile(path)) {
+				continue;
+			}
+			try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+				if (channel.size() != material.getSize()) {
+					throw new IOException("Invalid tablebase size: " + path);
+				}
+				this.tables[material.getKey()] = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			}
+			this.available[material.getKey()] = true;
+			this.maxPieces = Math.max(this.maxPieces, material.getPieceCount());
+		}
+	}
+
+	/**
+	 * Finds the position in tables
+	 *
+	 * @param board
+	 *            current board
+	 * @param sideToMove
+	 *            color of the side to move
+	 * @return table entry, see {@link #getResult(int)} and
+	 *         {@link #getDistanceToMate(int)}, or {@link #UNKNOWN}
+	 */
+	public int probe(Board board, Color sideToMove) {
+		return probe(board, sideToMove, new int[MAX_PIECES], new int[MAX_PIECES]);
+	}
+
+	/**
+	 * Finds the position in tables using buffers of the caller, so that the
+	 * search can probe without allocating
+	 *
+	 * @param board
+	 *            current board
+	 * @param sideToMove
+	 *            color of the side to move
+	 * @param pieces
+	 *            buffer of at least {@link #MAX_PIECES} piece codes
+	 * @param squares
+	 *            buffer of at least {@link #MAX_PIECES} squares
+	 * @return table entry, see {@link #getResult(int)} and
+	 *         {@link #getDistanceToMate(int)}, or {@link #UNKNOWN}
+	 */
+	public int probe(Board board, Color sideToMove, int[] pieces, int[] squares) {
+		int whiteCount = board.getPieceCount(Color.WHITE);
+		int count = whiteCount + board.getPieceCount(Color.BLACK);
+		if (count > this.maxPieces) {
+			return UNKNOWN;
+		}
+		for (int i = 0; i < count; i++) {
+			Color color = i < whiteCount ? Color.WHITE : Color.BLACK;
+			int square = board.getPieceSquare(color, i < whiteCount ? i : i - whiteCount);
+			Piece piece = board.getPieceAt(square);
+			pieces[i] = CODES_BY_TYPE[piece.getType().ordinal()] | (color == Color.BLACK ? Material.BLACK : 0);
+			squares[i] = square;
+		}
+		long location = Material.locate(pieces, squares, count,
+				sideToMove == Color.WHITE ? Material.WHITE_TO_MOVE : Material.BLACK_TO_MOVE, this.available);
+		if (location == Material.KINGS_ONLY) {
+			return DRAW;
+		}
+		if (location == Material.NOT_AVAILABLE) {
+			return UNKNOWN;
+		}
+		int entry = this.tables[(int) (location >>> 32)].get((int) location) & 0xFF;
+		return getResult(entry) == UNUSED ? UNKNOWN : entry;
+	}
+
+	/**
+	 * Gets maximal number of pieces, kings included, of the loaded tables
+	 *
+	 * @return number of pieces or 0 if no tables were found
+	 */
+	public int getMaxPieces() {
+		return this.maxPieces;
+	}
+
+	/**
+	 * Gets result of a table entry for the side to move
+	 *
+	 * @param entry
+	 *            table entry
+	 * @return {@link #DRAW}, {@link #WIN} or {@link #LOSS}
+	 */
+	public static int getResult(int entry) {
+		return entry & RESULT_MASK;
+	}
+
+	/**
+	 * Gets number of moves to mate of a table entry, 0 for draws and for
+	 * checkmated positions
+	 *
+	 * @param entry
+	 *            table entry
+	 * @return moves to mate
+	 */
+	public static int getDistanceToMate(int entry) {
+		return entry >>> DISTANCE_SHIFT;
+	}
+
+	static int pack(int result, int distanceToMate) {
+		if (distanceToMate > 0xFF >>> DISTANCE_SHIFT) {
+			throw new IllegalStateException("Distance to mate out of range: " + distanceToMate);
+		}
+		return (distanceToMate << DISTANCE_SHIFT) | result;
+	}
+
+	/**
+	 * Releases tables, mapped memory is released when they are garbage
+	 * collected
+	 */
+	@Override
+	public void close() {
+		for (int key = 0; key < Material.KEYS; key++) {
+			this.tables[key] = null;
+			this.available[key] = false;
+		}
+		this.maxPieces = 0;
+	}
+}
@@ -0,0 +1,530 @@
+package com.capgemini.chess.algorithms.tablebase;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import com.capgemini.chess.algorithms.data.Bitboards;
+import com.capgemini.chess.algorithms.data.enums.Color;
+import com.capgemini.chess.algorithms.data.generated.Board;
+
+/**
+ * Generates endgame tablebases by retrograde analysis. Positions are
+ * resolved in the order of their distance to mate: starting from mates, a
+ * position is won if a move reaches a position lost for the opponent, and
+ * lost if all its moves reach positions won for the opponent. Predecessors
+ * of a resolved position are found by taking moves back, so every iteration
+ * visits only positions next to the resolved ones. Captures and promotions
+ * leave the table and are resolved by tables with fewer pieces or pawns,
+ * which are generated first. Positions which are never resolved are draws.
+ * <p>
+ * Castling and en passant captures are not considered. Every table is
+ * written to a file named after its material (e.g. <code>KRK.tb</code>) with
+ * one byte per position, see {@link Tablebase}.
+ *
+ */
+public class TablebaseGenerator {
+
+	private static final byte ILLEGAL = Byte.MIN_VALUE;
+	private static final int MAX_PLIES = 126;
+	private static final int MAX_MOVES = 128;
+	private static final int[] PROMOTIONS = { Material.QUEEN, Material.ROOK, Material.BISHOP, Material.KNIGHT };
+
+	private static final int TO_SHIFT = 3;
+	private static final int PROMOTION_SHIFT = 9;
+	private static final int CAPTURE_SHIFT = 12;
+	private static final int SLOT_MASK = 7;
+	private static final int SQUARE_MASK = 0x3F;
+
+	private final byte[][] tables = new byte[Material.KEYS][];
+	private final boolean[] available = new boolean[Material.KEYS];
+
+	// state of the generated table
+	private Material material;
+	private int[] pieces;
+	private byte[] values;
+	private IntList[] buckets;
+
+	/**
+	 * Generates all tables with up to given number of pieces and writes them
+	 * to the directory
+	 *
+	 * @param directory
+	 *            output directory
+	 * @param maxPieces
+	 *            maximal number of pieces, kings included, 3 or 4
+	 * @throws IOException
+	 *             if writing fails
+	 */
+	public void generate(Path directory, int maxPieces) throws IOException {
+		for (Material tableMaterial : Material.list(maxPieces)) {
+			byte[] table = generate(tableMaterial);
+			Files.write(directory.resolve(tableMaterial.getName() + Tablebase.FILE_EXTENSION), table);
+		}
+	}
+
+	/**
+	 * Generates tablebase files, arguments are the output directory and
+	 * optionally the maximal number of pieces (4 by default)
+	 *
+	 * @param args
+	 *            command line arguments
+	 * @throws IOException
+	 *             if writing fails
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1) {
+			System.err.println("Usage: TablebaseGenerator <directory> [max pieces]");
+			System.exit(1);
+		}
+		Path directory = Paths.get(args[0]);
+		Files.createDirectories(directory);
+		int maxPieces = args.length > 1 ? Integer.parseInt(args[1]) : Material.MAX_PIECES;
+		TablebaseGenerator generator = new TablebaseGenerator();
+		for (Material tableMaterial : Material.list(maxPieces)) {
+			long start = System.nanoTime();
+			byte[] table = generator.generate(tableMaterial);
+			Files.write(directory.resolve(tableMaterial.getName() + Tablebase.FILE_EXTENSION), table);
+			System.out.printf("%-6s %,12d positions %8.1f s%n", tableMaterial.getName(), table.length,
+					(System.nanoTime() - start) / 1e9);
+		}
+	}
+
+	/**
+	 * Generates one table, tables reached by captures and promotions have to
+	 * be generated by this object before
+	 *
+	 * @param tableMaterial
+	 *            material of the table
+	 * @return table entries as written to the file
+	 */
+	byte[] generate(Material tableMaterial) {
+		this.material = tableMaterial;
+		int count = tableMaterial.getPieceCount();
+		this.pieces = new int[count];
+		for (int slot = 0; slot < count; slot++) {
+			this.pieces[slot] = tableMaterial.getPiece(slot);
+		}
+		this.values = new byte[tableMaterial.getSize()];
+		this.buckets = new IntList[MAX_PLIES + 1];
+		for (int i = 0; i < this.buckets.length; i++) {
+			this.buckets[i] = new IntList();
+		}
+
+		initialize();
+		for (int distance = 0; distance <= MAX_PLIES; distance++) {
+			IntList bucket = this.buckets[distance];
+			for (int i = 0; i < bucket.size; i++) {
+				int index = bucket.values[i];
+				if (this.values[index] == 0) {
+					// win through a capture or a promotion
+					this.values[index] = (byte) distance;
+				}
+				byte value = this.values[index];
+				if (value != ILLEGAL && getDistance(value) == distance) {
+					propagate(index, value > 0, distance);
+				}
+			}
+			this.buckets[distance] = null;
+		}
+
+		byte[] table = pack(this.values);
+		this.tables[tableMaterial.getKey()] = table;
+		this.available[tableMaterial.getKey()] = true;
+		this.values = null;
+		this.buckets = null;
+		return table;
+	}
+
+	/**
+	 * Marks illegal and unused positions, mates, positions won by captures
+	 * and promotions, and positions lost because all their moves leave the
+	 * table and lose
+	 */
+	private void initialize() {
+		int count = this.pieces.length;
+		int[] squares = new int[count];
+		int[] moves = new int[MAX_MOVES];
+		int[] childPieces = new int[count];
+		int[] childSquares = new int[count];
+		for (int index = 0; index < this.values.length; index++) {
+			int sideToMove = this.material.decode(index, squares);
+			if (!isValid(squares, sideToMove) || this.material.canonicalIndex(squares, sideToMove) != index) {
+				this.values[index] = ILLEGAL;
+				continue;
+			}
+			int moveCount = generateMoves(this.pieces, squares, count, sideToMove, moves);
+			int legalMoves = 0;
+			int tableMoves = 0;
+			int bestExitWin = Integer.MAX_VALUE;
+			int worstExitLoss = -1;
+			boolean exitDraw = false;
+			for (int i = 0; i < moveCount; i++) {
+				int childCount = applyMove(moves[i], this.pieces, squares, count, childPieces, childSquares);
+				if (isKingAttacked(childPieces, childSquares, childCount, sideToMove)) {
+					continue;
+				}
+				legalMoves++;
+				if (isTableMove(moves[i], childCount)) {
+					tableMoves++;
+					continue;
+				}
+				int entry = probeExit(childPieces, childSquares, childCount, 1 - sideToMove);
+				int result = Tablebase.getResult(entry);
+				if (result == Tablebase.LOSS) {
+					bestExitWin = Math.min(bestExitWin, getLossPlies(entry) + 1);
+				} else if (result == Tablebase.WIN) {
+					worstExitLoss = Math.max(worstExitLoss, getWinPlies(entry) + 1);
+				} else {
+					exitDraw = true;
+				}
+			}
+			if (legalMoves == 0) {
+				if (isKingAttacked(this.pieces, squares, count, sideToMove)) {
+					setLoss(index, 0);
+				}
+			} else if (bestExitWin != Integer.MAX_VALUE) {
+				this.buckets[bestExitWin].add(index);
+			} else if (tableMoves == 0 && !exitDraw) {
+				setLoss(index, worstExitLoss);
+			}
+		}
+	}
+
+	/**
+	 * Resolves predecessors of a position: positions with a move to a lost
+	 * position are won, positions with all moves to won positions are lost
+	 */
+	private void propagate(int index, boolean won, int distance) {
+		int count = this.pieces.length;
+		int[] squares = new int[count];
+		int sideToMove = this.material.decode(index, squares);
+		int previousSide = 1 - sideToMove;
+		long occupied = getOccupied(squares, count);
+		for (int slot = 0; slot < count; slot++) {
+			int piece = this.pieces[slot];
+			if (getSide(piece) != previousSide) {
+				continue;
+			}
+			int to = squares[slot];
+			long origins = getOrigins(piece, to, occupied);
+			while (origins != 0) {
+				int from = Long.numberOfTrailingZeros(origins);
+				origins &= origins - 1;
+				squares[slot] = from;
+				int predecessor = this.material.canonicalIndex(squares, previousSide);
+				squares[slot] = to;
+				if (this.values[predecessor] != 0) {
+					continue;
+				}
+				if (!won) {
+					if (distance + 1 > MAX_PLIES) {
+						throw new IllegalStateException("Distance to mate out of range in " + this.material.getName());
+					}
+					this.values[predecessor] = (byte) (distance + 1);
+					this.buckets[distance + 1].add(predecessor);
+				} else {
+					int loss = calculateLoss(predecessor);
+					if (loss >= 0) {
+						setLoss(predecessor, loss);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Calculates distance of a lost position
+	 *
+	 * @return plies to mate if all moves reach positions won for the
+	 *         opponent, -1 otherwise
+	 */
+	private int calculateLoss(int index) {
+		int count = this.pieces.length;
+		int[] squares = new int[count];
+		int[] moves = new int[MAX_MOVES];
+		int[] childPieces = new int[count];
+		int[] childSquares = new int[count];
+		int sideToMove = this.material.decode(index, squares);
+		int moveCount = generateMoves(this.pieces, squares, count, sideToMove, moves);
+		int loss = -1;
+		for (int i = 0; i < moveCount; i++) {
+			int childCount = applyMove(moves[i], this.pieces, squares, count, childPieces, childSquares);
+			if (isKingAttacked(childPieces, childSquares, childCount, sideToMove)) {
+				continue;
+			}
+			int winPlies;
+			if (isTableMove(moves[i], childCount)) {
+				byte value = this.values[this.material.canonicalIndex(childSquares, 1 - sideToMove)];
+				if (value <= 0) {
+					return -1;
+				}
+				winPlies = value;
+			} else {
+				int entry = probeExit(childPieces, childSquares, childCount, 1 - sideToMove);
+				if (Tablebase.getResult(entry) != Tablebase.WIN) {
+					return -1;
+				}
+				winPlies = getWinPlies(entry);
+			}
+			loss = Math.max(loss, winPlies + 1);
+		}
+		return loss;
+	}
+
+	private void setLoss(int index, int plies) {
+		if (plies > MAX_PLIES) {
+			throw new IllegalStateException("Distance to mate out of range in " + this.material.getName());
+		}
+		this.values[index] = (byte) (-plies - 1);
+		this.buckets[plies].add(index);
+	}
+
+	private int probeExit(int[] childPieces, int[] childSquares, int childCount, int sideToMove) {
+		long location = Material.locate(childPieces, childSquares, childCount, sideToMove, this.available);
+		if (location == Material.KINGS_ONLY) {
+			return Tablebase.DRAW;
+		}
+		if (location == Material.NOT_AVAILABLE) {
+			throw new IllegalStateException("Missing tablebase for a position of " + this.material.getName());
+		}
+		return this.tables[(int) (location >>> 32)][(int) location] & 0xFF;
+	}
+
+	/**
+	 * Checks whether pieces stand on different fields, pawns are not on the
+	 * first or the last row and the side which does not move is not in check
+	 */
+	private boolean isValid(int[] squares, int sideToMove) {
+		int count = this.pieces.length;
+		long occupied = 0L;
+		for (int slot = 0; slot < count; slot++) {
+			long field = Bitboards.bit(squares[slot]);
+			if ((occupied & field) != 0) {
+				return false;
+			}
+			occupied |= field;
+			int y = Bitboards.getY(squares[slot]);
+			if ((this.pieces[slot] & Material.TYPE_MASK) == Material.PAWN && (y == 0 || y == Board.SIZE - 1)) {
+				return false;
+			}
+		}
+		return !isKingAttacked(this.pieces, squares, count, 1 - sideToMove);
+	}
+
+	/**
+	 * Generates pseudo-legal moves packed as the moved piece slot, 'to'
+	 * square, promotion piece code and captured piece slot plus one
+	 */
+	private static int generateMoves(int[] pieces, int[] squares, int count, int sideToMove, int[] moves) {
+		long occupied = getOccupied(squares, count);
+		long own = 0L;
+		for (int slot = 0; slot < count; slot++) {
+			if (getSide(pieces[slot]) == sideToMove) {
+				own |= Bitboards.bit(squares[slot]);
+			}
+		}
+		int moveCount = 0;
+		for (int slot = 0; slot < count; slot++) {
+			int piece = pieces[slot];
+			if (getSide(piece) != sideToMove) {
+				continue;
+			}
+			int from = squares[slot];
+			long targets;
+			if ((piece & Material.TYPE_MASK) == Material.PAWN) {
+				targets = Bitboards.pawnAttacks(from, getColor(piece)) & occupied & ~own;
+				int forward = from + (sideToMove == Material.WHITE_TO_MOVE ? Board.SIZE : -Board.SIZE);
+				if ((occupied & Bitboards.bit(forward)) == 0) {
+					targets |= Bitboards.bit(forward);
+					int startRow = sideToMove == Material.WHITE_TO_MOVE ? 1 : Board.SIZE - 2;
+					int doubleForward = 2 * forward - from;
+					if (Bitboards.getY(from) == startRow && (occupied & Bitboards.bit(doubleForward)) == 0) {
+						targets |= Bitboards.bit(doubleForward);
+					}
+				}
+			} else {
+				targets = getAttacks(piece, from, occupied) & ~own;
+			}
+			while (targets != 0) {
+				int to = Long.numberOfTrailingZeros(targets);
+				targets &= targets - 1;
+				int captured = 0;
+				for (int other = 0; other < count; other++) {
+					if (squares[other] == to) {
+						captured = other + 1;
+					}
+				}
+				if (captured != 0 && (pieces[captured - 1] & Material.TYPE_MASK) == Material.KING) {
+					continue;
+				}
+				int move = slot | (to << TO_SHIFT) | (captured << CAPTURE_SHIFT);
+				int y = Bitboards.getY(to);
+				if ((piece & Material.TYPE_MASK) == Material.PAWN && (y == 0 || y == Board.SIZE - 1)) {
+					for (int promotion : PROMOTIONS) {
+						moves[moveCount++] = move | (promotion << PROMOTION_SHIFT);
+					}
+				} else {
+					moves[moveCount++] = move;
+				}
+			}
+		}
+		return moveCount;
+	}
+
+	/**
+	 * Makes the move on copies of piece arrays, the captured piece is removed
+	 *
+	 * @return number of pieces after the move
+	 */
+	private static int applyMove(int move, int[] pieces, int[] squares, int count, int[] childPieces,
+			int[] childSquares) {
+		int movedSlot = move & SLOT_MASK;
+		int to = (move >>> TO_SHIFT) & SQUARE_MASK;
+		int promotion = (move >>> PROMOTION_SHIFT) & SLOT_MASK;
+		int capturedSlot = (move >>> CAPTURE_SHIFT) - 1;
+		int childCount = 0;
+		for (int slot = 0; slot < count; slot++) {
+			if (slot == capturedSlot) {
+				continue;
+			}
+			childPieces[childCount] = pieces[slot];
+			childSquares[childCount] = squares[slot];
+			if (slot == movedSlot) {
+				childSquares[childCount] = to;
+				if (promotion != 0) {
+					childPieces[childCount] = promotion | (pieces[slot] & Material.BLACK);
+				}
+			}
+			childCount++;
+		}
+		return childCount;
+	}
+
+	private static boolean isTableMove(int move, int childCount) {
+		return ((move >>> PROMOTION_SHIFT) & SLOT_MASK) == 0 && (move >>> CAPTURE_SHIFT) == 0;
+	}
+
+	/**
+	 * Calculates fields from which the piece could have come to given field
+	 * by a move without capture
+	 */
+	private static long getOrigins(int piece, int to, long occupied) {
+		if ((piece & Material.TYPE_MASK) != Material.PAWN) {
+			return getAttacks(piece, to, occupied) & ~occupied;
+		}
+		int backward = (piece & Material.BLACK) == 0 ? -Board.SIZE : Board.SIZE;
+		int startRow = (piece & Material.BLACK) == 0 ? 1 : Board.SIZE - 2;
+		int from = to + backward;
+		int y = Bitboards.getY(from);
+		if (y == 0 || y == Board.SIZE - 1 || (occupied & Bitboards.bit(from)) != 0) {
+			return 0L;
+		}
+		long origins = Bitboards.bit(from);
+		int doubleFrom = from + backward;
+		if (Bitboards.getY(doubleFrom) == startRow && (occupied & Bitboards.bit(doubleFrom)) == 0) {
+			origins |= Bitboards.bit(doubleFrom);
+		}
+		return origins;
+	}
+
+	private static long getAttacks(int piece, int from, long occupied) {
+		switch (piece & Material.TYPE_MASK) {
+		case Material.KING:
+			return Bitboards.kingTargets(from);
+		case Material.QUEEN:
+			return Bitboards.rookTargets(from, occupied) | Bitboards.bishopTargets(from, occupied);
+		case Material.ROOK:
+			return Bitboards.rookTargets(from, occupied);
+		case Material.BISHOP:
+			return Bitboards.bishopTargets(from, occupied);
+		case Material.KNIGHT:
+			return Bitboards.knightTargets(from);
+		default:
+			return Bitboards.pawnAttacks(from, getColor(piece));
+		}
+	}
+
+	private static boolean isKingAttacked(int[] pieces, int[] squares, int count, int kingSide) {
+		long occupied = getOccupied(squares, count);
+		int kingSquare = -1;
+		for (int slot = 0; slot < count; slot++) {
+			if ((pieces[slot] & Material.TYPE_MASK) == Material.KING && getSide(pieces[slot]) == kingSide) {
+				kingSquare = squares[slot];
+			}
+		}
+		long king = Bitboards.bit(kingSquare);
+		for (int slot = 0; slot < count; slot++) {
+			if (getSide(pieces[slot]) != kingSide && (getAttacks(pieces[slot], squares[slot], occupied) & king) != 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static long getOccupied(int[] squares, int count) {
+		long occupied = 0L;
+		for (int slot = 0; slot < count; slot++) {
+			occupied |= Bitboards.bit(squares[slot]);
+		}
+		return occupied;
+	}
+
+	private static int getSide(int piece) {
+		return (piece & Material.BLACK) == 0 ? Material.WHITE_TO_MOVE : Material.BLACK_TO_MOVE;
+	}
+
+	private static Color getColor(int piece) {
+		return (piece & Material.BLACK) == 0 ? Color.WHITE : Color.BLACK;
+	}
+
+	private static int getDistance(byte value) {
+		return value > 0 ? value : -value - 1;
+	}
+
+	private static int getWinPlies(int entry) {
+		return 2 * Tablebase.getDistanceToMate(entry) - 1;
+	}
+
+	private static int getLossPlies(int entry) {
+		return 2 * Tablebase.getDistanceToMate(entry);
+	}
+
+	/**
+	 * Converts distances in plies to entries of the file, a win in n plies
+	 * is a win in (n + 1) / 2 moves, a loss in n plies is a loss in n / 2
+	 * moves
+	 */
+	private static byte[] pack(byte[] values) {
+		byte[] table = new byte[values.length];
+		for (int index = 0; index < values.length; index++) {
+			byte value = values[index];
+			if (value == ILLEGAL) {
+				table[index] = (byte) Tablebase.pack(Tablebase.UNUSED, 0);
+			} else if (value > 0) {
+				table[index] = (byte) Tablebase.pack(Tablebase.WIN, (value + 1) / 2);
+			} else if (value < 0) {
+				table[index] = (byte) Tablebase.pack(Tablebase.LOSS, (-value - 1) / 2);
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * Growable list of <code>int</code> values
+	 */
+	private static class IntList {
+
+		private int[] values = new int[64];
+		private int size;
+
+		void add(int value) {
+			if (this.size == this.values.length) {
+				this.values = Arrays.copyOf(this.values, this.size * 2);
+			}
+			this.values[this.size++] = value;
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package com.capgemini.chess.algorithms.validation;
+
+import com.capgemini.chess.algorithms.data.enums.BoardState;
+
+/**
+ * Result of replaying one game by {@link GameValidator}: the number of legal
+ * moves, the first illegal move if there is one and the state of the board
+ * after the last legal move.
+ *
+ */
+public class GameValidationResult {
+
+	/**
+	 * Value of {@link #getFirstIllegalPly()} for games with legal moves only
+	 */
+	public static final int NO_ILLEGAL_PLY = -1;
+
+	private final long gameIndex;
+	private final int legalPlyCount;
+	private final int firstIllegalPly;
+	private final BoardState boardState;
+	private final boolean threefoldRepetition;
+	private final boolean fiftyMoveRule;
+
+	public GameValidationResult(long gameIndex, int legalPlyCount, int firstIllegalPly, BoardState boardState,
+			boolean threefoldRepetition, boolean fiftyMoveRule) {
+		this.gameIndex = gameIndex;
+		this.legalPlyCount = legalPlyCount;
+		this.firstIllegalPly = firstIllegalPly;
+		this.boardState = boardState;
+		this.threefoldRepetition = threefoldRepetition;
+		this.fiftyMoveRule = fiftyMoveRule;
+	}
+
+	/**
+	 * Gets position of the game in the validated stream
+	 *
+	 * @return game index, starting from 0
+	 */
+	public long getGameIndex() {
+		return this.gameIndex;
+	}
+
+	public int getLegalPlyCount() {
+		return this.legalPlyCount;
+	}
+
+	/**
+	 * Gets index of the first illegal move, the moves after it are not
+	 * validated
+	 *
+	 * @return ply index or {@link #NO_ILLEGAL_PLY}
+	 */
+	public int getFirstIllegalPly() {
+		return this.firstIllegalPly;
+	}
+
+	public boolean isValid() {
+		return this.firstIllegalPly == NO_ILLEGAL_PLY;
+	}
+
+	/**
+	 * Gets state of the board after the last legal move
+	 *
+	 * @return board state
+	 */
+	public BoardState getBoardState() {
+		return this.boardState;
+	}
+
+	/**
+	 * Checks whether the position after the last legal move occurred three
+	 * times
+	 *
+	 * @return true if a draw can be claimed by the threefold repetition rule
+	 */
+	public boolean isThreefoldRepetition() {
+		return this.threefoldRepetition;
+	}
+
+	/**
+	 * Checks whether 50 moves were played without a pawn move or a capture
+	 * before the position after the last legal move
+	 *
+	 * @return true if a draw can be claimed by the 50-move rule
+	 */
+	public boolean isFiftyMoveRule() {
+		return this.fiftyMoveRule;
+	}
+}
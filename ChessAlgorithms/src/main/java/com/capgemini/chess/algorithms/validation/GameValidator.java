@@ -0,0 +1,219 @@
+package com.capgemini.chess.algorithms.validation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+import com.capgemini.chess.algorithms.data.Bitboards;
+import com.capgemini.chess.algorithms.data.PackedMove;
+import com.capgemini.chess.algorithms.data.enums.BoardState;
+import com.capgemini.chess.algorithms.implementation.BoardManager;
+
+/**
+ * Replays games on a fork-join pool and checks that all their moves are
+ * legal. Games are given as arrays of {@link PackedMove}s played from the
+ * initial position. They are taken from the input in batches, every batch is
+ * split into ranges of games validated by the workers of the pool, and the
+ * next batch is validated while the results of the previous one are passed
+ * to the consumer, always in input order.
+ * <p>
+ * Every worker thread replays its games on its own {@link BoardManager},
+ * making and taking back the moves in place, so no state is shared between
+ * workers and nothing is allocated per move. A move is legal if it is one of
+ * the moves generated by
+ * {@link BoardManager#generateLegalMoves(com.capgemini.chess.algorithms.data.enums.Color, long, long, int[])}
+ * for its 'from' and 'to' fields, the same check as done by
+ * {@link BoardManager#performMove}.
+ *
+ */
+public class GameValidator implements AutoCloseable {
+
+	public static final int DEFAULT_BATCH_SIZE = 1 << 12;
+
+	private static final int GAMES_PER_TASK = 32;
+
+	private final ForkJoinPool pool;
+	private final int batchSize;
+	private final ThreadLocal<Worker> workers = ThreadLocal.withInitial(Worker::new);
+
+	/**
+	 * Creates validator using all available processors
+	 */
+	public GameValidator() {
+		this(Runtime.getRuntime().availableProcessors(), DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Creates validator
+	 *
+	 * @param parallelism
+	 *            number of worker threads, at least 1
+	 * @param batchSize
+	 *            number of games taken from the input at once, at least 1
+	 */
+	public GameValidator(int parallelism, int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("Invalid batch size: " + batchSize);
+		}
+		this.pool = new ForkJoinPool(parallelism);
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Validates all games
+	 *
+	 * @param games
+	 *            moves of every game, packed
+	 * @return results in the order of the games
+	 */
+	public List<GameValidationResult> validate(List<int[]> games) {
+		List<GameValidationResult> results = new ArrayList<>(games.size());
+		validate(games.iterator(), results::add);
+		return results;
+	}
+
+	/**
+	 * Validates games of the input until it ends. The consumer is called by
+	 * the calling thread.
+	 *
+	 * @param games
+	 *            moves of every game, packed; arrays must not be changed
+	 *            until the result of the game is consumed
+	 * @param consumer
+	 *            receiver of the results in the order of the games
+	 */
+	public void validate(Iterator<int[]> games, Consumer<GameValidationResult> consumer) {
+		long firstGameIndex = 0;
+		Batch pending = null;
+		while (pending != null || games.hasNext()) {
+			Batch next = null;
+			if (games.hasNext()) {
+				next = new Batch(games, firstGameIndex);
+				firstGameIndex += next.size;
+				this.pool.execute(next.task);
+			}
+			if (pending != null) {
+				pending.task.join();
+				for (int i = 0; i < pending.size; i++) {
+					consumer.accept(pending.results[i]);
+				}
+			}
+			pending = next;
+		}
+	}
+
+	public int getParallelism() {
+		return this.pool.getParallelism();
+	}
+
+	/**
+	 * Stops the worker threads, validations in progress are cancelled
+	 */
+	@Override
+	public void close() {
+		this.pool.shutdownNow();
+	}
+
+	private GameValidationResult validateGame(long gameIndex, int[] moves) {
+		Worker worker = this.workers.get();
+		BoardManager boardManager = worker.boardManager;
+		int madeMoves = 0;
+		int firstIllegalPly = GameValidationResult.NO_ILLEGAL_PLY;
+		try {
+			for (; madeMoves < moves.length; madeMoves++) {
+				if (!worker.isLegal(moves[madeMoves])) {
+					firstIllegalPly = madeMoves;
+					break;
+				}
+				boardManager.makeMove(moves[madeMoves]);
+			}
+			BoardState boardState = boardManager.updateBoardState();
+			return new GameValidationResult(gameIndex, madeMoves, firstIllegalPly, boardState,
+					boardManager.checkThreefoldRepetitionRule(), boardManager.checkFiftyMoveRule());
+		} finally {
+			for (int i = 0; i < madeMoves; i++) {
+				boardManager.unmakeMove();
+			}
+		}
+	}
+
+	/**
+	 * Board and move buffer of one worker thread
+	 */
+	private static class Worker {
+
+		private final BoardManager boardManager = new BoardManager();
+		private final int[] moves = new int[BoardManager.MAX_MOVES];
+
+		private boolean isLegal(int move) {
+			int count = this.boardManager.generateLegalMoves(this.boardManager.getBoard().getSideToMove(),
+					Bitboards.bit(PackedMove.getFrom(move)), Bitboards.bit(PackedMove.getTo(move)), this.moves);
+			for (int i = 0; i < count; i++) {
+				if (this.moves[i] == move) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Games taken from the input at once with their results
+	 */
+	private class Batch {
+
+		private final int[][] games;
+		private final GameValidationResult[] results;
+		private final long firstGameIndex;
+		private final int size;
+		private final ForkJoinTask<Void> task;
+
+		private Batch(Iterator<int[]> input, long firstGameIndex) {
+			int[][] batchGames = new int[GameValidator.this.batchSize][];
+			int count = 0;
+			while (count < batchGames.length && input.hasNext()) {
+				batchGames[count++] = input.next();
+			}
+			this.games = count < batchGames.length ? Arrays.copyOf(batchGames, count) : batchGames;
+			this.results = new GameValidationResult[count];
+			this.firstGameIndex = firstGameIndex;
+			this.size = count;
+			this.task = new RangeTask(this, 0, count);
+		}
+	}
+
+	/**
+	 * Validates games of a batch in a range, splitting it between workers
+	 */
+	private class RangeTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Batch batch;
+		private final int from;
+		private final int to;
+
+		private RangeTask(Batch batch, int from, int to) {
+			this.batch = batch;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.to - this.from <= GAMES_PER_TASK) {
+				for (int i = this.from; i < this.to; i++) {
+					this.batch.results[i] = validateGame(this.batch.firstGameIndex + i, this.batch.games[i]);
+				}
+				return;
+			}
+			int middle = (this.from + this.to) >>> 1;
+			invokeAll(new RangeTask(this.batch, this.from, middle), new RangeTask(this.batch, middle, this.to));
+		}
+	}
+}
@@ -0,0 +1,148 @@
+package com.capgemini.chess.algorithms.archive;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.capgemini.chess.algorithms.data.PackedMove;
+import com.capgemini.chess.algorithms.data.enums.MoveType;
+import com.capgemini.chess.algorithms.implementation.BoardManager;
+import com.capgemini.chess.algorithms.pgn.PgnImporter;
+
+/**
+ * Test class for testing {@link GameArchiveWriter} and {@link GameArchive}
+ *
+ */
+public class GameArchiveTest {
+
+	private static final String PGN = "[Result \"1-0\"]\n1. e4 e5 2. Bc4 Nc6 3. Qh5 Nf6 4. Qxf7# 1-0\n\n"
+			+ "[Result \"*\"]\n1. e4 e5 2. Ke3 *\n\n" + "[Result \"1/2-1/2\"]\n1. d4 d5 2. c4 dxc4 1/2-1/2\n\n"
+			+ "[Result \"0-1\"]\n1. f3 e5 2. g4 Qh4# 0-1\n\n"
+			+ "[Result \"1-0\"]\n1. e4 d5 2. e5 f5 3. exf6 Kf7 4. fxg7 Kg6 5. gxh8=N Kf5 6. Nf7 a6 1-0\n";
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void testReplayPackedMoves() throws IOException {
+		testReplay(GameArchive.PACKED_MOVES);
+	}
+
+	@Test
+	public void testReplayMoveIndexes() throws IOException {
+		testReplay(GameArchive.MOVE_INDEXES);
+	}
+
+	@Test
+	public void testIllegalGameIsNotAdded() throws IOException {
+		// given
+		Path path = this.temporaryFolder.getRoot().toPath().resolve("games.bin");
+		int[] illegalGame = { PackedMove.pack(12, 28, MoveType.ATTACK, null),
+				PackedMove.pack(12, 28, MoveType.ATTACK, null) };
+		int[] legalGame = { PackedMove.pack(11, 27, MoveType.ATTACK, null) };
+
+		// when
+		try (GameArchiveWriter writer = new GameArchiveWriter(path, GameArchive.PACKED_MOVES)) {
+			try {
+				writer.addGame(illegalGame, illegalGame.length, GameArchive.DRAW);
+				fail("Illegal game added");
+			} catch (IllegalArgumentException e) {
+				// expected
+			}
+			writer.addGame(legalGame, legalGame.length, GameArchive.WHITE_WINS);
+		}
+
+		// then
+		try (GameArchive archive = new GameArchive(path)) {
+			assertEquals(1, archive.getGameCount());
+			assertEquals(1, archive.getPlyCount(0));
+			assertEquals(GameArchive.WHITE_WINS, archive.getResult(0));
+		}
+		assertEquals(1, Files.list(this.temporaryFolder.getRoot().toPath()).count());
+	}
+
+	@Test
+	public void testTooLongPgnGameIsSkipped() throws IOException {
+		// given
+		Path path = this.temporaryFolder.getRoot().toPath().resolve("games.bin");
+		StringBuilder pgn = new StringBuilder("[Result \"1/2-1/2\"]\n");
+		for (int i = 0; i <= GameArchive.MAX_PLIES / 4; i++) {
+			pgn.append("Nf3 Nf6 Ng1 Ng8 ");
+		}
+		pgn.append("1/2-1/2\n\n[Result \"1-0\"]\n1. f3 e5 2. g4 Qh4# 0-1\n");
+
+		// when
+		PgnImporter importer;
+		try (GameArchiveWriter writer = new GameArchiveWriter(path, GameArchive.PACKED_MOVES)) {
+			importer = writer.addGames(
+					Channels.newChannel(new ByteArrayInputStream(pgn.toString().getBytes(StandardCharsets.US_ASCII))));
+
+			// then
+			assertEquals(1, writer.getGameCount());
+			assertEquals(1, writer.getSkippedGameCount());
+		}
+		assertEquals(2, importer.getGameCount());
+		try (GameArchive archive = new GameArchive(path)) {
+			assertEquals(1, archive.getGameCount());
+			assertEquals(4, archive.getPlyCount(0));
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testOpenInvalidFile() throws IOException {
+		// given
+		Path path = this.temporaryFolder.newFile("games.pgn").toPath();
+		Files.write(path, PGN.getBytes(StandardCharsets.ISO_8859_1));
+
+		// when
+		new GameArchive(path).close();
+	}
+
+	private void testReplay(int encoding) throws IOException {
+		// given
+		Path path = this.temporaryFolder.getRoot().toPath().resolve("games.bin");
+		List<Long> finalKeys = new ArrayList<>();
+		PgnImporter pgnImporter = new PgnImporter(
+				(tags, result, boardManager) -> finalKeys.add(boardManager.getBoard().getZobristKey()));
+		pgnImporter.importGames(Channels.newChannel(new ByteArrayInputStream(PGN.getBytes(StandardCharsets.ISO_8859_1))));
+
+		// when
+		try (GameArchiveWriter writer = new GameArchiveWriter(path, encoding)) {
+			writer.addGames(Channels.newChannel(new ByteArrayInputStream(PGN.getBytes(StandardCharsets.ISO_8859_1))));
+		}
+
+		// then
+		try (GameArchive archive = new GameArchive(path)) {
+			assertEquals(encoding, archive.getEncoding());
+			assertEquals(4, archive.getGameCount());
+			assertEquals(7 + 4 + 4 + 12, archive.getMoveCount());
+			assertEquals(GameArchive.HEADER_BYTES + 4 + archive.getMoveCount() * (encoding == GameArchive.PACKED_MOVES ? 2 : 1)
+					+ 5 * 8, Files.size(path));
+			assertEquals("1/2-1/2", GameArchive.toPgnResult(archive.getResult(1)));
+			assertEquals(GameArchive.BLACK_WINS, archive.getResult(2));
+			assertEquals(12, archive.getPlyCount(3));
+			BoardManager boardManager = new BoardManager();
+			long initialKey = boardManager.getBoard().getZobristKey();
+			for (int game = 3; game >= 0; game--) {
+				int plies = archive.replay(game, boardManager);
+				assertEquals(archive.getPlyCount(game), plies);
+				assertEquals(finalKeys.get(game).longValue(), boardManager.getBoard().getZobristKey());
+				for (int i = 0; i < plies; i++) {
+					boardManager.unmakeMove();
+				}
+				assertEquals(initialKey, boardManager.getBoard().getZobristKey());
+			}
+		}
+	}
+}
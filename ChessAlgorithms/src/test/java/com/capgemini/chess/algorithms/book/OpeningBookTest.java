@@ -0,0 +1,140 @@
+package com.capgemini.chess.algorithms.book;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.capgemini.chess.algorithms.data.Coordinate;
+import com.capgemini.chess.algorithms.data.Move;
+import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.implementation.BoardManager;
+import com.capgemini.chess.algorithms.implementation.PerftPosition;
+import com.capgemini.chess.algorithms.implementation.exceptions.InvalidMoveException;
+import com.capgemini.chess.algorithms.pgn.PgnReader;
+
+/**
+ * Test class for testing {@link OpeningBook} and {@link OpeningBookBuilder}
+ *
+ */
+public class OpeningBookTest {
+
+	private static final String GAMES = "[Result \"1-0\"]\n1. e4 e5 2. Nf3 Nc6 1-0\n\n"
+			+ "[Result \"0-1\"]\n1. e4 c5 2. Nf3 0-1\n\n"
+			+ "[Result \"1/2-1/2\"]\n1. d4 d5 1/2-1/2\n\n"
+			+ "[Result \"0-1\"]\n1. e4 c5 2. Nc3 0-1\n\n"
+			+ "[Result \"*\"]\n1. d4 *\n\n"
+			+ "[FEN \"8/8/8/8/8/8/8/K6k w - - 0 1\"]\n1. Kb1 1-0\n";
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void testBuildAndProbeBook() throws IOException, InvalidMoveException {
+		// given
+		Path bookPath = buildBook(new OpeningBookBuilder(this.temporaryFolder.getRoot().toPath(), 3));
+		BoardManager boardManager = new BoardManager();
+
+		try (OpeningBook book = new OpeningBook(bookPath)) {
+			// when
+			Move whiteMove = book.getMove(boardManager.getBoard());
+			boardManager.performMove(whiteMove.getFrom(), whiteMove.getTo());
+			Move blackMove = book.getMove(boardManager.getBoard());
+			boardManager.performMove(blackMove.getFrom(), blackMove.getTo());
+
+			// then
+			assertEquals(new Coordinate(4, 1), whiteMove.getFrom());
+			assertEquals(new Coordinate(4, 3), whiteMove.getTo());
+			assertEquals(Piece.WHITE_PAWN, whiteMove.getMovedPiece());
+			assertEquals(new Coordinate(2, 6), blackMove.getFrom());
+			assertEquals(new Coordinate(2, 4), blackMove.getTo());
+			// e4, d4, e5, c5, d5, Nf3 after e5, Nf3 and Nc3 after c5
+			assertEquals(8, book.getEntryCount());
+			assertNull(book.getMove(PerftPosition.KIWIPETE.createBoard()));
+		}
+	}
+
+	@Test
+	public void testBuildBookFromManyRuns() throws IOException {
+		// given
+		OpeningBookBuilder builder = new OpeningBookBuilder(this.temporaryFolder.getRoot().toPath(), 3, 2);
+
+		// when
+		Path bookPath = buildBook(builder);
+
+		// then
+		try (OpeningBook book = new OpeningBook(bookPath)) {
+			assertEquals(8, book.getEntryCount());
+			assertEquals(4, builder.getGameCount());
+			assertEquals(2, builder.getSkippedGameCount());
+			assertEquals(11, builder.getEntryCount());
+			for (long i = 1; i < book.getEntryCount(); i++) {
+				assertTrue(Long.compareUnsigned(book.getKey(i - 1), book.getKey(i)) <= 0);
+			}
+			long first = book.findFirst(new BoardManager().getBoard().getZobristKey());
+			assertEquals(3, book.getWeight(first) + book.getWeight(first + 1));
+		}
+		assertEquals(1, this.temporaryFolder.getRoot().list().length);
+	}
+
+	@Test
+	public void testBuildBookScalesLargeWeights() throws IOException {
+		// given
+		OpeningBookBuilder builder = new OpeningBookBuilder(this.temporaryFolder.getRoot().toPath(), 1, 1 << 12);
+		Path bookPath = this.temporaryFolder.getRoot().toPath().resolve("test.bin");
+		for (int i = 0; i < 35000; i++) {
+			builder.addGame(Arrays.asList("e4"), PgnReader.WHITE_WINS);
+		}
+		for (int i = 0; i < 34000; i++) {
+			builder.addGame(Arrays.asList("d4"), PgnReader.WHITE_WINS);
+		}
+		builder.addGame(Arrays.asList("c4"), PgnReader.BLACK_WINS);
+		builder.addGame(Arrays.asList("Nf3"), PgnReader.DRAW);
+
+		// when
+		builder.build(bookPath);
+
+		// then
+		try (OpeningBook book = new OpeningBook(bookPath)) {
+			BoardManager boardManager = new BoardManager();
+			Move move = book.getMove(boardManager.getBoard());
+			assertEquals(new Coordinate(4, 3), move.getTo());
+			long first = book.findFirst(boardManager.getBoard().getZobristKey());
+			int[] weights = new int[4];
+			for (int i = 0; i < weights.length; i++) {
+				weights[i] = book.getWeight(first + i);
+			}
+			Arrays.sort(weights);
+			// 70000, 68000, 1 and 0 scaled down to 65535
+			assertArrayEquals(new int[] { 0, 1, 63663, 65535 }, weights);
+		}
+	}
+
+	@Test
+	public void testCountGameWithIllegalMoveAsSkipped() throws IOException {
+		// given
+		OpeningBookBuilder builder = new OpeningBookBuilder(this.temporaryFolder.getRoot().toPath(), 3);
+
+		// when
+		boolean added = builder.addGame(Arrays.asList("e4", "e4"), PgnReader.DRAW);
+
+		// then
+		assertFalse(added);
+		assertEquals(0, builder.getGameCount());
+		assertEquals(1, builder.getSkippedGameCount());
+		assertEquals(1, builder.getEntryCount());
+	}
+
+	private Path buildBook(OpeningBookBuilder builder) throws IOException {
+		Path bookPath = this.temporaryFolder.getRoot().toPath().resolve("test.bin");
+		builder.addGames(new StringReader(GAMES));
+		builder.build(bookPath);
+		return bookPath;
+	}
+}
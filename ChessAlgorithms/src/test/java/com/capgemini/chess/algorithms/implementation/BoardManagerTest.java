@@ -7,11 +7,14 @@ import java.util.List;
 
 import org.junit.Test;
 
+import com.capgemini.chess.algorithms.data.Bitboards;
 import com.capgemini.chess.algorithms.data.Coordinate;
 import com.capgemini.chess.algorithms.data.Move;
 import com.capgemini.chess.algorithms.data.enums.BoardState;
+import com.capgemini.chess.algorithms.data.enums.Color;
 import com.capgemini.chess.algorithms.data.enums.MoveType;
 import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.data.enums.PieceType;
 import com.capgemini.chess.algorithms.data.generated.Board;
 import com.capgemini.chess.algorithms.implementation.exceptions.InvalidMoveException;
 import com.capgemini.chess.algorithms.implementation.exceptions.KingInCheckException;
@@ -781,6 +784,91 @@ public class BoardManagerTest {
 		assertFalse(isThreefoldRepetition);
 	}
 	
+	@Test
+	public void testCheckThreefoldRepetitionRuleKnightMoves() throws InvalidMoveException {
+		// given
+		BoardManager boardManager = new BoardManager();
+		boolean repetitionAfterSecondCycle = false;
+		
+		// when
+		for (int i = 0; i < 2; i++) {
+			repetitionAfterSecondCycle = boardManager.checkThreefoldRepetitionRule();
+			boardManager.performMove(new Coordinate(6, 0), new Coordinate(5, 2));
+			boardManager.performMove(new Coordinate(6, 7), new Coordinate(5, 5));
+			boardManager.performMove(new Coordinate(5, 2), new Coordinate(6, 0));
+			boardManager.performMove(new Coordinate(5, 5), new Coordinate(6, 7));
+		}
+		
+		// then
+		assertFalse(repetitionAfterSecondCycle);
+		assertTrue(boardManager.checkThreefoldRepetitionRule());
+	}
+	
+	@Test
+	public void testZobristKeyIncrementalUpdate() throws InvalidMoveException {
+		// given
+		BoardManager boardManager = new BoardManager();
+		long initialKey = boardManager.getBoard().getZobristKey();
+		
+		// when
+		boardManager.performMove(new Coordinate(4, 1), new Coordinate(4, 3));
+		long keyAfterMove = boardManager.getBoard().getZobristKey();
+		Board board = new Board();
+		for (int x = 0; x < Board.SIZE; x++) {
+			for (int y = 0; y < Board.SIZE; y++) {
+				board.setPieceAt(boardManager.getBoard().getPieceAt(new Coordinate(x, y)), new Coordinate(x, y));
+			}
+		}
+		board.getMoveHistory().addAll(boardManager.getBoard().getMoveHistory());
+		
+		// then
+		assertNotEquals(initialKey, keyAfterMove);
+		assertEquals(board.getZobristKey(), keyAfterMove);
+	}
+	
+	@Test
+	public void testKingCoordinateAndPiecesAfterCapture() throws InvalidMoveException {
+		// given
+		Board board = new Board();
+		board.setPieceAt(Piece.WHITE_KING, new Coordinate(4, 0));
+		board.setPieceAt(Piece.WHITE_ROOK, new Coordinate(0, 0));
+		board.setPieceAt(Piece.BLACK_KING, new Coordinate(4, 7));
+		board.setPieceAt(Piece.BLACK_KNIGHT, new Coordinate(0, 5));
+		BoardManager boardManager = new BoardManager(board);
+		
+		// when
+		boardManager.performMove(new Coordinate(0, 0), new Coordinate(0, 5));
+		boardManager.performMove(new Coordinate(4, 7), new Coordinate(3, 6));
+		
+		// then
+		assertEquals(new Coordinate(3, 6), boardManager.getKingCoordinate(Color.BLACK));
+		assertEquals(new Coordinate(4, 0), boardManager.getKingCoordinate(Color.WHITE));
+		assertEquals(1, boardManager.getAllPiecesOfTheColor(Color.BLACK).size());
+		assertEquals(2, boardManager.getAllPiecesOfTheColor(Color.WHITE).size());
+	}
+	
+	@Test
+	public void testIsSquareAttacked() {
+		// given
+		Board board = new Board();
+		board.setPieceAt(Piece.BLACK_PAWN, new Coordinate(3, 4));
+		board.setPieceAt(Piece.BLACK_BISHOP, new Coordinate(7, 7));
+		board.setPieceAt(Piece.WHITE_KNIGHT, new Coordinate(5, 5));
+		BoardManager boardManager = new BoardManager(board);
+		
+		// when
+		boolean attackedByPawn = boardManager.isSquareAttacked(Bitboards.square(2, 3), Color.BLACK);
+		boolean behindPawn = boardManager.isSquareAttacked(Bitboards.square(3, 3), Color.BLACK);
+		boolean behindKnight = boardManager.isSquareAttacked(Bitboards.square(4, 4), Color.BLACK);
+		boolean attackedByKnight = boardManager.isSquareAttacked(Bitboards.square(7, 6), Color.WHITE);
+		
+		// then
+		assertTrue(attackedByPawn);
+		assertFalse(behindPawn);
+		assertFalse(behindKnight);
+		assertTrue(attackedByKnight);
+	}
+	
 	@Test
 	public void testCheckFiftyMoveRuleSuccessful() {
 		// given
@@ -838,6 +926,182 @@ public class BoardManagerTest {
 		assertFalse(areFiftyMoves);
 	}
 	
+	@Test
+	public void testGenerateLegalMovesInitialPosition() {
+		// given
+		BoardManager boardManager = new BoardManager();
+		int[] moves = new int[BoardManager.MAX_MOVES];
+		
+		// when
+		int whiteMovesCount = boardManager.generateLegalMoves(Color.WHITE, moves);
+		int blackMovesCount = boardManager.generateLegalMoves(Color.BLACK, moves);
+		
+		// then
+		assertEquals(20, whiteMovesCount);
+		assertEquals(20, blackMovesCount);
+	}
+	
+	@Test
+	public void testGenerateLegalMovesPinnedPiece() {
+		// given
+		Board board = new Board();
+		board.setPieceAt(Piece.WHITE_KING, new Coordinate(4, 0));
+		board.setPieceAt(Piece.WHITE_KNIGHT, new Coordinate(4, 1));
+		board.setPieceAt(Piece.BLACK_ROOK, new Coordinate(4, 7));
+		BoardManager boardManager = new BoardManager(board);
+		
+		// when
+		List<Move> knightMoves = boardManager.getValidMoves(new Coordinate(4, 1));
+		List<Move> allMoves = boardManager.getValidMoves();
+		
+		// then
+		assertTrue(knightMoves.isEmpty());
+		assertEquals(4, allMoves.size());
+	}
+	
+	@Test
+	public void testGetValidMovesPromotion() {
+		// given
+		Board board = new Board();
+		board.setPieceAt(Piece.WHITE_PAWN, new Coordinate(0, 6));
+		BoardManager boardManager = new BoardManager(board);
+		
+		// when
+		List<Move> pawnMoves = boardManager.getValidMoves(new Coordinate(0, 6));
+		
+		// then
+		assertEquals(4, pawnMoves.size());
+		assertEquals(PieceType.QUEEN, pawnMoves.get(0).getPromotion());
+		assertEquals(PieceType.KNIGHT, pawnMoves.get(3).getPromotion());
+	}
+	
+	@Test
+	public void testMakeUnmakeMoveRestoresBoard() {
+		// given
+		Board board = PerftPosition.KIWIPETE.createBoard();
+		BoardManager boardManager = new BoardManager(board);
+		long zobristKey = board.getZobristKey();
+		long occupied = board.getOccupiedBitboard();
+		int castlingRights = board.getCastlingRights();
+		int[] moves = new int[BoardManager.MAX_MOVES];
+		int count = boardManager.generateLegalMoves(Color.WHITE, moves);
+		
+		// when
+		for (int i = 0; i < count; i++) {
+			boardManager.makeMove(moves[i]);
+			assertEquals(1, board.getMoveHistory().size());
+			boardManager.unmakeMove();
+			
+			// then
+			assertEquals(zobristKey, board.getZobristKey());
+			assertEquals(occupied, board.getOccupiedBitboard());
+			assertEquals(castlingRights, board.getCastlingRights());
+			assertEquals(Board.NO_EN_PASSANT, board.getEnPassantSquare());
+			assertEquals(0, board.getMoveHistory().size());
+		}
+		assertEquals(48, count);
+	}
+
+	@Test
+	public void testMoveIndexRoundTrip() {
+		int[] moves = new int[BoardManager.MAX_MOVES];
+		for (PerftPosition position : PerftPosition.values()) {
+			// given
+			BoardManager boardManager = new BoardManager(position.createBoard());
+			Color color = boardManager.getBoard().getSideToMove();
+			int count = boardManager.generateLegalMoves(color, moves);
+			int previousIndex = -1;
+
+			for (int i = 0; i < count; i++) {
+				// when
+				int index = boardManager.getMoveIndex(color, moves[i]);
+
+				// then
+				assertTrue(index > previousIndex);
+				assertEquals(moves[i], boardManager.getMoveAtIndex(color, index));
+				previousIndex = index;
+			}
+			assertEquals(-1, boardManager.getMoveAtIndex(color, BoardManager.MAX_MOVES));
+		}
+	}
+	
+	@Test
+	public void testMoveHistoryConvertsPackedMoves() throws InvalidMoveException {
+		// given
+		BoardManager boardManager = new BoardManager();
+		boardManager.performMove(new Coordinate(4, 1), new Coordinate(4, 3));
+		boardManager.performMove(new Coordinate(6, 7), new Coordinate(5, 5));
+		
+		// when
+		Board board = new Board(boardManager.getBoard());
+		board.getMoveHistory().add(createDummyMove(board));
+		Move firstMove = boardManager.getBoard().getMoveHistory().get(0);
+		Move lastMove = boardManager.getBoard().getMoveHistory().get(1);
+		
+		// then
+		assertEquals(2, boardManager.getBoard().getMoveHistory().size());
+		assertEquals(3, board.getMoveHistory().size());
+		assertEquals(new Coordinate(4, 1), firstMove.getFrom());
+		assertEquals(new Coordinate(4, 3), firstMove.getTo());
+		assertEquals(MoveType.ATTACK, firstMove.getType());
+		assertEquals(Piece.WHITE_PAWN, firstMove.getMovedPiece());
+		assertEquals(Piece.BLACK_KNIGHT, lastMove.getMovedPiece());
+		assertEquals(Piece.WHITE_ROOK, board.getMoveHistory().getMovedPiece(2));
+	}
+	
+	@Test
+	public void testStaticExchangePawnTakesDefendedKnight() {
+		// given
+		Board board = new Board();
+		board.setPieceAt(Piece.WHITE_PAWN, new Coordinate(3, 3));
+		board.setPieceAt(Piece.BLACK_KNIGHT, new Coordinate(4, 4));
+		board.setPieceAt(Piece.BLACK_PAWN, new Coordinate(5, 5));
+		BoardManager boardManager = new BoardManager(board);
+		
+		// when
+		int gain = boardManager.staticExchange(
+				new Move(new Coordinate(3, 3), new Coordinate(4, 4), MoveType.CAPTURE, Piece.WHITE_PAWN));
+		
+		// then
+		assertEquals(220, gain);
+	}
+	
+	@Test
+	public void testStaticExchangeRookTakesDefendedPawn() {
+		// given
+		Board board = new Board();
+		board.setPieceAt(Piece.WHITE_ROOK, new Coordinate(4, 0));
+		board.setPieceAt(Piece.BLACK_PAWN, new Coordinate(4, 4));
+		board.setPieceAt(Piece.BLACK_PAWN, new Coordinate(3, 5));
+		BoardManager boardManager = new BoardManager(board);
+		
+		// when
+		int gain = boardManager.staticExchange(
+				new Move(new Coordinate(4, 0), new Coordinate(4, 4), MoveType.CAPTURE, Piece.WHITE_ROOK));
+		
+		// then
+		assertEquals(-400, gain);
+	}
+	
+	@Test
+	public void testStaticExchangeCountsXRayAttackers() {
+		// given
+		Board board = new Board();
+		board.setPieceAt(Piece.WHITE_ROOK, new Coordinate(4, 0));
+		board.setPieceAt(Piece.WHITE_ROOK, new Coordinate(4, 1));
+		board.setPieceAt(Piece.BLACK_PAWN, new Coordinate(4, 4));
+		board.setPieceAt(Piece.BLACK_ROOK, new Coordinate(4, 7));
+		BoardManager boardManager = new BoardManager(board);
+		
+		// when
+		int gain = boardManager.staticExchange(
+				new Move(new Coordinate(4, 1), new Coordinate(4, 4), MoveType.CAPTURE, Piece.WHITE_ROOK));
+		
+		// then
+		assertEquals(100, gain);
+		assertEquals(Piece.WHITE_ROOK, board.getPieceAt(new Coordinate(4, 1)));
+	}
+	
 	private Move createDummyMove(Board board) {
 		
 		Move move = new Move();
@@ -0,0 +1,132 @@
+package com.capgemini.chess.algorithms.implementation;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.junit.Test;
+
+import com.capgemini.chess.algorithms.data.Coordinate;
+import com.capgemini.chess.algorithms.data.PackedMove;
+import com.capgemini.chess.algorithms.data.enums.BoardState;
+import com.capgemini.chess.algorithms.data.enums.Color;
+import com.capgemini.chess.algorithms.data.enums.MoveType;
+import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.data.generated.Board;
+import com.capgemini.chess.algorithms.implementation.exceptions.InvalidMoveException;
+
+/**
+ * Test class for testing {@link BoardSnapshot}
+ *
+ */
+public class BoardSnapshotTest {
+
+	@Test
+	public void testRestoredBoardContinuesGame() throws InvalidMoveException {
+		// given
+		BoardManager boardManager = new BoardManager();
+		for (int i = 0; i < 2; i++) {
+			boardManager.performMove(new Coordinate(6, 0), new Coordinate(5, 2));
+			boardManager.performMove(new Coordinate(6, 7), new Coordinate(5, 5));
+			boardManager.performMove(new Coordinate(5, 2), new Coordinate(6, 0));
+			boardManager.performMove(new Coordinate(5, 5), new Coordinate(6, 7));
+		}
+		boardManager.performMove(new Coordinate(4, 1), new Coordinate(4, 3));
+		boardManager.updateBoardState();
+		Board board = boardManager.getBoard();
+		ByteBuffer buffer = ByteBuffer.allocate(BoardSnapshot.getSize(board));
+
+		// when
+		BoardSnapshot.write(board, buffer);
+		buffer.flip();
+		BoardManager restored = new BoardManager(BoardSnapshot.read(buffer));
+
+		// then
+		assertFalse(buffer.hasRemaining());
+		assertEquals(Fen.toFen(board), Fen.toFen(restored.getBoard()));
+		assertEquals(board.getZobristKey(), restored.getBoard().getZobristKey());
+		assertEquals(board.getPawnKey(), restored.getBoard().getPawnKey());
+		assertEquals(BoardState.REGULAR, restored.getBoard().getState());
+		assertEquals(9, restored.getBoard().getMoveHistory().size());
+		for (int i = 0; i < 9; i++) {
+			assertEquals(board.getMoveHistory().getPackedMove(i), restored.getBoard().getMoveHistory().getPackedMove(i));
+			assertEquals(board.getMoveHistory().getMovedPiece(i), restored.getBoard().getMoveHistory().getMovedPiece(i));
+		}
+		restored.unmakeMove();
+		assertTrue(restored.checkThreefoldRepetitionRule());
+		while (restored.getBoard().getUndoCount() > 0) {
+			restored.unmakeMove();
+		}
+		assertEquals(Fen.INITIAL_POSITION, Fen.toFen(restored.getBoard()));
+	}
+
+	@Test
+	public void testReadIntoReusedBoard() {
+		// given
+		Board board = Fen.parse("r3k2r/8/8/3pP3/8/8/8/R3K2R w Kq d6 3 20");
+		ByteBuffer buffer = ByteBuffer.allocateDirect(256).order(ByteOrder.LITTLE_ENDIAN);
+		Board reused = PerftPosition.KIWIPETE.createBoard();
+
+		// when
+		BoardSnapshot.write(board, buffer);
+		int size = buffer.position();
+		buffer.flip();
+		BoardSnapshot.read(buffer, reused);
+
+		// then
+		assertEquals(BoardSnapshot.getSize(board), size);
+		assertEquals(Fen.toFen(board), Fen.toFen(reused));
+		assertEquals(board.getZobristKey(), reused.getZobristKey());
+		assertEquals(board.getPawnKey(), reused.getPawnKey());
+		assertEquals(board.getMiddlegameScore(), reused.getMiddlegameScore());
+		assertEquals(board.getEndgameScore(), reused.getEndgameScore());
+		assertEquals(board.getPhase(), reused.getPhase());
+		for (Color color : Color.values()) {
+			assertEquals(board.getKingSquare(color), reused.getKingSquare(color));
+			assertEquals(board.getPieceCount(color), reused.getPieceCount(color));
+			assertEquals(new BoardManager(board).generateLegalMoves(color, new int[BoardManager.MAX_MOVES]),
+					new BoardManager(reused).generateLegalMoves(color, new int[BoardManager.MAX_MOVES]));
+		}
+		assertNull(reused.getState());
+	}
+
+	@Test
+	public void testHistoryWithoutUndoRecords() {
+		// given
+		Board board = new BoardManager().getBoard();
+		board.getMoveHistory().add(PackedMove.pack(12, 28, MoveType.ATTACK, null), Piece.WHITE_PAWN);
+		ByteBuffer buffer = ByteBuffer.allocate(BoardSnapshot.getSize(board));
+
+		// when
+		BoardSnapshot.write(board, buffer);
+		buffer.flip();
+		Board restoredBoard = BoardSnapshot.read(buffer);
+
+		// then
+		assertEquals(BoardSnapshot.getSize(new Board()) + 2 + 3, buffer.limit());
+		assertEquals(1, restoredBoard.getMoveHistory().size());
+		assertEquals(board.getMoveHistory().getPackedMove(0), restoredBoard.getMoveHistory().getPackedMove(0));
+		assertEquals(Piece.WHITE_PAWN, restoredBoard.getMoveHistory().getMovedPiece(0));
+		assertEquals(0, restoredBoard.getUndoCount());
+		assertEquals(Color.BLACK, restoredBoard.getSideToMove());
+	}
+
+	@Test
+	public void testReadUnknownVersion() {
+		// given
+		ByteBuffer buffer = ByteBuffer.allocate(BoardSnapshot.getSize(new Board()));
+		BoardSnapshot.write(new Board(), buffer);
+		buffer.put(2, (byte) (BoardSnapshot.VERSION + 1));
+		buffer.flip();
+
+		try {
+			// when
+			BoardSnapshot.read(buffer);
+			fail("Snapshot of unknown version read");
+		} catch (IllegalArgumentException e) {
+			// then
+			assertTrue(e.getMessage().contains("version"));
+		}
+	}
+}
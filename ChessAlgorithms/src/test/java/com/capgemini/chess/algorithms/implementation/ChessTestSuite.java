@@ -4,6 +4,19 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
+import com.capgemini.chess.algorithms.archive.GameArchiveTest;
+import com.capgemini.chess.algorithms.book.OpeningBookTest;
+import com.capgemini.chess.algorithms.pgn.PgnImporterTest;
+import com.capgemini.chess.algorithms.pgn.PgnReaderTest;
+import com.capgemini.chess.algorithms.search.EvaluatorTest;
+import com.capgemini.chess.algorithms.search.MoveOrderingTest;
+import com.capgemini.chess.algorithms.search.ParallelSearchTest;
+import com.capgemini.chess.algorithms.search.PonderingServiceTest;
+import com.capgemini.chess.algorithms.search.SearchTest;
+import com.capgemini.chess.algorithms.search.TranspositionTableTest;
+import com.capgemini.chess.algorithms.tablebase.TablebaseTest;
+import com.capgemini.chess.algorithms.validation.GameValidatorTest;
+
 /**
  * Test suite containing all tests
  *
@@ -11,7 +24,12 @@ import org.junit.runners.Suite.SuiteClasses;
  *
  */
 @RunWith(Suite.class)
-@SuiteClasses({ BoardManagerTest.class })
+@SuiteClasses({ BoardManagerTest.class, PerftTest.class, SearchTest.class,
+		TranspositionTableTest.class, ParallelSearchTest.class, EvaluatorTest.class,
+		MoveOrderingTest.class, SanParserTest.class, PgnReaderTest.class, OpeningBookTest.class,
+		TablebaseTest.class, PonderingServiceTest.class,
+		PgnImporterTest.class, FenTest.class, GameArchiveTest.class,
+		BoardSnapshotTest.class, GameValidatorTest.class, MoveValidatorTest.class })
 public class ChessTestSuite {
 
 }
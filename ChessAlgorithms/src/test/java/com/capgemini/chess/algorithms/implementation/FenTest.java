@@ -0,0 +1,104 @@
+package com.capgemini.chess.algorithms.implementation;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import com.capgemini.chess.algorithms.data.Bitboards;
+import com.capgemini.chess.algorithms.data.Coordinate;
+import com.capgemini.chess.algorithms.data.enums.Color;
+import com.capgemini.chess.algorithms.data.generated.Board;
+import com.capgemini.chess.algorithms.implementation.exceptions.InvalidMoveException;
+
+/**
+ * Test class for testing {@link Fen}
+ *
+ */
+public class FenTest {
+
+	@Test
+	public void testWriteParsedPositions() {
+		for (PerftPosition position : PerftPosition.values()) {
+			// when
+			String fen = Fen.toFen(Fen.parse(position.getFen()));
+
+			// then
+			assertEquals(position.getFen(), fen);
+		}
+	}
+
+	@Test
+	public void testParseMatchesPlayedMoves() throws InvalidMoveException {
+		// given
+		BoardManager boardManager = new BoardManager();
+		boardManager.performMove(new Coordinate(4, 1), new Coordinate(4, 3));
+		boardManager.performMove(new Coordinate(6, 7), new Coordinate(5, 5));
+		boardManager.performMove(new Coordinate(6, 0), new Coordinate(5, 2));
+		String expectedFen = "rnbqkb1r/pppppppp/5n2/8/4P3/5N2/PPPP1PPP/RNBQKB1R b KQkq - 2 2";
+
+		// when
+		Board board = Fen.parse(expectedFen);
+
+		// then
+		assertEquals(expectedFen, Fen.toFen(boardManager.getBoard()));
+		assertEquals(Color.BLACK, board.getSideToMove());
+		assertEquals(2, board.getHalfmoveClock());
+		assertEquals(2, board.getFullmoveNumber());
+		assertEquals(boardManager.getBoard().getZobristKey(), board.getZobristKey());
+	}
+
+	@Test
+	public void testParseIntoReusedBoardAndWriteToBuffer() {
+		// given
+		String fen = "8/8/8/3pP3/8/8/8/K6k w - d6 0 41";
+		Board board = PerftPosition.KIWIPETE.createBoard();
+		ByteBuffer buffer = ByteBuffer.allocate(128);
+		StringBuilder builder = new StringBuilder();
+
+		// when
+		Fen.parse(fen, board);
+		Fen.write(board, buffer);
+		Fen.write(board, builder);
+
+		// then
+		assertEquals(Fen.parse(fen).getZobristKey(), board.getZobristKey());
+		assertEquals(Bitboards.square(3, 5), board.getEnPassantSquare());
+		assertEquals(2, board.getPieceCount(Color.WHITE));
+		assertEquals(fen, new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII));
+		assertEquals(fen, builder.toString());
+	}
+
+	@Test
+	public void testHalfmoveClockOfParsedPosition() throws InvalidMoveException {
+		// given
+		BoardManager boardManager = new BoardManager(Fen.parse("8/8/8/8/8/8/8/KN5k w - - 99 80"));
+
+		// when
+		boolean drawBefore = boardManager.checkFiftyMoveRule();
+		boardManager.performMove(new Coordinate(1, 0), new Coordinate(2, 2));
+
+		// then
+		assertFalse(drawBefore);
+		assertTrue(boardManager.checkFiftyMoveRule());
+		assertEquals("8/8/8/8/8/2N5/8/K6k b - - 100 80", Fen.toFen(boardManager.getBoard()));
+	}
+
+	@Test
+	public void testParseInvalidNotation() {
+		String[] invalidFens = { "", "8/8/8/8/8/8/8 w - - 0 1", "9/8/8/8/8/8/8/8 w - - 0 1",
+				"8/8/8/8/8/8/8/K6x w - - 0 1", "8/8/8/8/8/8/8/K6k x - - 0 1", "8/8/8/8/8/8/8/K6k w X - 0 1",
+				"8/8/8/8/8/8/8/K6k w - e4 0 1", "8/8/8/8/8/8/8/K6k w - - a 1" };
+		for (String fen : invalidFens) {
+			try {
+				Fen.parse(fen);
+				fail("Invalid FEN accepted: " + fen);
+			} catch (IllegalArgumentException e) {
+				// then
+				assertTrue(e.getMessage().startsWith("Invalid FEN"));
+			}
+		}
+	}
+}
@@ -71,6 +71,35 @@ public class MoveValidatorTest {
 		assertEquals(MoveType.CAPTURE, move.getType());
 		assertEquals(Piece.BLACK_ROOK, move.getMovedPiece());
 	}
+	@Test
+	public void testPerformQueenMoveAlongDiagonal() throws InvalidMoveException {
+		// given
+		Board board = new Board();
+		board.setPieceAt(Piece.WHITE_QUEEN, new Coordinate(0, 0));
+		board.setPieceAt(Piece.BLACK_KNIGHT, new Coordinate(7, 7));
+		
+		// when
+		BoardManager boardManager = new BoardManager(board);
+		Move move = boardManager.performMove(new Coordinate(0, 0), new Coordinate(7, 7));
+		
+		// then
+		assertEquals(MoveType.CAPTURE, move.getType());
+		assertEquals(Piece.WHITE_QUEEN, move.getMovedPiece());
+	}
+	
+	@Test(expected = InvalidMoveException.class)
+	public void testPerformQueenMoveBlockedOnDiagonal() throws InvalidMoveException {
+		// given
+		Board board = new Board();
+		board.setPieceAt(Piece.WHITE_QUEEN, new Coordinate(0, 0));
+		board.setPieceAt(Piece.WHITE_PAWN, new Coordinate(3, 3));
+		board.setPieceAt(Piece.BLACK_KNIGHT, new Coordinate(7, 7));
+		
+		// when
+		BoardManager boardManager = new BoardManager(board);
+		boardManager.performMove(new Coordinate(0, 0), new Coordinate(7, 7));
+	}
+	
 private Move createDummyMove(Board board) {
 		
 		Move move = new Move();
@@ -0,0 +1,68 @@
+package com.capgemini.chess.algorithms.implementation;
+
+import static org.junit.Assert.*;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Test class for testing {@link Perft} on reference positions
+ *
+ */
+public class PerftTest {
+
+	private static final long MAX_TESTED_NODES = 100000;
+
+	@Test
+	public void testPerftReferencePositions() {
+		for (PerftPosition position : PerftPosition.values()) {
+			for (int depth = 1; depth <= position.getMaxDepth(); depth++) {
+				if (position.getNodes(depth) > MAX_TESTED_NODES) {
+					break;
+				}
+				// given
+				Perft perft = new Perft(new BoardManager(position.createBoard()));
+
+				// when
+				long nodes = perft.perft(depth);
+
+				// then
+				assertEquals(position + " depth " + depth, position.getNodes(depth), nodes);
+			}
+		}
+	}
+
+	@Test
+	public void testDivideInitialPosition() {
+		// given
+		Perft perft = new Perft(new BoardManager());
+
+		// when
+		Map<String, Long> divide = perft.divide(3);
+
+		// then
+		assertEquals(20, divide.size());
+		assertEquals(Long.valueOf(600), divide.get("e2e4"));
+		assertEquals(Long.valueOf(440), divide.get("g1f3"));
+		long nodes = 0;
+		for (long moveNodes : divide.values()) {
+			nodes += moveNodes;
+		}
+		assertEquals(PerftPosition.INITIAL.getNodes(3), nodes);
+	}
+
+	@Test
+	public void testDividePromotions() {
+		// given
+		Perft perft = new Perft(new BoardManager(PerftPosition.PROMOTIONS.createBoard()));
+
+		// when
+		Map<String, Long> divide = perft.divide(1);
+
+		// then
+		assertEquals(6, divide.size());
+		assertTrue(divide.containsKey("c4c5"));
+		assertTrue(divide.containsKey("g1h1"));
+	}
+}
@@ -0,0 +1,86 @@
+package com.capgemini.chess.algorithms.implementation;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.capgemini.chess.algorithms.data.Bitboards;
+import com.capgemini.chess.algorithms.data.Coordinate;
+import com.capgemini.chess.algorithms.data.PackedMove;
+import com.capgemini.chess.algorithms.data.enums.MoveType;
+import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.data.enums.PieceType;
+import com.capgemini.chess.algorithms.data.generated.Board;
+import com.capgemini.chess.algorithms.implementation.exceptions.InvalidMoveException;
+
+/**
+ * Test class for testing {@link SanParser}
+ *
+ */
+public class SanParserTest {
+
+	@Test
+	public void testParseCaptureCastlingAndDisambiguation() throws InvalidMoveException {
+		// given
+		SanParser sanParser = new SanParser(new BoardManager(PerftPosition.KIWIPETE.createBoard()));
+
+		// when
+		int capture = sanParser.parse("Bxa6!");
+		int castling = sanParser.parse("O-O-O");
+		int knightMove = sanParser.parse("Ncb5");
+
+		// then
+		assertEquals(Bitboards.square(4, 1), PackedMove.getFrom(capture));
+		assertEquals(Bitboards.square(0, 5), PackedMove.getTo(capture));
+		assertEquals(MoveType.CASTLING, PackedMove.getType(castling));
+		assertEquals(Bitboards.square(2, 0), PackedMove.getTo(castling));
+		assertEquals(Bitboards.square(2, 2), PackedMove.getFrom(knightMove));
+	}
+
+	@Test
+	public void testParsePromotion() throws InvalidMoveException {
+		// given
+		Board board = new Board();
+		board.setPieceAt(Piece.WHITE_KING, new Coordinate(4, 0));
+		board.setPieceAt(Piece.WHITE_PAWN, new Coordinate(1, 6));
+		board.setPieceAt(Piece.BLACK_ROOK, new Coordinate(0, 7));
+		board.setPieceAt(Piece.BLACK_KING, new Coordinate(4, 7));
+		SanParser sanParser = new SanParser(new BoardManager(board));
+
+		// when
+		int capture = sanParser.parse("bxa8=N");
+		int move = sanParser.parse("b8Q+");
+
+		// then
+		assertEquals(Bitboards.square(0, 7), PackedMove.getTo(capture));
+		assertEquals(PieceType.KNIGHT, PackedMove.getPromotion(capture));
+		assertEquals(Bitboards.square(1, 7), PackedMove.getTo(move));
+		assertEquals(PieceType.QUEEN, PackedMove.getPromotion(move));
+	}
+
+	@Test
+	public void testParseAmbiguousMove() throws InvalidMoveException {
+		// given
+		Board board = new Board();
+		board.setPieceAt(Piece.WHITE_ROOK, new Coordinate(0, 0));
+		board.setPieceAt(Piece.WHITE_ROOK, new Coordinate(7, 0));
+		board.setPieceAt(Piece.WHITE_KING, new Coordinate(4, 2));
+		board.setPieceAt(Piece.BLACK_KING, new Coordinate(4, 7));
+		SanParser sanParser = new SanParser(new BoardManager(board));
+
+		// when
+		int move = sanParser.parse("Rad1");
+		try {
+			sanParser.parse("Rd1");
+			fail("Ambiguous move accepted");
+		} catch (InvalidMoveException e) {
+			// then
+			assertEquals(Bitboards.square(0, 0), PackedMove.getFrom(move));
+		}
+	}
+
+	@Test(expected = InvalidMoveException.class)
+	public void testParseIllegalMove() throws InvalidMoveException {
+		new SanParser(new BoardManager()).parse("e5");
+	}
+}
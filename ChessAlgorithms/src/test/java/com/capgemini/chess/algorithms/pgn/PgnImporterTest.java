@@ -0,0 +1,71 @@
+package com.capgemini.chess.algorithms.pgn;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.capgemini.chess.algorithms.data.enums.BoardState;
+import com.capgemini.chess.algorithms.implementation.BoardManager;
+
+/**
+ * Test class for testing {@link PgnImporter}
+ *
+ */
+public class PgnImporterTest {
+
+	private static final String SCHOLARS_MATE = "[Event \"Scholar's mate\"]\n[Result \"1-0\"]\n\n"
+			+ "1. e4 e5 2. Bc4 Nc6 3. Qh5 Nf6 4. Qxf7# 1-0\n\n";
+
+	@Test
+	public void testImportReplaysGames() throws IOException {
+		// given
+		String pgn = SCHOLARS_MATE + "[Result \"*\"]\n1. e4 e5 2. Ke3 *\n\n"
+				+ "[FEN \"8/8/8/8/8/8/8/K6k w - - 0 1\"]\n1. Kb1 *\n\n" + "1. d4 d5 2. c4 dxc4 1/2-1/2\n";
+		List<BoardState> states = new ArrayList<>();
+		long initialKey = new BoardManager().getBoard().getZobristKey();
+		PgnImporter importer = new PgnImporter((tags, result, boardManager) -> {
+			states.add(boardManager.updateBoardState());
+			assertNotEquals(initialKey, boardManager.getBoard().getZobristKey());
+		});
+
+		// when
+		importer.importGames(Channels.newChannel(new ByteArrayInputStream(pgn.getBytes(StandardCharsets.ISO_8859_1))));
+
+		// then
+		assertEquals(2, importer.getGameCount());
+		assertEquals(1, importer.getInvalidGameCount());
+		assertEquals(1, importer.getSkippedGameCount());
+		assertEquals(7 + 2 + 4, importer.getMoveCount());
+		assertEquals(BoardState.CHECK_MATE, states.get(0));
+		assertEquals(BoardState.REGULAR, states.get(1));
+	}
+
+	@Test
+	public void testImportGamesAcrossBufferBoundaries() throws IOException {
+		// given
+		StringBuilder pgn = new StringBuilder();
+		int games = 2000;
+		for (int i = 0; i < games; i++) {
+			pgn.append(SCHOLARS_MATE);
+		}
+		PgnImporter importer = new PgnImporter();
+
+		// when
+		importer.importGames(Channels.newChannel(new ByteArrayInputStream(pgn.toString().getBytes(
+				StandardCharsets.ISO_8859_1))));
+
+		// then
+		assertTrue(pgn.length() > 2 * (1 << 16));
+		assertEquals(games, importer.getGameCount());
+		assertEquals(0, importer.getInvalidGameCount());
+		assertEquals(7L * games, importer.getMoveCount());
+		assertTrue(importer.getGamesPerSecond() > 0);
+	}
+}
@@ -0,0 +1,44 @@
+package com.capgemini.chess.algorithms.pgn;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Test class for testing {@link PgnReader}
+ *
+ */
+public class PgnReaderTest {
+
+	@Test
+	public void testReadGamesSkipsCommentsAndVariations() throws IOException {
+		// given
+		String pgn = "[Event \"Test \\\"cup\\\"\"]\n[Result \"1-0\"]\n\n"
+				+ "1. e4 {best by test} e5 (1... c5 2. Nf3 (2. c3) d6) 2. Nf3 $1 Nc6; comment\n3.Bb5 1-0\n\n"
+				+ "[Event \"Second\"]\n1. d4 d5 2. c4 *\n";
+		Map<String, String> tags = new HashMap<>();
+		List<String> moves = new ArrayList<>();
+
+		try (PgnReader reader = new PgnReader(new StringReader(pgn))) {
+			// when
+			String firstResult = reader.readGame(tags, moves);
+
+			// then
+			assertEquals(PgnReader.WHITE_WINS, firstResult);
+			assertEquals("Test \"cup\"", tags.get("Event"));
+			assertEquals(Arrays.asList("e4", "e5", "Nf3", "Nc6", "Bb5"), moves);
+			assertEquals(PgnReader.UNKNOWN_RESULT, reader.readGame(tags, moves));
+			assertEquals("Second", tags.get("Event"));
+			assertEquals(Arrays.asList("d4", "d5", "c4"), moves);
+			assertNull(reader.readGame(tags, moves));
+		}
+	}
+}
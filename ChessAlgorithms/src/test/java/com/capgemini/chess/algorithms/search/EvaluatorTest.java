@@ -0,0 +1,130 @@
+package com.capgemini.chess.algorithms.search;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.capgemini.chess.algorithms.data.Bitboards;
+import com.capgemini.chess.algorithms.data.PieceSquareTables;
+import com.capgemini.chess.algorithms.data.Zobrist;
+import com.capgemini.chess.algorithms.data.enums.Color;
+import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.data.enums.PieceType;
+import com.capgemini.chess.algorithms.data.generated.Board;
+import com.capgemini.chess.algorithms.implementation.BoardManager;
+import com.capgemini.chess.algorithms.implementation.PerftPosition;
+
+/**
+ * Test class for testing {@link Evaluator}
+ *
+ */
+public class EvaluatorTest {
+
+	private final Evaluator evaluator = new Evaluator();
+
+	@Test
+	public void testInitialPositionIsBalanced() {
+		// given
+		BoardManager boardManager = new BoardManager();
+
+		// when
+		int score = this.evaluator.evaluate(boardManager.getBoard(), Color.WHITE);
+
+		// then
+		assertEquals(0, score);
+		assertEquals(PieceSquareTables.MAX_PHASE, boardManager.getBoard().getPhase());
+	}
+
+	@Test
+	public void testIncrementalEvaluationMatchesFullRecompute() {
+		for (PerftPosition position : new PerftPosition[] { PerftPosition.KIWIPETE, PerftPosition.PROMOTIONS,
+				PerftPosition.TALKCHESS }) {
+			// given
+			BoardManager boardManager = new BoardManager(position.createBoard());
+			int score = this.evaluator.evaluate(boardManager.getBoard(), Color.WHITE);
+
+			// when
+			int nodes = verifyTree(boardManager, 3, Color.WHITE);
+
+			// then
+			assertTrue(nodes > 0);
+			assertEquals(score, this.evaluator.evaluate(boardManager.getBoard(), Color.WHITE));
+		}
+	}
+
+	@Test
+	public void testPawnStructureDoubledAndIsolatedPawns() {
+		// given
+		long whitePawns = Bitboards.bit(Bitboards.square(1, 1)) | Bitboards.bit(Bitboards.square(1, 2));
+		long blackPawns = Bitboards.bit(Bitboards.square(1, 6));
+
+		// when
+		int score = PawnStructure.evaluate(whitePawns, blackPawns);
+
+		// then
+		assertEquals(-20, PawnStructure.getMiddlegameScore(score));
+		assertEquals(-35, PawnStructure.getEndgameScore(score));
+	}
+
+	@Test
+	public void testPawnStructurePassedPawn() {
+		// given
+		long whitePawns = Bitboards.bit(Bitboards.square(4, 5));
+
+		// when
+		int score = PawnStructure.evaluate(whitePawns, Bitboards.EMPTY);
+
+		// then
+		assertEquals(30, PawnStructure.getMiddlegameScore(score));
+		assertEquals(75, PawnStructure.getEndgameScore(score));
+		assertEquals(PawnStructure.pack(-30, -75), PawnStructure.evaluate(Bitboards.EMPTY,
+				Bitboards.bit(Bitboards.square(4, 2))));
+	}
+
+	@Test
+	public void testPawnHashTableHitRate() {
+		// given
+		Evaluator cachingEvaluator = new Evaluator(new PawnHashTable(1 << 10));
+		BoardManager boardManager = new BoardManager(PerftPosition.KIWIPETE.createBoard());
+
+		// when
+		int score = cachingEvaluator.evaluate(boardManager.getBoard(), Color.WHITE);
+		int cachedScore = cachingEvaluator.evaluate(boardManager.getBoard(), Color.WHITE);
+
+		// then
+		assertEquals(score, cachedScore);
+		PawnHashTable pawnHashTable = cachingEvaluator.getPawnHashTable();
+		assertEquals(2, pawnHashTable.getProbes());
+		assertEquals(1, pawnHashTable.getHits());
+		assertEquals(0.5, pawnHashTable.getHitRate(), 0.0);
+	}
+
+	private int verifyTree(BoardManager boardManager, int depth, Color color) {
+		assertEquals(calculatePawnKey(boardManager.getBoard()), boardManager.getBoard().getPawnKey());
+		assertEquals(this.evaluator.evaluateFromScratch(boardManager.getBoard(), color),
+				this.evaluator.evaluate(boardManager.getBoard(), color));
+		if (depth == 0) {
+			return 1;
+		}
+		int[] moves = new int[BoardManager.MAX_MOVES];
+		int count = boardManager.generateLegalMoves(color, moves);
+		int nodes = 1;
+		for (int i = 0; i < count; i++) {
+			boardManager.makeMove(moves[i]);
+			nodes += verifyTree(boardManager, depth - 1, color == Color.WHITE ? Color.BLACK : Color.WHITE);
+			boardManager.unmakeMove();
+		}
+		return nodes;
+	}
+
+	private static long calculatePawnKey(Board board) {
+		long key = 0L;
+		for (int square = 0; square < Board.SIZE * Board.SIZE; square++) {
+			Piece piece = board.getPieceAt(square);
+			if (piece != null && piece.getType() == PieceType.PAWN) {
+				key ^= Zobrist.getPieceKey(piece, square);
+			}
+		}
+		return key;
+	}
+}
@@ -0,0 +1,97 @@
+package com.capgemini.chess.algorithms.search;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.capgemini.chess.algorithms.data.Bitboards;
+import com.capgemini.chess.algorithms.data.PackedMove;
+import com.capgemini.chess.algorithms.data.enums.Color;
+import com.capgemini.chess.algorithms.data.generated.Board;
+import com.capgemini.chess.algorithms.implementation.BoardManager;
+import com.capgemini.chess.algorithms.implementation.PerftPosition;
+
+/**
+ * Test class for testing {@link MoveOrdering}
+ *
+ */
+public class MoveOrderingTest {
+
+	@Test
+	public void testCapturesOrderedByMostValuableVictim() {
+		// given
+		Board board = PerftPosition.KIWIPETE.createBoard();
+		int[] moves = new int[BoardManager.MAX_MOVES];
+		int count = new BoardManager(board).generateLegalMoves(Color.WHITE, moves);
+
+		// when
+		new MoveOrdering().orderMoves(board, moves, count, 0, Search.NO_MOVE);
+
+		// then
+		// bishop e2 takes bishop a6
+		assertEquals(Bitboards.square(4, 1), PackedMove.getFrom(moves[0]));
+		assertEquals(Bitboards.square(0, 5), PackedMove.getTo(moves[0]));
+		int tacticalCount = countTactical(board, moves, count);
+		for (int i = 0; i < count; i++) {
+			assertEquals(i < tacticalCount, MoveOrdering.isTactical(board, moves[i]));
+		}
+	}
+
+	@Test
+	public void testHashMoveFirstAndKillerAfterCaptures() {
+		// given
+		Board board = PerftPosition.KIWIPETE.createBoard();
+		int[] moves = new int[BoardManager.MAX_MOVES];
+		int count = new BoardManager(board).generateLegalMoves(Color.WHITE, moves);
+		int hashMove = findQuietMove(board, moves, count, 0);
+		int killer = findQuietMove(board, moves, count, 1);
+		MoveOrdering moveOrdering = new MoveOrdering();
+		moveOrdering.recordCutoff(board, killer, 2, 3);
+
+		// when
+		moveOrdering.orderMoves(board, moves, count, 2, hashMove);
+
+		// then
+		assertEquals(hashMove, moves[0]);
+		assertEquals(killer, moves[countTactical(board, moves, count) + 1]);
+		assertEquals(killer, moveOrdering.getKiller(2, 0));
+		assertEquals(9, moveOrdering.getHistory(killer));
+	}
+
+	@Test
+	public void testNewSearchClearsKillersAndAgesHistory() {
+		// given
+		Board board = PerftPosition.KIWIPETE.createBoard();
+		int[] moves = new int[BoardManager.MAX_MOVES];
+		int count = new BoardManager(board).generateLegalMoves(Color.WHITE, moves);
+		int move = findQuietMove(board, moves, count, 0);
+		MoveOrdering moveOrdering = new MoveOrdering();
+		moveOrdering.recordCutoff(board, move, 1, 4);
+
+		// when
+		moveOrdering.newSearch();
+
+		// then
+		assertEquals(Search.NO_MOVE, moveOrdering.getKiller(1, 0));
+		assertEquals(8, moveOrdering.getHistory(move));
+	}
+
+	private static int countTactical(Board board, int[] moves, int count) {
+		int tacticalCount = 0;
+		for (int i = 0; i < count; i++) {
+			if (MoveOrdering.isTactical(board, moves[i])) {
+				tacticalCount++;
+			}
+		}
+		return tacticalCount;
+	}
+
+	private static int findQuietMove(Board board, int[] moves, int count, int skip) {
+		for (int i = 0; i < count; i++) {
+			if (!MoveOrdering.isTactical(board, moves[i]) && skip-- == 0) {
+				return moves[i];
+			}
+		}
+		throw new IllegalStateException("Not enough quiet moves");
+	}
+}
@@ -0,0 +1,84 @@
+package com.capgemini.chess.algorithms.search;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.capgemini.chess.algorithms.data.Coordinate;
+import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.data.generated.Board;
+import com.capgemini.chess.algorithms.implementation.BoardManager;
+import com.capgemini.chess.algorithms.implementation.PerftPosition;
+
+/**
+ * Test class for testing {@link ParallelSearch}
+ *
+ */
+public class ParallelSearchTest {
+
+	@Test
+	public void testParallelSearchFindsMateInOne() {
+		// given
+		Board board = new Board();
+		board.setPieceAt(Piece.WHITE_KING, new Coordinate(6, 0));
+		board.setPieceAt(Piece.WHITE_ROOK, new Coordinate(0, 0));
+		board.setPieceAt(Piece.BLACK_KING, new Coordinate(6, 7));
+		board.setPieceAt(Piece.BLACK_PAWN, new Coordinate(5, 6));
+		board.setPieceAt(Piece.BLACK_PAWN, new Coordinate(6, 6));
+		board.setPieceAt(Piece.BLACK_PAWN, new Coordinate(7, 6));
+
+		// when
+		SearchResult result;
+		try (ParallelSearch parallelSearch = new ParallelSearch(4, new TranspositionTable(1))) {
+			result = parallelSearch.search(board, new SearchLimits(4, 0, 0));
+		}
+
+		// then
+		assertEquals(new Coordinate(0, 7), result.getBestMove().getTo());
+		assertEquals(Piece.WHITE_ROOK, result.getBestMove().getMovedPiece());
+		assertEquals(Search.MATE_SCORE - 1, result.getScore());
+	}
+
+	@Test
+	public void testParallelSearchLeavesBoardUnchanged() {
+		// given
+		Board board = PerftPosition.KIWIPETE.createBoard();
+		long zobristKey = board.getZobristKey();
+
+		// when
+		SearchResult result;
+		try (ParallelSearch parallelSearch = new ParallelSearch(3, new TranspositionTable(1))) {
+			result = parallelSearch.search(board, new SearchLimits(3, 0, 0));
+		}
+
+		// then
+		assertEquals(3, result.getDepth());
+		assertNotNull(result.getBestMove());
+		assertEquals(zobristKey, board.getZobristKey());
+		assertEquals(0, board.getMoveHistory().size());
+	}
+
+	@Test
+	public void testSingleThreadSearchMatchesSearch() {
+		// given
+		Board board = PerftPosition.TALKCHESS.createBoard();
+		SearchLimits limits = new SearchLimits(3, 0, 0);
+
+		// when
+		SearchResult parallelResult;
+		try (ParallelSearch parallelSearch = new ParallelSearch(1, new TranspositionTable(1))) {
+			parallelResult = parallelSearch.search(board, limits);
+		}
+		SearchResult result = new Search(new BoardManager(board), new TranspositionTable(1)).search(limits);
+
+		// then
+		assertEquals(result.getPackedBestMove(), parallelResult.getPackedBestMove());
+		assertEquals(result.getScore(), parallelResult.getScore());
+		assertEquals(result.getNodes(), parallelResult.getNodes());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidThreadCount() {
+		new ParallelSearch(0, new TranspositionTable(1));
+	}
+}
@@ -0,0 +1,186 @@
+package com.capgemini.chess.algorithms.search;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+import com.capgemini.chess.algorithms.data.Bitboards;
+import com.capgemini.chess.algorithms.data.Coordinate;
+import com.capgemini.chess.algorithms.data.PackedMove;
+import com.capgemini.chess.algorithms.data.enums.Color;
+import com.capgemini.chess.algorithms.data.enums.MoveType;
+import com.capgemini.chess.algorithms.data.generated.Board;
+import com.capgemini.chess.algorithms.implementation.BoardManager;
+import com.capgemini.chess.algorithms.implementation.exceptions.InvalidMoveException;
+
+/**
+ * Test class for testing {@link PonderingService}
+ *
+ */
+public class PonderingServiceTest {
+
+	private static final int E2_E4 = PackedMove.pack(Bitboards.square(4, 1), Bitboards.square(4, 3),
+			MoveType.ATTACK, null);
+
+	@Test
+	public void testPonderHitReturnsResult() throws InvalidMoveException {
+		// given
+		BoardManager boardManager = new BoardManager();
+		long zobristKey = boardManager.getBoard().getZobristKey();
+		PonderTask task;
+		try (PonderingService service = new PonderingService(new TranspositionTable(1), Runnable::run)) {
+			task = service.ponder(boardManager.getBoard(), E2_E4, new SearchLimits(3, 0, 0));
+		}
+
+		// when
+		assertEquals(zobristKey, boardManager.getBoard().getZobristKey());
+		assertTrue(task.isDone());
+		boardManager.performMove(new Coordinate(4, 1), new Coordinate(4, 3));
+		SearchResult result = task.stop(boardManager.getBoard());
+
+		// then
+		assertNotNull(result);
+		assertEquals(3, result.getDepth());
+		assertEquals(Color.BLACK, result.getBestMove().getMovedPiece().getColor());
+	}
+
+	@Test
+	public void testPonderMissStopsSearch() throws InvalidMoveException, InterruptedException {
+		// given
+		BoardManager boardManager = new BoardManager();
+		PonderTask task;
+		try (PonderingService service = new PonderingService(new TranspositionTable(1))) {
+			task = service.ponder(boardManager.getBoard(), E2_E4, new SearchLimits());
+
+			// when
+			boardManager.performMove(new Coordinate(3, 1), new Coordinate(3, 3));
+			SearchResult result = task.stop(boardManager.getBoard());
+			for (int i = 0; i < 100 && !task.isDone(); i++) {
+				Thread.sleep(10);
+			}
+
+			// then
+			assertNull(result);
+			assertTrue(task.isDone());
+		}
+	}
+
+	@Test
+	public void testPerformMoveStopsPondering() throws InvalidMoveException, InterruptedException {
+		// given
+		BoardManager boardManager = new BoardManager();
+		try (PonderingService service = new PonderingService(new TranspositionTable(1))) {
+			PonderTask task = service.ponder(boardManager, E2_E4, new SearchLimits());
+			assertSame(task, boardManager.getMoveListener());
+
+			// when
+			boardManager.performMove(new Coordinate(4, 1), new Coordinate(4, 3));
+			for (int i = 0; i < 100 && !task.isDone(); i++) {
+				Thread.sleep(10);
+			}
+
+			// then
+			assertTrue(task.isDone());
+			assertNull(boardManager.getMoveListener());
+		}
+	}
+
+	@Test
+	public void testStopCompletesWaitingTask() throws InvalidMoveException, InterruptedException {
+		// given
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		CountDownLatch busy = new CountDownLatch(1);
+		executor.execute(() -> awaitQuietly(busy));
+		BoardManager boardManager = new BoardManager();
+		try (PonderingService service = new PonderingService(new TranspositionTable(1), executor)) {
+			PonderTask task = service.ponder(boardManager, E2_E4, new SearchLimits());
+
+			// when
+			boardManager.performMove(new Coordinate(4, 1), new Coordinate(4, 3));
+			SearchResult result = task.stop(boardManager.getBoard());
+
+			// then
+			assertNull(result);
+			assertTrue(task.isDone());
+		} finally {
+			busy.countDown();
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testCloseStopsRunningAndWaitingTasks() throws InterruptedException {
+		// given
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		PonderTask runningTask;
+		PonderTask waitingTask;
+		try (PonderingService service = new PonderingService(new TranspositionTable(1), executor)) {
+			runningTask = service.ponder(new BoardManager().getBoard(), E2_E4, new SearchLimits());
+			waitingTask = service.ponder(new BoardManager().getBoard(), E2_E4, new SearchLimits());
+			Thread.sleep(50);
+
+			// when
+		}
+		for (int i = 0; i < 100 && !runningTask.isDone(); i++) {
+			Thread.sleep(10);
+		}
+		executor.shutdown();
+
+		// then
+		assertTrue(runningTask.isDone());
+		assertTrue(waitingTask.isDone());
+	}
+
+	@Test
+	public void testPonderOnIllegalMoveReturnsNull() {
+		// given
+		BoardManager boardManager = new BoardManager();
+		int illegalMove = PackedMove.pack(Bitboards.square(4, 1), Bitboards.square(4, 4), MoveType.ATTACK, null);
+
+		// when
+		PonderTask task;
+		try (PonderingService service = new PonderingService(new TranspositionTable(1), Runnable::run)) {
+			task = service.ponder(boardManager, illegalMove, new SearchLimits(2, 0, 0));
+		}
+
+		// then
+		assertNull(task);
+		assertNull(boardManager.getMoveListener());
+	}
+
+	@Test
+	public void testPonderOnMoveFromTranspositionTable() {
+		// given
+		TranspositionTable transpositionTable = new TranspositionTable(1);
+		BoardManager boardManager = new BoardManager();
+		SearchResult engineResult = new Search(boardManager, transpositionTable).search(new SearchLimits(4, 0, 0));
+		boardManager.makeMove(engineResult.getPackedBestMove());
+
+		// when
+		PonderTask task;
+		try (PonderingService service = new PonderingService(transpositionTable, Runnable::run)) {
+			task = service.ponder(boardManager.getBoard(), new SearchLimits(2, 0, 0));
+		}
+		Board expectedBoard = new Board(boardManager.getBoard());
+		new BoardManager(expectedBoard).makeMove(task.getExpectedMove());
+		SearchResult result = task.stop(expectedBoard);
+
+		// then
+		assertNotEquals(Search.NO_MOVE, task.getExpectedMove());
+		assertEquals(expectedBoard.getZobristKey(), task.getPositionKey());
+		assertNotNull(result);
+		assertEquals(2, result.getDepth());
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
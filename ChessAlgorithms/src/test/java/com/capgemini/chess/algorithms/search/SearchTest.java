@@ -0,0 +1,130 @@
+package com.capgemini.chess.algorithms.search;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.capgemini.chess.algorithms.data.Coordinate;
+import com.capgemini.chess.algorithms.data.Move;
+import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.data.generated.Board;
+import com.capgemini.chess.algorithms.implementation.BoardManager;
+import com.capgemini.chess.algorithms.implementation.PerftPosition;
+
+/**
+ * Test class for testing {@link Search}
+ *
+ */
+public class SearchTest {
+
+	@Test
+	public void testSearchFindsMateInOne() {
+		// given
+		Board board = new Board();
+		board.setPieceAt(Piece.WHITE_KING, new Coordinate(6, 0));
+		board.setPieceAt(Piece.WHITE_ROOK, new Coordinate(0, 0));
+		board.setPieceAt(Piece.BLACK_KING, new Coordinate(6, 7));
+		board.setPieceAt(Piece.BLACK_PAWN, new Coordinate(5, 6));
+		board.setPieceAt(Piece.BLACK_PAWN, new Coordinate(6, 6));
+		board.setPieceAt(Piece.BLACK_PAWN, new Coordinate(7, 6));
+		Search search = new Search(new BoardManager(board));
+
+		// when
+		SearchResult result = search.search(new SearchLimits(4, 0, 0));
+
+		// then
+		assertEquals(new Coordinate(0, 0), result.getBestMove().getFrom());
+		assertEquals(new Coordinate(0, 7), result.getBestMove().getTo());
+		assertEquals(Search.MATE_SCORE - 1, result.getScore());
+	}
+
+	@Test
+	public void testSearchCapturesHangingQueen() {
+		// given
+		Board board = new Board();
+		board.setPieceAt(Piece.WHITE_KING, new Coordinate(4, 0));
+		board.setPieceAt(Piece.WHITE_KNIGHT, new Coordinate(2, 2));
+		board.setPieceAt(Piece.BLACK_KING, new Coordinate(4, 7));
+		board.setPieceAt(Piece.BLACK_QUEEN, new Coordinate(3, 4));
+		Search search = new Search(new BoardManager(board));
+
+		// when
+		SearchResult result = search.search(new SearchLimits(3, 0, 0));
+
+		// then
+		Move bestMove = result.getBestMove();
+		assertEquals(Piece.WHITE_KNIGHT, bestMove.getMovedPiece());
+		assertEquals(new Coordinate(3, 4), bestMove.getTo());
+		assertEquals(3, result.getDepth());
+		assertTrue(result.getScore() > 0);
+	}
+
+	@Test
+	public void testSearchStopsAtNodeLimitAndRestoresBoard() {
+		// given
+		BoardManager boardManager = new BoardManager(PerftPosition.KIWIPETE.createBoard());
+		long zobristKey = boardManager.getBoard().getZobristKey();
+		Search search = new Search(boardManager);
+
+		// when
+		SearchResult result = search.search(new SearchLimits(Search.MAX_DEPTH, 0, 5000));
+
+		// then
+		assertEquals(5000, result.getNodes());
+		assertNotNull(result.getBestMove());
+		assertEquals(zobristKey, boardManager.getBoard().getZobristKey());
+		assertEquals(0, boardManager.getBoard().getMoveHistory().size());
+	}
+
+	@Test
+	public void testSearchWithTimeLimitOnly() {
+		// given
+		Search search = new Search(new BoardManager());
+
+		// when
+		SearchResult result = search.search(new SearchLimits(0, 200, 0));
+
+		// then
+		assertNotNull(result.getBestMove());
+		assertTrue(result.getDepth() > 0);
+		assertTrue(result.getNanos() >= 100000000L);
+	}
+
+	@Test
+	public void testStopEndsUnlimitedSearch() throws Exception {
+		// given
+		Search search = new Search(new BoardManager());
+		FutureTask<SearchResult> task = new FutureTask<>(() -> search.search(new SearchLimits()));
+		new Thread(task).start();
+
+		// when
+		Thread.sleep(100);
+		search.stop();
+		SearchResult stoppedResult = task.get(5, TimeUnit.SECONDS);
+		SearchResult nextResult = search.search(new SearchLimits(2, 0, 0));
+
+		// then
+		assertNotNull(stoppedResult.getBestMove());
+		assertEquals(2, nextResult.getDepth());
+	}
+
+	@Test
+	public void testSearchStaleMate() {
+		// given
+		Board board = new Board();
+		board.setPieceAt(Piece.WHITE_KING, new Coordinate(7, 7));
+		board.setPieceAt(Piece.BLACK_QUEEN, new Coordinate(5, 6));
+		board.setPieceAt(Piece.BLACK_KING, new Coordinate(0, 0));
+		Search search = new Search(new BoardManager(board));
+
+		// when
+		SearchResult result = search.search(new SearchLimits(3, 0, 0));
+
+		// then
+		assertNull(result.getBestMove());
+		assertEquals(Search.DRAW_SCORE, result.getScore());
+	}
+}
@@ -0,0 +1,122 @@
+package com.capgemini.chess.algorithms.search;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.capgemini.chess.algorithms.implementation.BoardManager;
+import com.capgemini.chess.algorithms.implementation.PerftPosition;
+
+/**
+ * Test class for testing {@link TranspositionTable}
+ *
+ */
+public class TranspositionTableTest {
+
+	@Test
+	public void testStoreAndProbe() {
+		// given
+		TranspositionTable table = new TranspositionTable(1);
+
+		// when
+		table.store(0x123456789ABCDEFL, 0x1234, -250, 7, TranspositionTable.LOWER_BOUND);
+		long entry = table.probe(0x123456789ABCDEFL);
+
+		// then
+		assertEquals(0x1234, TranspositionTable.getMove(entry));
+		assertEquals(-250, TranspositionTable.getScore(entry));
+		assertEquals(7, TranspositionTable.getDepth(entry));
+		assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.getBound(entry));
+		assertEquals(TranspositionTable.NO_ENTRY, table.probe(0x123456789ABCDEEL));
+	}
+
+	@Test
+	public void testSizeFitsMemoryBudget() {
+		// given
+		TranspositionTable table = new TranspositionTable(3);
+
+		// when
+		long memoryBytes = table.getMemoryBytes();
+
+		// then
+		assertEquals(2 << 20, memoryBytes);
+		assertEquals(1 << 17, table.getCapacity());
+	}
+
+	@Test
+	public void testDepthPreferredReplacement() {
+		// given
+		TranspositionTable table = new TranspositionTable(1);
+		long deepKey = 5;
+		long shallowKey = deepKey + ((long) table.getCapacity() << 32);
+
+		// when
+		table.store(deepKey, 1, 10, 8, TranspositionTable.EXACT);
+		table.store(shallowKey, 2, 20, 3, TranspositionTable.EXACT);
+		long deepEntryAfterShallowStore = table.probe(deepKey);
+		table.newSearch();
+		table.store(shallowKey, 2, 20, 3, TranspositionTable.EXACT);
+
+		// then
+		assertEquals(8, TranspositionTable.getDepth(deepEntryAfterShallowStore));
+		assertEquals(TranspositionTable.NO_ENTRY, table.probe(deepKey));
+		assertEquals(3, TranspositionTable.getDepth(table.probe(shallowKey)));
+	}
+
+	@Test
+	public void testConcurrentAccessNeverReturnsTornEntry() throws InterruptedException {
+		// given
+		final TranspositionTable table = new TranspositionTable(1);
+		final int mask = 0xFF;
+		final AtomicInteger corruptedEntries = new AtomicInteger();
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 4; t++) {
+			final Random random = new Random(t);
+			threads.add(new Thread(() -> {
+				for (int i = 0; i < 200000; i++) {
+					// all keys collide in a few slots, every key stores its own
+					// score
+					long key = ((long) random.nextInt(64) << 40) | (random.nextInt(4) * (long) table.getCapacity());
+					table.store(key, 0, (int) (key >>> 40) & mask, 1 + random.nextInt(8), TranspositionTable.EXACT);
+					long entry = table.probe(key);
+					if (entry != TranspositionTable.NO_ENTRY
+							&& TranspositionTable.getScore(entry) != ((int) (key >>> 40) & mask)) {
+						corruptedEntries.incrementAndGet();
+					}
+				}
+			}));
+		}
+
+		// when
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		// then
+		assertEquals(0, corruptedEntries.get());
+	}
+
+	@Test
+	public void testSearchWithSharedTableFindsSameMove() {
+		// given
+		TranspositionTable table = new TranspositionTable(1);
+		Search search = new Search(new BoardManager(PerftPosition.TALKCHESS.createBoard()), table);
+		SearchResult firstResult = search.search(new SearchLimits(3, 0, 0));
+
+		// when
+		SearchResult secondResult = search.search(new SearchLimits(3, 0, 0));
+
+		// then
+		assertEquals(firstResult.getPackedBestMove(), secondResult.getPackedBestMove());
+		assertEquals(firstResult.getScore(), secondResult.getScore());
+		assertTrue(secondResult.getNodes() < firstResult.getNodes());
+	}
+}
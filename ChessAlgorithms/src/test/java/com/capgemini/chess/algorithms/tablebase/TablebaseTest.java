@@ -0,0 +1,139 @@
+package com.capgemini.chess.algorithms.tablebase;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.capgemini.chess.algorithms.data.Coordinate;
+import com.capgemini.chess.algorithms.data.enums.Color;
+import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.data.generated.Board;
+import com.capgemini.chess.algorithms.implementation.BoardManager;
+import com.capgemini.chess.algorithms.search.Search;
+import com.capgemini.chess.algorithms.search.SearchLimits;
+import com.capgemini.chess.algorithms.search.SearchResult;
+
+/**
+ * Test class for testing {@link TablebaseGenerator} and {@link Tablebase}
+ *
+ */
+public class TablebaseTest {
+
+	@ClassRule
+	public static TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private static Path directory;
+	private static Tablebase tablebase;
+
+	@BeforeClass
+	public static void generateTables() throws IOException {
+		directory = temporaryFolder.getRoot().toPath();
+		new TablebaseGenerator().generate(directory, 3);
+		tablebase = new Tablebase(directory);
+	}
+
+	@AfterClass
+	public static void closeTables() {
+		tablebase.close();
+	}
+
+	@Test
+	public void testLongestMates() throws IOException {
+		// when
+		int queenMate = getLongestWin("KQK");
+		int rookMate = getLongestWin("KRK");
+		int bishopMate = getLongestWin("KBK");
+		int knightMate = getLongestWin("KNK");
+
+		// then
+		assertEquals(10, queenMate);
+		assertEquals(16, rookMate);
+		assertEquals(-1, bishopMate);
+		assertEquals(-1, knightMate);
+		assertEquals(3, tablebase.getMaxPieces());
+	}
+
+	@Test
+	public void testProbeMateAndStaleMate() {
+		// given
+		Board mate = createBoard(Piece.WHITE_KING, 1, 5, Piece.WHITE_QUEEN, 1, 6, Piece.BLACK_KING, 0, 7);
+		Board mateInOne = createBoard(Piece.WHITE_KING, 1, 5, Piece.WHITE_QUEEN, 2, 0, Piece.BLACK_KING, 0, 7);
+		Board staleMate = createBoard(Piece.WHITE_KING, 2, 6, Piece.WHITE_QUEEN, 1, 5, Piece.BLACK_KING, 0, 7);
+
+		// when
+		int mateEntry = tablebase.probe(mate, Color.BLACK);
+		int mateInOneEntry = tablebase.probe(mateInOne, Color.WHITE);
+		int staleMateEntry = tablebase.probe(staleMate, Color.BLACK);
+
+		// then
+		assertEquals(Tablebase.LOSS, Tablebase.getResult(mateEntry));
+		assertEquals(0, Tablebase.getDistanceToMate(mateEntry));
+		assertEquals(Tablebase.WIN, Tablebase.getResult(mateInOneEntry));
+		assertEquals(1, Tablebase.getDistanceToMate(mateInOneEntry));
+		assertEquals(Tablebase.DRAW, Tablebase.getResult(staleMateEntry));
+		assertEquals(Tablebase.UNKNOWN, tablebase.probe(new Board(), Color.WHITE));
+	}
+
+	@Test
+	public void testProbePawnEndings() {
+		// given
+		Board opposition = createBoard(Piece.WHITE_KING, 4, 5, Piece.WHITE_PAWN, 4, 4, Piece.BLACK_KING, 4, 7);
+		Board blackPawn = createBoard(Piece.WHITE_KING, 4, 0, Piece.BLACK_PAWN, 4, 3, Piece.BLACK_KING, 4, 2);
+		Board lostPawn = createBoard(Piece.WHITE_KING, 7, 0, Piece.WHITE_PAWN, 0, 1, Piece.BLACK_KING, 1, 3);
+
+		// when
+		int oppositionEntry = tablebase.probe(opposition, Color.WHITE);
+		int blackPawnEntry = tablebase.probe(blackPawn, Color.BLACK);
+		int lostPawnEntry = tablebase.probe(lostPawn, Color.WHITE);
+
+		// then
+		assertEquals(Tablebase.WIN, Tablebase.getResult(oppositionEntry));
+		assertEquals(oppositionEntry, blackPawnEntry);
+		assertEquals(Tablebase.DRAW, Tablebase.getResult(lostPawnEntry));
+	}
+
+	@Test
+	public void testSearchWithTablebase() {
+		// given
+		Board board = createBoard(Piece.WHITE_KING, 4, 0, Piece.WHITE_QUEEN, 3, 0, Piece.BLACK_KING, 4, 7);
+		BoardManager boardManager = new BoardManager(board);
+		int entry = boardManager.probeTablebase(tablebase);
+		Search search = new Search(boardManager);
+		search.setTablebase(tablebase);
+
+		// when
+		SearchResult result = search.search(new SearchLimits(2, 0, 0));
+
+		// then
+		assertEquals(Tablebase.WIN, Tablebase.getResult(entry));
+		assertEquals(Search.MATE_SCORE - (2 * Tablebase.getDistanceToMate(entry) - 1), result.getScore());
+		assertNotNull(result.getBestMove());
+	}
+
+	private static int getLongestWin(String name) throws IOException {
+		int longestWin = -1;
+		for (byte entry : Files.readAllBytes(directory.resolve(name + Tablebase.FILE_EXTENSION))) {
+			if (Tablebase.getResult(entry & 0xFF) == Tablebase.WIN) {
+				longestWin = Math.max(longestWin, Tablebase.getDistanceToMate(entry & 0xFF));
+			}
+		}
+		return longestWin;
+	}
+
+	private static Board createBoard(Piece firstPiece, int firstX, int firstY, Piece secondPiece, int secondX,
+			int secondY, Piece thirdPiece, int thirdX, int thirdY) {
+		Board board = new Board();
+		board.setPieceAt(firstPiece, new Coordinate(firstX, firstY));
+		board.setPieceAt(secondPiece, new Coordinate(secondX, secondY));
+		board.setPieceAt(thirdPiece, new Coordinate(thirdX, thirdY));
+		return board;
+	}
+}
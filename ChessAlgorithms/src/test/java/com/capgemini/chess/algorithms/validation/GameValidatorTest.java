@@ -0,0 +1,145 @@
+package com.capgemini.chess.algorithms.validation;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.capgemini.chess.algorithms.data.PackedMove;
+import com.capgemini.chess.algorithms.data.enums.BoardState;
+import com.capgemini.chess.algorithms.data.enums.MoveType;
+import com.capgemini.chess.algorithms.implementation.BoardManager;
+
+/**
+ * Test class for testing {@link GameValidator}
+ *
+ */
+public class GameValidatorTest {
+
+	@Test
+	public void testValidateGames() {
+		// given
+		int[] scholarsMate = { move(12, 28), move(52, 36), move(5, 26), move(57, 42), move(3, 39), move(62, 45),
+				move(39, 53, MoveType.CAPTURE) };
+		int[] illegalKingMove = { move(12, 28), move(52, 36), move(4, 20) };
+		int[] knightDance = new int[100];
+		for (int i = 0; i < knightDance.length; i += 4) {
+			knightDance[i] = move(6, 21);
+			knightDance[i + 1] = move(62, 45);
+			knightDance[i + 2] = move(21, 6);
+			knightDance[i + 3] = move(45, 62);
+		}
+		List<int[]> games = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			games.add(scholarsMate);
+			games.add(illegalKingMove);
+			games.add(knightDance);
+			games.add(new int[0]);
+		}
+
+		// when
+		List<GameValidationResult> results;
+		try (GameValidator validator = new GameValidator(4, 3)) {
+			results = validator.validate(games);
+		}
+
+		// then
+		assertEquals(games.size(), results.size());
+		for (int i = 0; i < results.size(); i++) {
+			GameValidationResult result = results.get(i);
+			assertEquals(i, result.getGameIndex());
+			switch (i % 4) {
+			case 0:
+				assertTrue(result.isValid());
+				assertEquals(7, result.getLegalPlyCount());
+				assertEquals(BoardState.CHECK_MATE, result.getBoardState());
+				break;
+			case 1:
+				assertFalse(result.isValid());
+				assertEquals(2, result.getFirstIllegalPly());
+				assertEquals(BoardState.REGULAR, result.getBoardState());
+				break;
+			case 2:
+				assertTrue(result.isValid());
+				assertTrue(result.isThreefoldRepetition());
+				assertTrue(result.isFiftyMoveRule());
+				break;
+			default:
+				assertEquals(0, result.getLegalPlyCount());
+				assertFalse(result.isThreefoldRepetition());
+				assertFalse(result.isFiftyMoveRule());
+			}
+		}
+	}
+
+	@Test
+	public void testParallelResultsMatchSerialReplay() {
+		// given
+		Random random = new Random(25);
+		List<int[]> games = new ArrayList<>();
+		List<Integer> corruptedPlies = new ArrayList<>();
+		for (int i = 0; i < 300; i++) {
+			int[] game = playRandomGame(random, 1 + random.nextInt(120));
+			int corruptedPly = random.nextInt(3) == 0 ? random.nextInt(game.length) : -1;
+			if (corruptedPly >= 0) {
+				game[corruptedPly] = move(PackedMove.getFrom(game[corruptedPly]), PackedMove.getFrom(game[corruptedPly]));
+			}
+			games.add(game);
+			corruptedPlies.add(corruptedPly);
+		}
+		List<GameValidationResult> results = new ArrayList<>();
+
+		// when
+		try (GameValidator validator = new GameValidator(3, 16)) {
+			validator.validate(games.iterator(), results::add);
+		}
+
+		// then
+		assertEquals(games.size(), results.size());
+		BoardManager boardManager = new BoardManager();
+		for (int i = 0; i < games.size(); i++) {
+			int[] game = games.get(i);
+			GameValidationResult result = results.get(i);
+			int legalPlies = corruptedPlies.get(i) >= 0 ? corruptedPlies.get(i) : game.length;
+			for (int ply = 0; ply < legalPlies; ply++) {
+				boardManager.makeMove(game[ply]);
+			}
+			assertEquals(i, result.getGameIndex());
+			assertEquals(corruptedPlies.get(i).intValue(), result.getFirstIllegalPly());
+			assertEquals(legalPlies, result.getLegalPlyCount());
+			assertEquals(boardManager.updateBoardState(), result.getBoardState());
+			assertEquals(boardManager.checkThreefoldRepetitionRule(), result.isThreefoldRepetition());
+			for (int ply = 0; ply < legalPlies; ply++) {
+				boardManager.unmakeMove();
+			}
+		}
+	}
+
+	private static int[] playRandomGame(Random random, int plies) {
+		BoardManager boardManager = new BoardManager();
+		int[] moves = new int[BoardManager.MAX_MOVES];
+		int[] game = new int[plies];
+		int count = 0;
+		while (count < plies) {
+			int moveCount = boardManager.generateLegalMoves(boardManager.getBoard().getSideToMove(), moves);
+			if (moveCount == 0) {
+				break;
+			}
+			game[count] = moves[random.nextInt(moveCount)];
+			boardManager.makeMove(game[count++]);
+		}
+		return Arrays.copyOf(game, count);
+	}
+
+	private static int move(int from, int to) {
+		return move(from, to, MoveType.ATTACK);
+	}
+
+	private static int move(int from, int to, MoveType type) {
+		return PackedMove.pack(from, to, type, null);
+	}
+}
@@ -0,0 +1,50 @@
+package com.capgemini.chess.algorithms.benchmarks;
+
+import java.util.List;
+import java.util.Random;
+
+import com.capgemini.chess.algorithms.data.Move;
+import com.capgemini.chess.algorithms.implementation.BoardManager;
+import com.capgemini.chess.algorithms.implementation.PerftPosition;
+import com.capgemini.chess.algorithms.implementation.exceptions.InvalidMoveException;
+
+/**
+ * Creates benchmark inputs: positions with a move history played from one of
+ * the reference positions.
+ *
+ */
+final class BenchmarkGames {
+
+	private static final long SEED = 20170401L;
+
+	private BenchmarkGames() {
+	}
+
+	/**
+	 * Plays a reproducible pseudo-random game from given position.
+	 *
+	 * @param position
+	 *            start position
+	 * @param plies
+	 *            maximal number of half-moves, the game stops earlier when the
+	 *            side to move has no valid move
+	 * @return board manager after the game
+	 */
+	static BoardManager playGame(PerftPosition position, int plies) {
+		BoardManager boardManager = new BoardManager(position.createBoard());
+		Random random = new Random(SEED);
+		for (int i = 0; i < plies; i++) {
+			List<Move> validMoves = boardManager.getValidMoves();
+			if (validMoves.isEmpty()) {
+				break;
+			}
+			Move move = validMoves.get(random.nextInt(validMoves.size()));
+			try {
+				boardManager.performMove(move.getFrom(), move.getTo());
+			} catch (InvalidMoveException e) {
+				throw new IllegalStateException("Generated move rejected", e);
+			}
+		}
+		return boardManager;
+	}
+}
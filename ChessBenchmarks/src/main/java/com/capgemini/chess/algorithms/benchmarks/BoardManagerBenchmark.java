@@ -0,0 +1,111 @@
+package com.capgemini.chess.algorithms.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.capgemini.chess.algorithms.data.Coordinate;
+import com.capgemini.chess.algorithms.data.Move;
+import com.capgemini.chess.algorithms.data.PieceCoordinate;
+import com.capgemini.chess.algorithms.data.enums.BoardState;
+import com.capgemini.chess.algorithms.data.enums.Color;
+import com.capgemini.chess.algorithms.implementation.BoardManager;
+import com.capgemini.chess.algorithms.implementation.PerftPosition;
+import com.capgemini.chess.algorithms.implementation.exceptions.InvalidMoveException;
+
+/**
+ * Benchmarks of {@link BoardManager} operations on opening, middlegame and
+ * endgame positions.
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardManagerBenchmark {
+
+	/**
+	 * Number of half-moves played before draw rules are checked, enough for
+	 * the 50-move rule to scan its whole window
+	 */
+	private static final int PLAYED_PLIES = 120;
+
+	@Param({ "INITIAL", "MIDDLEGAME", "ENDGAME" })
+	private PerftPosition position;
+
+	private BoardManager boardManager;
+	private BoardManager playedGame;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.boardManager = new BoardManager(this.position.createBoard());
+		this.playedGame = BenchmarkGames.playGame(this.position, PLAYED_PLIES);
+	}
+
+	/**
+	 * State for {@link BoardManagerBenchmark#performMove(MoveState)}, the move
+	 * is taken back after every invocation so the board stays the same.
+	 */
+	@State(Scope.Thread)
+	public static class MoveState {
+
+		@Param({ "INITIAL", "MIDDLEGAME", "ENDGAME" })
+		private PerftPosition position;
+
+		private BoardManager boardManager;
+		private Move move;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			this.boardManager = new BoardManager(this.position.createBoard());
+			List<Move> validMoves = this.boardManager.getValidMoves();
+			this.move = validMoves.get(validMoves.size() / 2);
+		}
+	}
+
+	@Benchmark
+	public Move performMove(MoveState state) throws InvalidMoveException {
+		Move move = state.boardManager.performMove(state.move.getFrom(), state.move.getTo());
+		state.boardManager.unmakeMove();
+		return move;
+	}
+
+	@Benchmark
+	public BoardState updateBoardState() {
+		return this.boardManager.updateBoardState();
+	}
+
+	@Benchmark
+	public boolean checkThreefoldRepetitionRule() {
+		return this.playedGame.checkThreefoldRepetitionRule();
+	}
+
+	@Benchmark
+	public boolean checkFiftyMoveRule() {
+		return this.playedGame.checkFiftyMoveRule();
+	}
+
+	@Benchmark
+	public Coordinate getKingCoordinate() {
+		return this.boardManager.getKingCoordinate(Color.WHITE);
+	}
+
+	@Benchmark
+	public List<PieceCoordinate> getAllPiecesOfTheColor() {
+		return this.boardManager.getAllPiecesOfTheColor(Color.WHITE);
+	}
+}
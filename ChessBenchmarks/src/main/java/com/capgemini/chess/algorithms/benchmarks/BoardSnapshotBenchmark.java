@@ -0,0 +1,67 @@
+package com.capgemini.chess.algorithms.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.capgemini.chess.algorithms.data.generated.Board;
+import com.capgemini.chess.algorithms.implementation.BoardSnapshot;
+import com.capgemini.chess.algorithms.implementation.PerftPosition;
+
+/**
+ * Benchmarks of writing and reading {@link BoardSnapshot}s of boards with a
+ * played game, reusing the buffer and the restored board.
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardSnapshotBenchmark {
+
+	@Param({ "INITIAL", "MIDDLEGAME" })
+	private PerftPosition position;
+
+	@Param({ "0", "80" })
+	private int plies;
+
+	private Board board;
+	private Board restoredBoard;
+	private ByteBuffer buffer;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.board = BenchmarkGames.playGame(this.position, this.plies).getBoard();
+		this.restoredBoard = new Board();
+		this.buffer = ByteBuffer.allocateDirect(BoardSnapshot.getSize(this.board));
+		BoardSnapshot.write(this.board, this.buffer);
+	}
+
+	@Benchmark
+	public int write() {
+		this.buffer.clear();
+		BoardSnapshot.write(this.board, this.buffer);
+		return this.buffer.position();
+	}
+
+	@Benchmark
+	public long read() {
+		this.buffer.rewind();
+		BoardSnapshot.read(this.buffer, this.restoredBoard);
+		return this.restoredBoard.getZobristKey();
+	}
+}
@@ -0,0 +1,82 @@
+package com.capgemini.chess.algorithms.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.capgemini.chess.algorithms.data.generated.Board;
+import com.capgemini.chess.algorithms.implementation.Fen;
+import com.capgemini.chess.algorithms.implementation.PerftPosition;
+
+/**
+ * Benchmarks of {@link Fen} reading and writing, allocating a new board or
+ * string compared with reusing a board, a builder and a buffer. Run with the
+ * GC profiler to see the allocation rate of each path.
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FenBenchmark {
+
+	@Param({ "INITIAL", "KIWIPETE", "ENDGAME" })
+	private PerftPosition position;
+
+	private String fen;
+	private Board board;
+	private StringBuilder builder;
+	private ByteBuffer buffer;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.fen = this.position.getFen();
+		this.board = this.position.createBoard();
+		this.builder = new StringBuilder(128);
+		this.buffer = ByteBuffer.allocateDirect(128);
+	}
+
+	@Benchmark
+	public Board parse() {
+		return Fen.parse(this.fen);
+	}
+
+	@Benchmark
+	public long parseIntoReusedBoard() {
+		Fen.parse(this.fen, this.board);
+		return this.board.getZobristKey();
+	}
+
+	@Benchmark
+	public String toFen() {
+		return Fen.toFen(this.board);
+	}
+
+	@Benchmark
+	public int writeToReusedBuilder() {
+		this.builder.setLength(0);
+		Fen.write(this.board, this.builder);
+		return this.builder.length();
+	}
+
+	@Benchmark
+	public int writeToReusedBuffer() {
+		this.buffer.clear();
+		Fen.write(this.board, this.buffer);
+		return this.buffer.position();
+	}
+}
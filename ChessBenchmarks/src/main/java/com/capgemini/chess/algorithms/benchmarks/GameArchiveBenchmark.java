@@ -0,0 +1,128 @@
+package com.capgemini.chess.algorithms.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.capgemini.chess.algorithms.archive.GameArchive;
+import com.capgemini.chess.algorithms.archive.GameArchiveWriter;
+import com.capgemini.chess.algorithms.implementation.BoardManager;
+import com.capgemini.chess.algorithms.pgn.PgnImporter;
+
+/**
+ * Benchmarks of replaying the same games from PGN text and from a
+ * {@link GameArchive} in both move encodings; scores are games per second.
+ * The sizes of the PGN text and the archive are printed when the archive is
+ * created.
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameArchiveBenchmark {
+
+	private static final int GAMES = 3000;
+
+	private static final String[] GAME_TEXTS = {
+			"[Event \"Paris\"]\n[Result \"1-0\"]\n\n1. e4 e5 2. Nf3 d6 3. d4 Bg4 4. dxe5 Bxf3 5. Qxf3 dxe5 6. Bc4 Nf6 "
+					+ "7. Qb3 Qe7 8. Nc3 c6 9. Bg5 b5 10. Nxb5 cxb5 11. Bxb5+ Nbd7 12. O-O-O Rd8 13. Rxd7 Rxd7 "
+					+ "14. Rd1 Qe6 15. Bxd7+ Nxd7 16. Qb8+ Nxb8 17. Rd8# 1-0\n\n",
+			"[Event \"London\"]\n[Result \"1-0\"]\n\n1. e4 e5 2. f4 exf4 3. Bc4 Qh4+ 4. Kf1 b5 5. Bxb5 Nf6 6. Nf3 Qh6 "
+					+ "7. d3 Nh5 8. Nh4 Qg5 9. Nf5 c6 10. g4 Nf6 11. Rg1 cxb5 12. h4 Qg6 13. h5 Qg5 14. Qf3 Ng8 "
+					+ "15. Bxf4 Qf6 16. Nc3 Bc5 17. Nd5 Qxb2 18. Bd6 Bxg1 19. e5 Qxa1+ 20. Ke2 Na6 21. Nxg7+ Kd8 "
+					+ "22. Qf6+ Nxf6 23. Be7# 1-0\n\n",
+			"[Event \"Ruy Lopez\"]\n[Result \"1/2-1/2\"]\n\n1. e4 e5 2. Nf3 Nc6 3. Bb5 a6 4. Ba4 Nf6 5. O-O Be7 "
+					+ "6. Re1 b5 7. Bb3 d6 8. c3 O-O 9. h3 Nb8 10. d4 Nbd7 11. c4 c6 12. cxb5 axb5 13. Nc3 Bb7 "
+					+ "14. Bg5 b4 15. Nb1 h6 16. Bh4 c5 17. dxe5 Nxe4 18. Bxe7 Qxe7 19. exd6 Qf6 20. Nbd2 Nxd6 "
+					+ "1/2-1/2\n\n" };
+
+	private byte[] pgn;
+
+	@Setup(Level.Trial)
+	public void createPgn() {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < GAMES; i++) {
+			text.append(GAME_TEXTS[i % GAME_TEXTS.length]);
+		}
+		this.pgn = text.toString().getBytes(StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * State for {@link GameArchiveBenchmark#replayArchive(ArchiveState)}, the
+	 * games of the PGN text converted to an archive file
+	 */
+	@State(Scope.Thread)
+	public static class ArchiveState {
+
+		@Param({ "PACKED_MOVES", "MOVE_INDEXES" })
+		private String encoding;
+
+		private Path path;
+		private GameArchive archive;
+		private final BoardManager boardManager = new BoardManager();
+
+		@Setup(Level.Trial)
+		public void createArchive(GameArchiveBenchmark benchmark) throws IOException {
+			this.path = Files.createTempFile("games", ".bin");
+			try (GameArchiveWriter writer = new GameArchiveWriter(this.path,
+					this.encoding.equals("PACKED_MOVES") ? GameArchive.PACKED_MOVES : GameArchive.MOVE_INDEXES)) {
+				writer.addGames(Channels.newChannel(new ByteArrayInputStream(benchmark.pgn)));
+				if (writer.getGameCount() != GAMES) {
+					throw new IllegalStateException("Archived " + writer.getGameCount() + " of " + GAMES + " games");
+				}
+			}
+			this.archive = new GameArchive(this.path);
+			System.out.printf("%nPGN %,d bytes, archive %,d bytes%n", benchmark.pgn.length, Files.size(this.path));
+		}
+
+		@TearDown(Level.Trial)
+		public void deleteArchive() throws IOException {
+			this.archive.close();
+			Files.deleteIfExists(this.path);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(GAMES)
+	public long importPgn() throws IOException {
+		PgnImporter importer = new PgnImporter();
+		importer.importGames(Channels.newChannel(new ByteArrayInputStream(this.pgn)));
+		return importer.getMoveCount();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(GAMES)
+	public long replayArchive(ArchiveState state) {
+		long moveCount = 0;
+		for (long game = 0; game < state.archive.getGameCount(); game++) {
+			int plies = state.archive.replay(game, state.boardManager);
+			for (int i = 0; i < plies; i++) {
+				state.boardManager.unmakeMove();
+			}
+			moveCount += plies;
+		}
+		return moveCount;
+	}
+}
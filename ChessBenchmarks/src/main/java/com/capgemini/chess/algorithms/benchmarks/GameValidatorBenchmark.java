@@ -0,0 +1,130 @@
+package com.capgemini.chess.algorithms.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.capgemini.chess.algorithms.data.Bitboards;
+import com.capgemini.chess.algorithms.data.PackedMove;
+import com.capgemini.chess.algorithms.data.enums.PieceType;
+import com.capgemini.chess.algorithms.implementation.BoardManager;
+import com.capgemini.chess.algorithms.implementation.exceptions.InvalidMoveException;
+import com.capgemini.chess.algorithms.validation.GameValidationResult;
+import com.capgemini.chess.algorithms.validation.GameValidator;
+
+/**
+ * Benchmarks of validating reproducible pseudo-random games with
+ * {@link GameValidator} on a growing number of worker threads, compared with
+ * replaying them one by one through {@link BoardManager#performMove}; scores
+ * are games per second.
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameValidatorBenchmark {
+
+	private static final int GAMES = 2048;
+	private static final int PLIES = 80;
+	private static final long SEED = 20170401L;
+
+	private List<int[]> games;
+
+	@Setup(Level.Trial)
+	public void createGames() {
+		Random random = new Random(SEED);
+		BoardManager boardManager = new BoardManager();
+		int[] moves = new int[BoardManager.MAX_MOVES];
+		this.games = new ArrayList<>(GAMES);
+		for (int i = 0; i < GAMES; i++) {
+			int[] game = new int[PLIES];
+			int count = 0;
+			while (count < PLIES) {
+				int moveCount = boardManager.generateLegalMoves(boardManager.getBoard().getSideToMove(), moves);
+				if (moveCount == 0) {
+					break;
+				}
+				int move = moves[random.nextInt(moveCount)];
+				// performMove promotes to queens only
+				if (PackedMove.getPromotion(move) != PieceType.QUEEN) {
+					continue;
+				}
+				game[count++] = move;
+				boardManager.makeMove(move);
+			}
+			for (int ply = 0; ply < count; ply++) {
+				boardManager.unmakeMove();
+			}
+			this.games.add(count == PLIES ? game : Arrays.copyOf(game, count));
+		}
+	}
+
+	/**
+	 * State for
+	 * {@link GameValidatorBenchmark#validateParallel(ValidatorState)}
+	 */
+	@State(Scope.Thread)
+	public static class ValidatorState {
+
+		@Param({ "1", "2", "4", "8" })
+		private int threads;
+
+		private GameValidator validator;
+
+		@Setup(Level.Trial)
+		public void createValidator() {
+			this.validator = new GameValidator(this.threads, GameValidator.DEFAULT_BATCH_SIZE);
+		}
+
+		@TearDown(Level.Trial)
+		public void closeValidator() {
+			this.validator.close();
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(GAMES)
+	public List<GameValidationResult> validateParallel(ValidatorState state) {
+		return state.validator.validate(this.games);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(GAMES)
+	public int performMovesSerially() {
+		int validGames = 0;
+		for (int[] game : this.games) {
+			BoardManager boardManager = new BoardManager();
+			try {
+				for (int move : game) {
+					boardManager.performMove(Bitboards.toCoordinate(PackedMove.getFrom(move)),
+							Bitboards.toCoordinate(PackedMove.getTo(move)));
+				}
+				boardManager.updateBoardState();
+				validGames++;
+			} catch (InvalidMoveException e) {
+				// counted as invalid
+			}
+		}
+		return validGames;
+	}
+}
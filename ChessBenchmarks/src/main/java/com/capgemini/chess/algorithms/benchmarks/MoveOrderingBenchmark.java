@@ -0,0 +1,107 @@
+package com.capgemini.chess.algorithms.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.capgemini.chess.algorithms.implementation.BoardManager;
+import com.capgemini.chess.algorithms.implementation.PerftPosition;
+import com.capgemini.chess.algorithms.search.MoveOrdering;
+import com.capgemini.chess.algorithms.search.Search;
+import com.capgemini.chess.algorithms.search.SearchLimits;
+import com.capgemini.chess.algorithms.search.SearchResult;
+import com.capgemini.chess.algorithms.search.TranspositionTable;
+
+/**
+ * Time and nodes needed to reach a fixed depth with full move ordering
+ * (MVV-LVA, killers and history) and with the hash move only. Every
+ * operation starts with an empty transposition table and fresh ordering
+ * tables. Run {@link #main} to print the node reduction on every position.
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveOrderingBenchmark {
+
+	private static final int SEARCH_DEPTH = 5;
+	private static final int TABLE_SIZE_MB = 16;
+
+	@Param({ "INITIAL", "KIWIPETE", "MIDDLEGAME", "ENDGAME" })
+	private PerftPosition position;
+
+	@Param({ "true", "false" })
+	private boolean heuristics;
+
+	private final SearchLimits limits = new SearchLimits(SEARCH_DEPTH, 0, 0);
+
+	/**
+	 * Counter of searched nodes, reset before every iteration
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class NodeCounter {
+
+		public long nodes;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			this.nodes = 0;
+		}
+	}
+
+	@Benchmark
+	public SearchResult search(NodeCounter counter) {
+		SearchResult result = createSearch(this.position, this.heuristics).search(this.limits);
+		counter.nodes += result.getNodes();
+		return result;
+	}
+
+	/**
+	 * Prints nodes searched to a fixed depth with and without the ordering
+	 * heuristics on every reference position
+	 *
+	 * @param args
+	 *            optional search depth
+	 */
+	public static void main(String[] args) {
+		int depth = args.length > 0 ? Integer.parseInt(args[0]) : SEARCH_DEPTH;
+		SearchLimits limits = new SearchLimits(depth, 0, 0);
+		System.out.printf("%-12s %14s %14s %10s%n", "position", "hash move", "heuristics", "reduction");
+		long totalWithout = 0;
+		long totalWith = 0;
+		for (PerftPosition position : PerftPosition.values()) {
+			long without = createSearch(position, false).search(limits).getNodes();
+			long with = createSearch(position, true).search(limits).getNodes();
+			totalWithout += without;
+			totalWith += with;
+			System.out.printf("%-12s %,14d %,14d %9.1f%%%n", position, without, with, getReduction(without, with));
+		}
+		System.out.printf("%-12s %,14d %,14d %9.1f%%%n", "TOTAL", totalWithout, totalWith,
+				getReduction(totalWithout, totalWith));
+	}
+
+	private static Search createSearch(PerftPosition position, boolean heuristics) {
+		return new Search(new BoardManager(position.createBoard()), new TranspositionTable(TABLE_SIZE_MB),
+				heuristics ? new MoveOrdering() : MoveOrdering.hashMoveOnly());
+	}
+
+	private static double getReduction(long without, long with) {
+		return 100.0 * (without - with) / without;
+	}
+}
@@ -0,0 +1,142 @@
+package com.capgemini.chess.algorithms.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.capgemini.chess.algorithms.data.BishopMovesValidator;
+import com.capgemini.chess.algorithms.data.Bitboards;
+import com.capgemini.chess.algorithms.data.Coordinate;
+import com.capgemini.chess.algorithms.data.KingMovesValidator;
+import com.capgemini.chess.algorithms.data.KnightMovesValidator;
+import com.capgemini.chess.algorithms.data.MoveValidation;
+import com.capgemini.chess.algorithms.data.PawnMovesValidator;
+import com.capgemini.chess.algorithms.data.QueenMovesValidator;
+import com.capgemini.chess.algorithms.data.RookMovesValidator;
+import com.capgemini.chess.algorithms.data.enums.Color;
+import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.data.enums.PieceType;
+import com.capgemini.chess.algorithms.data.generated.Board;
+import com.capgemini.chess.algorithms.implementation.Fen;
+import com.capgemini.chess.algorithms.implementation.PerftPosition;
+import com.capgemini.chess.algorithms.implementation.exceptions.InvalidMoveException;
+
+/**
+ * Benchmarks of every {@link MoveValidation} implementation. Each invocation
+ * validates all pieces of the benchmarked type belonging to white; every
+ * position contains white pieces of every type.
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveValidationBenchmark {
+
+	/**
+	 * Benchmarked positions. The perft endgame has no queens, bishops or
+	 * knights, so an endgame with one piece of each type is used instead.
+	 */
+	public enum Position {
+
+		INITIAL(PerftPosition.INITIAL.getFen()),
+		MIDDLEGAME(PerftPosition.MIDDLEGAME.getFen()),
+		ENDGAME("3r2k1/5pp1/3b3p/2n5/3N4/2B1Q2P/5PP1/3R2K1 w - - 0 1");
+
+		private final String fen;
+
+		Position(String fen) {
+			this.fen = fen;
+		}
+
+		Board createBoard() {
+			return Fen.parse(this.fen);
+		}
+	}
+
+	@Param({ "INITIAL", "MIDDLEGAME", "ENDGAME" })
+	private Position position;
+
+	@Param({ "KING", "QUEEN", "BISHOP", "KNIGHT", "ROOK", "PAWN" })
+	private PieceType pieceType;
+
+	private MoveValidation moveValidation;
+	private int[] squares;
+	private Coordinate[] moveFroms;
+	private Coordinate[] moveTos;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Board board = this.position.createBoard();
+		this.moveValidation = createMoveValidation(board, this.pieceType);
+		this.moveValidation.setNextMoveColor(Color.WHITE);
+
+		long pieces = board.getPieceBitboard(Piece.getPieceByTypeAndColor(this.pieceType, Color.WHITE));
+		this.squares = new int[Long.bitCount(pieces)];
+		List<Coordinate> froms = new ArrayList<>();
+		List<Coordinate> tos = new ArrayList<>();
+		for (int i = 0; pieces != 0; i++) {
+			int square = Long.numberOfTrailingZeros(pieces);
+			pieces &= pieces - 1;
+			this.squares[i] = square;
+			long targets = this.moveValidation.calculateTargets(square);
+			while (targets != 0) {
+				froms.add(Bitboards.toCoordinate(square));
+				tos.add(Bitboards.toCoordinate(Long.numberOfTrailingZeros(targets)));
+				targets &= targets - 1;
+			}
+		}
+		this.moveFroms = froms.toArray(new Coordinate[froms.size()]);
+		this.moveTos = tos.toArray(new Coordinate[tos.size()]);
+	}
+
+	@Benchmark
+	public void calculateTargets(Blackhole blackhole) {
+		for (int square : this.squares) {
+			blackhole.consume(this.moveValidation.calculateTargets(square));
+		}
+	}
+
+	@Benchmark
+	public void validateMoves(Blackhole blackhole) throws InvalidMoveException {
+		for (int i = 0; i < this.moveFroms.length; i++) {
+			blackhole.consume(this.moveValidation.isMovePosible(this.moveFroms[i], this.moveTos[i]));
+			blackhole.consume(this.moveValidation.returnLegalMove(this.moveFroms[i], this.moveTos[i]));
+		}
+	}
+
+	private static MoveValidation createMoveValidation(Board board, PieceType pieceType) {
+		switch (pieceType) {
+		case ROOK:
+			return new RookMovesValidator(board);
+		case BISHOP:
+			return new BishopMovesValidator(board);
+		case QUEEN:
+			return new QueenMovesValidator(board);
+		case KNIGHT:
+			return new KnightMovesValidator(board);
+		case KING:
+			return new KingMovesValidator(board);
+		case PAWN:
+			return new PawnMovesValidator(board);
+		default:
+			throw new IllegalArgumentException("Unknown piece type: " + pieceType);
+		}
+	}
+}
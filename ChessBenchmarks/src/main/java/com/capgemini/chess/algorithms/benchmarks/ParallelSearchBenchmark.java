@@ -0,0 +1,121 @@
+package com.capgemini.chess.algorithms.benchmarks;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.capgemini.chess.algorithms.data.generated.Board;
+import com.capgemini.chess.algorithms.implementation.PerftPosition;
+import com.capgemini.chess.algorithms.search.ParallelSearch;
+import com.capgemini.chess.algorithms.search.SearchLimits;
+import com.capgemini.chess.algorithms.search.TranspositionTable;
+
+/**
+ * Time to reach a fixed depth on a set of positions with the parallel search,
+ * depending on the number of threads. The transposition table is cleared
+ * before every operation, so every search starts cold. Run {@link #main}
+ * to print speedup of every thread count versus a single thread.
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelSearchBenchmark {
+
+	private static final int SEARCH_DEPTH = 5;
+	private static final int TABLE_SIZE_MB = 64;
+	private static final PerftPosition[] POSITIONS = { PerftPosition.INITIAL, PerftPosition.KIWIPETE,
+			PerftPosition.MIDDLEGAME, PerftPosition.ENDGAME };
+
+	@Param({ "1", "2", "4", "8", "16", "32" })
+	private int threads;
+
+	private Board[] boards;
+	private TranspositionTable transpositionTable;
+	private ParallelSearch parallelSearch;
+	private final SearchLimits limits = new SearchLimits(SEARCH_DEPTH, 0, 0);
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.boards = new Board[POSITIONS.length];
+		for (int i = 0; i < POSITIONS.length; i++) {
+			this.boards[i] = POSITIONS[i].createBoard();
+		}
+		this.transpositionTable = new TranspositionTable(TABLE_SIZE_MB);
+		this.parallelSearch = new ParallelSearch(this.threads, this.transpositionTable);
+	}
+
+	@Setup(Level.Invocation)
+	public void clearTable() {
+		this.transpositionTable.clear();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.parallelSearch.close();
+	}
+
+	@Benchmark
+	public void searchPositions(Blackhole blackhole) {
+		for (Board board : this.boards) {
+			blackhole.consume(this.parallelSearch.search(board, this.limits));
+		}
+	}
+
+	/**
+	 * Runs the benchmark for all thread counts (or those given as arguments)
+	 * and prints speedup versus a single thread
+	 *
+	 * @param args
+	 *            thread counts
+	 * @throws RunnerException
+	 *             if the benchmark fails
+	 */
+	public static void main(String[] args) throws RunnerException {
+		OptionsBuilder builder = new OptionsBuilder();
+		builder.include(ParallelSearchBenchmark.class.getSimpleName());
+		if (args.length > 0) {
+			String[] threadCounts = new String[args.length + 1];
+			threadCounts[0] = "1";
+			System.arraycopy(args, 0, threadCounts, 1, args.length);
+			builder.param("threads", threadCounts);
+		}
+		Options options = builder.build();
+		Collection<RunResult> results = new Runner(options).run();
+
+		Map<String, Double> timesByThreads = new LinkedHashMap<>();
+		for (RunResult result : results) {
+			timesByThreads.put(result.getParams().getParam("threads"), result.getPrimaryResult().getScore());
+		}
+		double singleThreadTime = timesByThreads.get("1");
+		System.out.printf("%8s %12s %8s%n", "threads", "ms/op", "speedup");
+		for (Map.Entry<String, Double> entry : timesByThreads.entrySet()) {
+			System.out.printf("%8s %12.1f %8.2f%n", entry.getKey(), entry.getValue(),
+					singleThreadTime / entry.getValue());
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package com.capgemini.chess.algorithms.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.capgemini.chess.algorithms.implementation.BoardManager;
+import com.capgemini.chess.algorithms.implementation.PerftPosition;
+import com.capgemini.chess.algorithms.search.Search;
+import com.capgemini.chess.algorithms.search.SearchLimits;
+import com.capgemini.chess.algorithms.search.SearchResult;
+
+/**
+ * Search speed on the reference positions. Every operation is a search
+ * limited to a fixed number of nodes, the <code>nodes</code> counter is
+ * reported by JMH as nodes per second. The <code>pawnHashHitRate</code>
+ * counter is the hit rate of the pawn structure cache in percents.
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SearchBenchmark {
+
+	private static final long NODES_PER_SEARCH = 100000;
+
+	@Param({ "INITIAL", "KIWIPETE", "MIDDLEGAME", "ENDGAME" })
+	private PerftPosition position;
+
+	private Search search;
+	private final SearchLimits limits = new SearchLimits(Search.MAX_DEPTH, 0, NODES_PER_SEARCH);
+
+	/**
+	 * Counter of searched nodes, reset before every iteration
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class NodeCounter {
+
+		public long nodes;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			this.nodes = 0;
+		}
+	}
+
+	/**
+	 * Pawn hash table hit rate of the last iteration
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class PawnHashCounter {
+
+		public double pawnHashHitRate;
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.search = new Search(new BoardManager(this.position.createBoard()));
+	}
+
+	@Setup(Level.Iteration)
+	public void resetPawnHashStatistics() {
+		this.search.getPawnHashTable().resetStatistics();
+	}
+
+	@Benchmark
+	public SearchResult search(NodeCounter counter, PawnHashCounter pawnHashCounter) {
+		SearchResult result = this.search.search(this.limits);
+		counter.nodes += result.getNodes();
+		pawnHashCounter.pawnHashHitRate = this.search.getPawnHashTable().getHitRate() * 100;
+		return result;
+	}
+}